@@ -0,0 +1,151 @@
+/******************************************************************************
+ * Spine Runtimes Software License
+ * Version 2.1
+ * 
+ * Copyright (c) 2013, Esoteric Software
+ * All rights reserved.
+ * 
+ * You are granted a perpetual, non-exclusive, non-sublicensable and
+ * non-transferable license to install, execute and perform the Spine Runtimes
+ * Software (the "Software") solely for internal use. Without the written
+ * permission of Esoteric Software (typically granted by licensing Spine), you
+ * may not (a) modify, translate, adapt or otherwise create derivative works,
+ * improvements of the Software or develop new applications using the Software
+ * or (b) remove, delete, alter or obscure any trademarks or any copyright,
+ * trademark, patent or other intellectual property or proprietary rights
+ * notices on or in the Software, including any copy thereof. Redistributions
+ * in binary or source form must include this license and terms.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY ESOTERIC SOFTWARE "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO
+ * EVENT SHALL ESOTERIC SOFTARE BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+ * OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *****************************************************************************/
+package com.esotericsoftware.spine.benchmark;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.esotericsoftware.spine.DetailLevel;
+import com.esotericsoftware.spine.Skeleton;
+import com.esotericsoftware.spine.Slot;
+import com.esotericsoftware.spine.attachments.Attachment;
+import com.esotericsoftware.spine.attachments.MeshAttachment;
+import com.esotericsoftware.spine.attachments.RegionAttachment;
+import com.esotericsoftware.spine.attachments.SkinnedMeshAttachment;
+
+/** computeWorldVertices for each attachment type, for a single attachment and for every slot of a skeleton as a renderer
+ * would do each frame. The skeletons are posed by their walk animation. Skinned meshes are bound rigidly at
+ * {@link DetailLevel#lowest}. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AttachmentBenchmark {
+	@Param({"full", "lowest"})
+	public DetailLevel detail;
+
+	private Fixture spineboy, goblin;
+	private Slot regionSlot, meshSlot, skinnedMeshSlot;
+	private RegionAttachment region;
+	private MeshAttachment mesh;
+	private SkinnedMeshAttachment skinnedMesh;
+	private final float[] worldVertices = new float[1024];
+
+	@Setup
+	public void setup () {
+		spineboy = pose(new Fixture("spineboy:walk"));
+		goblin = pose(new Fixture("goblins-ffd:walk"));
+
+		regionSlot = spineboy.skeleton.findSlot("head");
+		region = (RegionAttachment)regionSlot.getAttachment();
+		meshSlot = goblin.skeleton.findSlot("head");
+		mesh = (MeshAttachment)meshSlot.getAttachment();
+		skinnedMeshSlot = goblin.skeleton.findSlot("left hand item");
+		skinnedMesh = (SkinnedMeshAttachment)skinnedMeshSlot.getAttachment();
+	}
+
+	private Fixture pose (Fixture fixture) {
+		fixture.setDetailLevel(detail);
+		fixture.state.update(0.5f);
+		fixture.state.apply(fixture.skeleton);
+		fixture.skeleton.updateWorldTransform();
+		for (int i = 0; i < Fixture.CROWD; i++) {
+			fixture.states[i].apply(fixture.skeletons[i]);
+			fixture.skeletons[i].updateWorldTransform();
+		}
+		return fixture;
+	}
+
+	@Benchmark
+	public float[] region () {
+		region.computeWorldVertices(0, 0, regionSlot.getBone(), worldVertices);
+		return worldVertices;
+	}
+
+	@Benchmark
+	public float[] mesh () {
+		mesh.computeWorldVertices(0, 0, meshSlot, worldVertices);
+		return worldVertices;
+	}
+
+	@Benchmark
+	public float[] skinnedMesh () {
+		skinnedMesh.computeWorldVertices(0, 0, skinnedMeshSlot, worldVertices);
+		return worldVertices;
+	}
+
+	/** Computes the world vertices of every attachment of every spineboy in the crowd. The score is per skeleton instance. */
+	@Benchmark
+	@OperationsPerInvocation(Fixture.CROWD)
+	public float[] spineboyCrowd () {
+		for (Skeleton skeleton : spineboy.skeletons)
+			computeWorldVertices(skeleton);
+		return worldVertices;
+	}
+
+	/** Computes the world vertices of every attachment of every goblin in the crowd. The score is per skeleton instance. */
+	@Benchmark
+	@OperationsPerInvocation(Fixture.CROWD)
+	public float[] goblinCrowd () {
+		for (Skeleton skeleton : goblin.skeletons)
+			computeWorldVertices(skeleton);
+		return worldVertices;
+	}
+
+	private void computeWorldVertices (Skeleton skeleton) {
+		float[] worldVertices = this.worldVertices;
+		ArrayList<Slot> drawOrder = skeleton.getDrawOrder();
+		for (int i = 0, n = drawOrder.size(); i < n; i++) {
+			Slot slot = drawOrder.get(i);
+			Attachment attachment = slot.getAttachment();
+			if (attachment instanceof RegionAttachment)
+				((RegionAttachment)attachment).computeWorldVertices(skeleton.getX(), skeleton.getY(), slot.getBone(), worldVertices);
+			else if (attachment instanceof MeshAttachment)
+				((MeshAttachment)attachment).computeWorldVertices(skeleton.getX(), skeleton.getY(), slot, worldVertices);
+			else if (attachment instanceof SkinnedMeshAttachment)
+				((SkinnedMeshAttachment)attachment).computeWorldVertices(skeleton.getX(), skeleton.getY(), slot, worldVertices);
+		}
+	}
+}
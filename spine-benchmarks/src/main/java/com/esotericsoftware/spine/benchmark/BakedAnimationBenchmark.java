@@ -0,0 +1,116 @@
+/******************************************************************************
+ * Spine Runtimes Software License
+ * Version 2.1
+ * 
+ * Copyright (c) 2013, Esoteric Software
+ * All rights reserved.
+ * 
+ * You are granted a perpetual, non-exclusive, non-sublicensable and
+ * non-transferable license to install, execute and perform the Spine Runtimes
+ * Software (the "Software") solely for internal use. Without the written
+ * permission of Esoteric Software (typically granted by licensing Spine), you
+ * may not (a) modify, translate, adapt or otherwise create derivative works,
+ * improvements of the Software or develop new applications using the Software
+ * or (b) remove, delete, alter or obscure any trademarks or any copyright,
+ * trademark, patent or other intellectual property or proprietary rights
+ * notices on or in the Software, including any copy thereof. Redistributions
+ * in binary or source form must include this license and terms.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY ESOTERIC SOFTWARE "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO
+ * EVENT SHALL ESOTERIC SOFTARE BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+ * OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *****************************************************************************/
+package com.esotericsoftware.spine.benchmark;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.esotericsoftware.spine.Animation;
+import com.esotericsoftware.spine.AnimationBaker;
+import com.esotericsoftware.spine.BakedAnimation;
+import com.esotericsoftware.spine.Event;
+import com.esotericsoftware.spine.Skeleton;
+
+/** Posing the crowd with an {@link Animation} compared to the same animation baked by an {@link AnimationBaker} in local and in
+ * world space. Each method poses every skeleton in the crowd and computes its world transforms when needed. The scores are per
+ * skeleton instance. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BakedAnimationBenchmark {
+	@Param({"spineboy:walk", "goblins-ffd:walk"})
+	public String animation;
+
+	@Param({"30"})
+	public float frameRate;
+
+	private Fixture fixture;
+	private BakedAnimation local, world;
+	private final ArrayList<Event> events = new ArrayList<Event>();
+
+	@Setup
+	public void setup () {
+		fixture = new Fixture(animation);
+		AnimationBaker baker = new AnimationBaker(fixture.data);
+		baker.setFrameRate(frameRate);
+		local = baker.bake(fixture.animation);
+		baker.setSpace(BakedAnimation.Space.world);
+		world = baker.bake(fixture.animation);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(Fixture.CROWD)
+	public void timelines () {
+		pose(fixture.animation, true);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(Fixture.CROWD)
+	public void bakedLocal () {
+		pose(local, true);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(Fixture.CROWD)
+	public void bakedWorld () {
+		pose(world, false);
+	}
+
+	private void pose (Animation animation, boolean updateWorldTransform) {
+		float duration = animation.getDuration();
+		Skeleton[] skeletons = fixture.skeletons;
+		float[] times = fixture.times;
+		ArrayList<Event> events = this.events;
+		for (int i = 0; i < Fixture.CROWD; i++) {
+			Skeleton skeleton = skeletons[i];
+			float lastTime = times[i], time = (lastTime + Fixture.DELTA) % duration;
+			events.clear();
+			animation.apply(skeleton, lastTime, time, true, events);
+			if (updateWorldTransform) skeleton.updateWorldTransform();
+			times[i] = time;
+		}
+	}
+}
@@ -0,0 +1,109 @@
+/******************************************************************************
+ * Spine Runtimes Software License
+ * Version 2.1
+ * 
+ * Copyright (c) 2013, Esoteric Software
+ * All rights reserved.
+ * 
+ * You are granted a perpetual, non-exclusive, non-sublicensable and
+ * non-transferable license to install, execute and perform the Spine Runtimes
+ * Software (the "Software") solely for internal use. Without the written
+ * permission of Esoteric Software (typically granted by licensing Spine), you
+ * may not (a) modify, translate, adapt or otherwise create derivative works,
+ * improvements of the Software or develop new applications using the Software
+ * or (b) remove, delete, alter or obscure any trademarks or any copyright,
+ * trademark, patent or other intellectual property or proprietary rights
+ * notices on or in the Software, including any copy thereof. Redistributions
+ * in binary or source form must include this license and terms.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY ESOTERIC SOFTWARE "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO
+ * EVENT SHALL ESOTERIC SOFTARE BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+ * OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *****************************************************************************/
+package com.esotericsoftware.spine.benchmark;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.esotericsoftware.spine.Atlas;
+import com.esotericsoftware.spine.Atlas.AtlasPage;
+import com.esotericsoftware.spine.Atlas.TextureLoader;
+import com.esotericsoftware.spine.SkeletonBinary;
+import com.esotericsoftware.spine.SkeletonData;
+import com.esotericsoftware.spine.SkeletonJson;
+
+/** Loads the skeletons shipped in spine-java/assets from the classpath, without creating any textures. */
+public class BenchmarkAssets {
+	static public final String SPINEBOY = "spineboy";
+	static public final String GOBLINS_FFD = "goblins-ffd";
+
+	private BenchmarkAssets () {
+	}
+
+	/** @param name {@link #SPINEBOY} (binary) or {@link #GOBLINS_FFD} (JSON, for its meshes and skinned meshes). */
+	static public SkeletonData load (String name) {
+		return load(name, 0);
+	}
+
+	/** @param curveLookupSize See {@link SkeletonJson#setCurveLookupSize(int)}. */
+	static public SkeletonData load (String name, int curveLookupSize) {
+		if (name.equals(SPINEBOY)) return loadBinary("spineboy/", "spineboy", curveLookupSize);
+		if (name.equals(GOBLINS_FFD)) return loadJson("goblins/", "goblins-ffd", curveLookupSize);
+		throw new IllegalArgumentException("Unknown skeleton: " + name);
+	}
+
+	static public SkeletonData loadBinary (String directory, String name, int curveLookupSize) {
+		SkeletonBinary binary = new SkeletonBinary(loadAtlas(directory, name));
+		binary.setCurveLookupSize(curveLookupSize);
+		return binary.readSkeletonData(name, open(directory + name + ".skel"));
+	}
+
+	static public SkeletonData loadJson (String directory, String name, int curveLookupSize) {
+		SkeletonJson json = new SkeletonJson(loadAtlas(directory, name));
+		json.setCurveLookupSize(curveLookupSize);
+		return json.readSkeletonData(name, open(directory + name + ".json"));
+	}
+
+	static public Atlas loadAtlas (String directory, String name) {
+		return new Atlas(open(directory + name + ".atlas"), directory, new TextureLoader() {
+			public void load (AtlasPage page, String path) {
+				// Only the page size is needed to compute the region UVs.
+				DataInputStream input = new DataInputStream(open(path.replace('\\', '/')));
+				try {
+					input.skipBytes(16); // PNG signature, IHDR length and type.
+					page.width = input.readInt();
+					page.height = input.readInt();
+				} catch (IOException ex) {
+					throw new RuntimeException("Error reading image size: " + path, ex);
+				} finally {
+					close(input);
+				}
+			}
+
+			public void unload (Object texture) {
+			}
+		});
+	}
+
+	static InputStream open (String path) {
+		InputStream input = BenchmarkAssets.class.getClassLoader().getResourceAsStream(path);
+		if (input == null) throw new IllegalArgumentException("Asset not found on the classpath: " + path);
+		return input;
+	}
+
+	static private void close (Closeable closeable) {
+		try {
+			closeable.close();
+		} catch (IOException ignored) {
+		}
+	}
+}
@@ -0,0 +1,122 @@
+/******************************************************************************
+ * Spine Runtimes Software License
+ * Version 2.1
+ * 
+ * Copyright (c) 2013, Esoteric Software
+ * All rights reserved.
+ * 
+ * You are granted a perpetual, non-exclusive, non-sublicensable and
+ * non-transferable license to install, execute and perform the Spine Runtimes
+ * Software (the "Software") solely for internal use. Without the written
+ * permission of Esoteric Software (typically granted by licensing Spine), you
+ * may not (a) modify, translate, adapt or otherwise create derivative works,
+ * improvements of the Software or develop new applications using the Software
+ * or (b) remove, delete, alter or obscure any trademarks or any copyright,
+ * trademark, patent or other intellectual property or proprietary rights
+ * notices on or in the Software, including any copy thereof. Redistributions
+ * in binary or source form must include this license and terms.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY ESOTERIC SOFTWARE "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO
+ * EVENT SHALL ESOTERIC SOFTARE BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+ * OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *****************************************************************************/
+package com.esotericsoftware.spine.benchmark;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.esotericsoftware.spine.Animation;
+import com.esotericsoftware.spine.Animation.CurveTimeline;
+import com.esotericsoftware.spine.Animation.Timeline;
+import com.esotericsoftware.spine.Event;
+import com.esotericsoftware.spine.Skeleton;
+
+/** Bezier curve evaluation by forward differencing (lookup size 0) compared to precomputed lookup tables, for
+ * {@link CurveTimeline#getCurvePercent(int, float)} alone and for applying the curve heavy goblins animation to the crowd. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CurveBenchmark {
+	static private final int SAMPLES = 1024;
+
+	@Param({"0", "32", "128"})
+	public int lookupSize;
+
+	private Fixture fixture;
+	private final ArrayList<CurveTimeline> curveTimelines = new ArrayList<CurveTimeline>();
+	private int[] curveFrames;
+	private final ArrayList<Event> events = new ArrayList<Event>();
+
+	@Setup
+	public void setup () {
+		fixture = new Fixture(BenchmarkAssets.load(BenchmarkAssets.GOBLINS_FFD, lookupSize), "walk");
+		ArrayList<Integer> frames = new ArrayList<Integer>();
+		for (Timeline timeline : fixture.animation.getTimelines()) {
+			if (!(timeline instanceof CurveTimeline)) continue;
+			CurveTimeline curveTimeline = (CurveTimeline)timeline;
+			for (int i = 0, n = curveTimeline.getFrameCount() - 1; i < n; i++) {
+				if (curveTimeline.getCurveType(i) != CurveTimeline.BEZIER) continue;
+				curveTimelines.add(curveTimeline);
+				frames.add(i);
+			}
+		}
+		curveFrames = new int[frames.size()];
+		for (int i = 0; i < curveFrames.length; i++)
+			curveFrames[i] = frames.get(i);
+	}
+
+	/** Evaluates the bezier curves of the animation at {@link #SAMPLES} percentages. The score is per evaluation. */
+	@Benchmark
+	@OperationsPerInvocation(SAMPLES)
+	public float getCurvePercent () {
+		ArrayList<CurveTimeline> curveTimelines = this.curveTimelines;
+		int[] curveFrames = this.curveFrames;
+		float sum = 0;
+		for (int i = 0, c = 0, n = curveFrames.length; i < SAMPLES; i++, c++) {
+			if (c == n) c = 0;
+			sum += curveTimelines.get(c).getCurvePercent(curveFrames[c], (i * 0.618034f) % 1);
+		}
+		return sum;
+	}
+
+	/** Applies the animation to every skeleton in the crowd. The score is per skeleton instance. */
+	@Benchmark
+	@OperationsPerInvocation(Fixture.CROWD)
+	public void applyCrowd () {
+		Fixture fixture = this.fixture;
+		Animation animation = fixture.animation;
+		float duration = animation.getDuration();
+		Skeleton[] skeletons = fixture.skeletons;
+		float[] times = fixture.times;
+		ArrayList<Event> events = this.events;
+		for (int i = 0; i < Fixture.CROWD; i++) {
+			float lastTime = times[i], time = (lastTime + Fixture.DELTA) % duration;
+			events.clear();
+			animation.apply(skeletons[i], lastTime, time, true, events);
+			times[i] = time;
+		}
+	}
+}
@@ -0,0 +1,90 @@
+/******************************************************************************
+ * Spine Runtimes Software License
+ * Version 2.1
+ * 
+ * Copyright (c) 2013, Esoteric Software
+ * All rights reserved.
+ * 
+ * You are granted a perpetual, non-exclusive, non-sublicensable and
+ * non-transferable license to install, execute and perform the Spine Runtimes
+ * Software (the "Software") solely for internal use. Without the written
+ * permission of Esoteric Software (typically granted by licensing Spine), you
+ * may not (a) modify, translate, adapt or otherwise create derivative works,
+ * improvements of the Software or develop new applications using the Software
+ * or (b) remove, delete, alter or obscure any trademarks or any copyright,
+ * trademark, patent or other intellectual property or proprietary rights
+ * notices on or in the Software, including any copy thereof. Redistributions
+ * in binary or source form must include this license and terms.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY ESOTERIC SOFTWARE "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO
+ * EVENT SHALL ESOTERIC SOFTARE BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+ * OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *****************************************************************************/
+package com.esotericsoftware.spine.benchmark;
+
+import com.esotericsoftware.spine.Animation;
+import com.esotericsoftware.spine.AnimationState;
+import com.esotericsoftware.spine.AnimationStateData;
+import com.esotericsoftware.spine.DetailLevel;
+import com.esotericsoftware.spine.Skeleton;
+import com.esotericsoftware.spine.SkeletonData;
+
+/** A skeleton playing one animation, plus a crowd of independent instances sharing the same {@link SkeletonData}. The crowd
+ * instances are staggered in time so they are not all in the same pose. */
+class Fixture {
+	/** Number of skeleton instances used by the crowd benchmarks, which report their score per instance. */
+	static final int CROWD = 256;
+	static final float DELTA = 1 / 60f;
+
+	final SkeletonData data;
+	final Animation animation;
+	final Skeleton skeleton;
+	final AnimationState state;
+	final Skeleton[] skeletons = new Skeleton[CROWD];
+	final AnimationState[] states = new AnimationState[CROWD];
+	final float[] times = new float[CROWD];
+	float time;
+
+	/** @param spec The skeleton and animation names separated by a colon, eg "spineboy:walk". */
+	Fixture (String spec) {
+		this(BenchmarkAssets.load(spec.substring(0, spec.indexOf(':'))), spec.substring(spec.indexOf(':') + 1));
+	}
+
+	Fixture (SkeletonData data, String animationName) {
+		this.data = data;
+		animation = data.findAnimation(animationName);
+		if (animation == null) throw new IllegalArgumentException("Animation not found: " + animationName);
+
+		AnimationStateData stateData = new AnimationStateData(data);
+		skeleton = newSkeleton(data);
+		state = new AnimationState(stateData);
+		state.setAnimation(0, animation, true);
+		for (int i = 0; i < CROWD; i++) {
+			skeletons[i] = newSkeleton(data);
+			states[i] = new AnimationState(stateData);
+			states[i].setAnimation(0, animation, true).setTime(i * 0.01f);
+			times[i] = i * 0.01f;
+		}
+	}
+
+	void setDetailLevel (DetailLevel detailLevel) {
+		skeleton.setDetailLevel(detailLevel);
+		for (int i = 0; i < CROWD; i++)
+			skeletons[i].setDetailLevel(detailLevel);
+	}
+
+	static Skeleton newSkeleton (SkeletonData data) {
+		Skeleton skeleton = new Skeleton(data);
+		if (data.findSkin("goblin") != null) skeleton.setSkin("goblin");
+		skeleton.setToSetupPose();
+		skeleton.updateWorldTransform();
+		return skeleton;
+	}
+}
@@ -0,0 +1,110 @@
+/******************************************************************************
+ * Spine Runtimes Software License
+ * Version 2.1
+ * 
+ * Copyright (c) 2013, Esoteric Software
+ * All rights reserved.
+ * 
+ * You are granted a perpetual, non-exclusive, non-sublicensable and
+ * non-transferable license to install, execute and perform the Spine Runtimes
+ * Software (the "Software") solely for internal use. Without the written
+ * permission of Esoteric Software (typically granted by licensing Spine), you
+ * may not (a) modify, translate, adapt or otherwise create derivative works,
+ * improvements of the Software or develop new applications using the Software
+ * or (b) remove, delete, alter or obscure any trademarks or any copyright,
+ * trademark, patent or other intellectual property or proprietary rights
+ * notices on or in the Software, including any copy thereof. Redistributions
+ * in binary or source form must include this license and terms.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY ESOTERIC SOFTWARE "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO
+ * EVENT SHALL ESOTERIC SOFTARE BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+ * OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *****************************************************************************/
+package com.esotericsoftware.spine.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.esotericsoftware.spine.SkeletonBinary;
+import com.esotericsoftware.spine.SkeletonData;
+import com.esotericsoftware.spine.SkeletonJson;
+
+/** Loading spineboy's binary export from a stream compared to decoding it from a heap or direct {@link ByteBuffer}, and loading
+ * the goblins JSON. The bytes are already in memory, so only decoding and building the skeleton data are measured. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LoadBenchmark {
+	private SkeletonBinary binary;
+	private SkeletonJson json;
+	private byte[] bytes, jsonBytes;
+	private ByteBuffer directBuffer;
+
+	@Setup
+	public void setup () throws IOException {
+		binary = new SkeletonBinary(BenchmarkAssets.loadAtlas("spineboy/", "spineboy"));
+		bytes = read("spineboy/spineboy.skel");
+		directBuffer = ByteBuffer.allocateDirect(bytes.length);
+		directBuffer.put(bytes).flip();
+		json = new SkeletonJson(BenchmarkAssets.loadAtlas("goblins/", "goblins-ffd"));
+		jsonBytes = read("goblins/goblins-ffd.json");
+	}
+
+	static private byte[] read (String path) throws IOException {
+		InputStream input = BenchmarkAssets.open(path);
+		try {
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			byte[] buffer = new byte[4096];
+			for (int count; (count = input.read(buffer)) != -1;)
+				output.write(buffer, 0, count);
+			return output.toByteArray();
+		} finally {
+			input.close();
+		}
+	}
+
+	@Benchmark
+	public SkeletonData stream () {
+		return binary.readSkeletonData("spineboy", new ByteArrayInputStream(bytes));
+	}
+
+	@Benchmark
+	public SkeletonData heapBuffer () {
+		return binary.readSkeletonData("spineboy", ByteBuffer.wrap(bytes));
+	}
+
+	@Benchmark
+	public SkeletonData directBuffer () {
+		return binary.readSkeletonData("spineboy", directBuffer);
+	}
+
+	@Benchmark
+	public SkeletonData json () {
+		return json.readSkeletonData("goblins-ffd", new ByteArrayInputStream(jsonBytes));
+	}
+}
@@ -0,0 +1,109 @@
+/******************************************************************************
+ * Spine Runtimes Software License
+ * Version 2.1
+ * 
+ * Copyright (c) 2013, Esoteric Software
+ * All rights reserved.
+ * 
+ * You are granted a perpetual, non-exclusive, non-sublicensable and
+ * non-transferable license to install, execute and perform the Spine Runtimes
+ * Software (the "Software") solely for internal use. Without the written
+ * permission of Esoteric Software (typically granted by licensing Spine), you
+ * may not (a) modify, translate, adapt or otherwise create derivative works,
+ * improvements of the Software or develop new applications using the Software
+ * or (b) remove, delete, alter or obscure any trademarks or any copyright,
+ * trademark, patent or other intellectual property or proprietary rights
+ * notices on or in the Software, including any copy thereof. Redistributions
+ * in binary or source form must include this license and terms.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY ESOTERIC SOFTWARE "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO
+ * EVENT SHALL ESOTERIC SOFTARE BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+ * OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *****************************************************************************/
+package com.esotericsoftware.spine.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.esotericsoftware.spine.AnimationState;
+import com.esotericsoftware.spine.Skeleton;
+
+/** {@link Skeleton#updateWorldTransform()}, on its own and as part of a full animation frame. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SkeletonBenchmark {
+	@Param({"spineboy:walk", "spineboy:shoot", "goblins-ffd:walk"})
+	public String animation;
+
+	private Fixture fixture;
+
+	@Setup
+	public void setup () {
+		fixture = new Fixture(animation);
+		fixture.state.apply(fixture.skeleton);
+		for (int i = 0; i < Fixture.CROWD; i++)
+			fixture.states[i].apply(fixture.skeletons[i]);
+	}
+
+	/** The pose does not change between invocations, so every bone is skipped. */
+	@Benchmark
+	public void updateWorldTransform () {
+		fixture.skeleton.updateWorldTransform();
+	}
+
+	/** Computes the world transform of every bone, as if every bone changed. */
+	@Benchmark
+	public void updateWorldTransformAll () {
+		Skeleton skeleton = fixture.skeleton;
+		skeleton.invalidateWorldTransform();
+		skeleton.updateWorldTransform();
+	}
+
+	/** A full frame: update and apply the animation state, then compute the world transforms. */
+	@Benchmark
+	public void frame () {
+		Fixture fixture = this.fixture;
+		AnimationState state = fixture.state;
+		state.update(Fixture.DELTA);
+		state.apply(fixture.skeleton);
+		fixture.skeleton.updateWorldTransform();
+	}
+
+	/** A full frame for every skeleton in the crowd. The score is per skeleton instance. */
+	@Benchmark
+	@OperationsPerInvocation(Fixture.CROWD)
+	public void frameCrowd () {
+		Skeleton[] skeletons = fixture.skeletons;
+		AnimationState[] states = fixture.states;
+		for (int i = 0; i < Fixture.CROWD; i++) {
+			AnimationState state = states[i];
+			Skeleton skeleton = skeletons[i];
+			state.update(Fixture.DELTA);
+			state.apply(skeleton);
+			skeleton.updateWorldTransform();
+		}
+	}
+}
@@ -36,8 +36,11 @@ import com.esotericsoftware.spine.attachments.Attachment;
 
 public class Animation {
 	final String name;
-	private final ArrayList<Timeline> timelines;
+	private volatile ArrayList<Timeline> timelines;
+	private final TimelineSource source;
 	private float duration;
+	private AnimationProgram program;
+	int index = -1;
 
 	public Animation (String name, ArrayList<Timeline> timelines, float duration) {
 		if (name == null) throw new IllegalArgumentException("name cannot be null.");
@@ -45,12 +48,52 @@ public class Animation {
 		this.name = name;
 		this.timelines = timelines;
 		this.duration = duration;
+		source = null;
 	}
 
+	/** Creates an animation whose timelines are decoded from the source when they are first needed. */
+	Animation (String name, float duration, TimelineSource source) {
+		if (name == null) throw new IllegalArgumentException("name cannot be null.");
+		if (source == null) throw new IllegalArgumentException("source cannot be null.");
+		this.name = name;
+		this.duration = duration;
+		this.source = source;
+	}
+
+	/** Returns the timelines, decoding them first if the animation was loaded lazily. */
 	public ArrayList<Timeline> getTimelines () {
+		ArrayList<Timeline> timelines = this.timelines;
+		if (timelines == null) timelines = decode();
 		return timelines;
 	}
 
+	private synchronized ArrayList<Timeline> decode () {
+		ArrayList<Timeline> timelines = this.timelines;
+		if (timelines == null) this.timelines = timelines = source.readTimelines();
+		return timelines;
+	}
+
+	/** Decodes the timelines now if the animation was loaded lazily and they are not decoded yet, so it doesn't happen the first
+	 * time the animation is applied.
+	 * @see SkeletonBinary#setLazyAnimations(boolean) */
+	public void load () {
+		getTimelines();
+	}
+
+	/** If the animation was loaded lazily, discards its timelines and {@link #compile() compiled} form so the memory can be
+	 * reclaimed, eg for animations a level doesn't use. They are decoded again the next time they are needed. This must not be
+	 * called while the animation is being applied on another thread. */
+	public synchronized void unload () {
+		if (source == null) return;
+		timelines = null;
+		program = null;
+	}
+
+	/** Returns false if the animation was loaded lazily and its timelines have not been decoded or were unloaded. */
+	public boolean isLoaded () {
+		return timelines != null;
+	}
+
 	/** Returns the duration of the animation in seconds. */
 	public float getDuration () {
 		return duration;
@@ -64,17 +107,17 @@ public class Animation {
 	 * @param lastTime The last time the animation was applied.
 	 * @param events Any triggered events are added. */
 	public void apply (Skeleton skeleton, float lastTime, float time, boolean loop, ArrayList<Event> events) {
-		if (skeleton == null) throw new IllegalArgumentException("skeleton cannot be null.");
-
-		if (loop && duration != 0) {
-			time %= duration;
-			lastTime %= duration;
-		}
+		apply(skeleton, lastTime, time, loop, events, null);
+	}
 
-		ArrayList<Timeline> timelines = this.timelines;
-		int tsize = timelines.size();
-		for (int i = 0, n = tsize; i < n; i++)
-			timelines.get(i).apply(skeleton, lastTime, time, events, 1);
+	/** Poses the skeleton at the specified time for this animation.
+	 * @param lastTime The last time the animation was applied.
+	 * @param events Any triggered events are added.
+	 * @param cursors May be null. Otherwise has at least one element per timeline and is used by {@link CursorTimeline cursor
+	 *           timelines} to remember the keyframe found for the time, so the next apply at a nearby time can skip the binary
+	 *           search. The cursors must only be used for this animation and should be zeroed when they are first used. */
+	public void apply (Skeleton skeleton, float lastTime, float time, boolean loop, ArrayList<Event> events, int[] cursors) {
+		mix(skeleton, lastTime, time, loop, events, 1, cursors);
 	}
 
 	/** Poses the skeleton at the specified time for this animation mixed with the current pose.
@@ -82,23 +125,100 @@ public class Animation {
 	 * @param events Any triggered events are added.
 	 * @param alpha The amount of this animation that affects the current pose. */
 	public void mix (Skeleton skeleton, float lastTime, float time, boolean loop, ArrayList<Event> events, float alpha) {
+		mix(skeleton, lastTime, time, loop, events, alpha, null);
+	}
+
+	/** Poses the skeleton at the specified time for this animation mixed with the current pose.
+	 * @param lastTime The last time the animation was applied.
+	 * @param events Any triggered events are added.
+	 * @param alpha The amount of this animation that affects the current pose.
+	 * @param cursors May be null. See {@link #apply(Skeleton, float, float, boolean, ArrayList, int[])}. */
+	public void mix (Skeleton skeleton, float lastTime, float time, boolean loop, ArrayList<Event> events, float alpha,
+		int[] cursors) {
+		mix(skeleton, lastTime, time, loop, events, alpha, cursors, null);
+	}
+
+	/** Poses the skeleton at the specified time for this animation mixed with the current pose. The other apply and mix methods
+	 * call this one, so it is the one subclasses override.
+	 * @param lastTime The last time the animation was applied.
+	 * @param events Any triggered events are added.
+	 * @param alpha The amount of this animation that affects the current pose.
+	 * @param cursors May be null. See {@link #apply(Skeleton, float, float, boolean, ArrayList, int[])}.
+	 * @param mask May be null. Otherwise timelines for the bones and slots it excludes are not applied. */
+	public void mix (Skeleton skeleton, float lastTime, float time, boolean loop, ArrayList<Event> events, float alpha,
+		int[] cursors, TrackMask mask) {
 		if (skeleton == null) throw new IllegalArgumentException("skeleton cannot be null.");
 
 		if (loop && duration != 0) {
+			float elapsed = time - lastTime;
 			lastTime %= duration;
 			time %= duration;
+			// The timelines fire the events of one loop when the time wrapped around since the last time.
+			int loops = Math.round((elapsed - (time - lastTime)) / duration);
+			if (events != null && loops > (lastTime > time ? 1 : 0)) {
+				// More than a whole loop passed since the last apply, eg when updates were skipped. Fire the events up to the
+				// start of the last loop here, so the timelines only fire the events of the last loop.
+				fireLoopEvents(skeleton, lastTime, loops - 1, events);
+				lastTime = -1;
+			}
 		}
 
-		ArrayList<Timeline> timelines = this.timelines;
+		AnimationProgram program = mask != null ? mask.program(this) : this.program;
+		if (program != null) {
+			program.apply(skeleton, lastTime, time, events, alpha, cursors);
+			return;
+		}
+
+		ArrayList<Timeline> timelines = getTimelines();
 		int tsize = timelines.size();
-		for (int i = 0, n = tsize; i < n; i++)
-			timelines.get(i).apply(skeleton, lastTime, time, events, alpha);
+		if (cursors == null) {
+			for (int i = 0, n = tsize; i < n; i++)
+				timelines.get(i).apply(skeleton, lastTime, time, events, alpha);
+		} else {
+			for (int i = 0, n = tsize; i < n; i++) {
+				Timeline timeline = timelines.get(i);
+				if (CursorTimeline.isBuiltIn(timeline))
+					((CursorTimeline)timeline).apply(skeleton, lastTime, time, events, alpha, cursors, i);
+				else
+					timeline.apply(skeleton, lastTime, time, events, alpha);
+			}
+		}
+	}
+
+	/** Fires the events after the last time to the end of the animation, then the events of the whole loops after that. */
+	private void fireLoopEvents (Skeleton skeleton, float lastTime, int wholeLoops, ArrayList<Event> events) {
+		ArrayList<Timeline> timelines = getTimelines();
+		for (int i = 0, n = timelines.size(); i < n; i++) {
+			Timeline timeline = timelines.get(i);
+			if (!(timeline instanceof EventTimeline)) continue;
+			timeline.apply(skeleton, lastTime, duration, events, 1);
+			for (int ii = 0; ii < wholeLoops; ii++)
+				timeline.apply(skeleton, -1, duration, events, 1);
+		}
+	}
+
+	/** Regroups the timelines by type so each type is applied by a single loop over shared arrays rather than a virtual call per
+	 * timeline. The pose is identical to applying the timelines one by one. The frames are copied, so this must be called
+	 * again after the timelines or their frames are changed. */
+	public void compile () {
+		program = new AnimationProgram(getTimelines());
+	}
+
+	/** Returns true if {@link #compile()} has been called. */
+	public boolean isCompiled () {
+		return program != null;
 	}
 
 	public String getName () {
 		return name;
 	}
 
+	/** Returns the index of this animation in {@link SkeletonData#getAnimations()}, or -1 if it has not been added to a skeleton
+	 * data. */
+	public int getIndex () {
+		return index;
+	}
+
 	public String toString () {
 		return name;
 	}
@@ -106,20 +226,53 @@ public class Animation {
 	/** @param target After the first and before the last value.
 	 * @return index of first value greater than the target. */
 	static int binarySearch (float[] values, float target, int step) {
+		return binarySearch(values, 0, values.length, target, step);
+	}
+
+	/** Searches only the values from start (inclusive) to end (exclusive).
+	 * @param target After the first and before the last value in the range.
+	 * @return index in values of the first value in the range greater than the target. */
+	static int binarySearch (float[] values, int start, int end, float target, int step) {
 		int low = 0;
-		int high = values.length / step - 2;
-		if (high == 0) return step;
+		int high = (end - start) / step - 2;
+		if (high == 0) return start + step;
 		int current = high >>> 1;
 		while (true) {
-			if (values[(current + 1) * step] <= target)
+			if (values[start + (current + 1) * step] <= target)
 				low = current + 1;
 			else
 				high = current;
-			if (low == high) return (low + 1) * step;
+			if (low == high) return start + (low + 1) * step;
 			current = (low + high) >>> 1;
 		}
 	}
 
+	/** Returns the same index as {@link #binarySearch(float[], float, int)}, but first checks the index found by the previous
+	 * search and the index after it, which is usually correct when time moves forward by less than a frame.
+	 * @param cursors May be null to always do a binary search. Otherwise the index found is stored at the cursor index. */
+	static int search (float[] values, float target, int step, int[] cursors, int cursorIndex) {
+		return search(values, 0, values.length, target, step, cursors, cursorIndex);
+	}
+
+	/** Returns the same index as {@link #binarySearch(float[], int, int, float, int)}, using the cursor like
+	 * {@link #search(float[], float, int, int[], int)}. The cursor is stored relative to start, so it is the same whether the
+	 * values are a timeline's own frames or a range of a {@link AnimationProgram compiled} batch. */
+	static int search (float[] values, int start, int end, float target, int step, int[] cursors, int cursorIndex) {
+		if (cursors == null) return binarySearch(values, start, end, target, step);
+		int index = start + cursors[cursorIndex];
+		if (index >= start + step && index < end && values[index - step] <= target) {
+			if (target < values[index]) return index;
+			index += step;
+			if (index < end && target < values[index]) {
+				cursors[cursorIndex] = index - start;
+				return index;
+			}
+		}
+		index = binarySearch(values, start, end, target, step);
+		cursors[cursorIndex] = index - start;
+		return index;
+	}
+
 	static int linearSearch (float[] values, float target, int step) {
 		for (int i = 0, last = values.length - step; i <= last; i += step)
 			if (values[i] > target) return i;
@@ -131,12 +284,41 @@ public class Animation {
 		public void apply (Skeleton skeleton, float lastTime, float time, ArrayList<Event> events, float alpha);
 	}
 
+	/** Decodes the timelines of an animation that is loaded lazily. */
+	static interface TimelineSource {
+		public ArrayList<Timeline> readTimelines ();
+	}
+
+	/** A timeline that can start searching for the keyframe at the keyframe found by its previous apply. */
+	abstract static public class CursorTimeline implements Timeline {
+		/** Sets the value(s) for the specified time. The built-in timelines use the cursor to skip searching for the keyframe. By
+		 * default, the cursor is ignored and {@link #apply(Skeleton, float, float, ArrayList, float)} is called.
+		 * @param cursors May be null. Stores the keyframe found for the time at the cursor index. */
+		public void apply (Skeleton skeleton, float lastTime, float time, ArrayList<Event> events, float alpha, int[] cursors,
+			int cursorIndex) {
+			apply(skeleton, lastTime, time, events, alpha);
+		}
+
+		/** Returns true if the timeline's class is exactly one of the built-in cursor timelines. Animations only pass cursors to
+		 * those, so a subclass that overrides only {@link #apply(Skeleton, float, float, ArrayList, float)} is still applied
+		 * through it. */
+		static boolean isBuiltIn (Timeline timeline) {
+			Class<?> type = timeline.getClass();
+			return type == RotateTimeline.class || type == TranslateTimeline.class || type == ScaleTimeline.class
+				|| type == ColorTimeline.class || type == AttachmentTimeline.class || type == DrawOrderTimeline.class
+				|| type == FfdTimeline.class;
+		}
+	}
+
 	/** Base class for frames that use an interpolation bezier curve. */
-	abstract static public class CurveTimeline implements Timeline {
+	abstract static public class CurveTimeline extends CursorTimeline {
 		static public final float LINEAR = 0, STEPPED = -1, BEZIER = -2;
+		static final float LOOKUP = -3;
 		static private final int BEZIER_SEGMENTS = 10;
 
-		private final float[] curves; // dfx, dfy, ddfx, ddfy, dddfx, dddfy, ...
+		final float[] curves; // dfx, dfy, ddfx, ddfy, dddfx, dddfy, ...
+		int lookupSize;
+		float[] lookup; // y at x = 0, 1 / lookupSize, ..., 1 for each frame that has a lookup table.
 
 		public CurveTimeline (int frameCount) {
 			curves = new float[(frameCount - 1) * 6];
@@ -167,6 +349,10 @@ public class Animation {
 		 * cx1 and cx2 are from 0 to 1, representing the percent of time between the two keyframes. cy1 and cy2 are the percent of
 		 * the difference between the keyframe's values. */
 		public void setCurve (int frameIndex, float cx1, float cy1, float cx2, float cy2) {
+			if (lookupSize > 0) {
+				setCurveLookup(frameIndex, cx1, cy1, cx2, cy2);
+				return;
+			}
 			float subdiv_step = 1f / BEZIER_SEGMENTS;
 			float subdiv_step2 = subdiv_step * subdiv_step;
 			float subdiv_step3 = subdiv_step2 * subdiv_step;
@@ -188,12 +374,66 @@ public class Animation {
 			curves[i + 5] = tmp2y * pre5;
 		}
 
+		private void setCurveLookup (int frameIndex, float cx1, float cy1, float cx2, float cy2) {
+			int lookupSize = this.lookupSize;
+			if (lookup == null) lookup = new float[curves.length / 6 * (lookupSize + 1)];
+			float[] lookup = this.lookup;
+			int offset = frameIndex * (lookupSize + 1);
+			for (int i = 0; i <= lookupSize; i++) {
+				// Find the curve parameter where the curve's x is the sample's x, then store the curve's y there.
+				double x = i / (double)lookupSize, low = 0, high = 1, t = x;
+				for (int ii = 0; ii < 32; ii++) {
+					t = (low + high) / 2;
+					if (bezier(t, cx1, cx2) < x)
+						low = t;
+					else
+						high = t;
+				}
+				lookup[offset + i] = (float)bezier(t, cy1, cy2);
+			}
+			curves[frameIndex * 6] = LOOKUP;
+		}
+
+		/** Returns the value of a cubic bezier from 0 to 1 with the specified inner control points. */
+		static private double bezier (double t, double c1, double c2) {
+			double u = 1 - t;
+			return 3 * u * u * t * c1 + 3 * u * t * t * c2 + t * t * t;
+		}
+
+		public int getLookupSize () {
+			return lookupSize;
+		}
+
+		/** Sets the number of samples in the table {@link #setCurve(int, float, float, float, float)} precomputes for each bezier
+		 * curve, so evaluating the curve is a table lookup and an interpolation instead of forward differencing. The table samples
+		 * the exact curve, so results differ slightly from forward differencing. Must be set before any bezier curve is set.
+		 * @param lookupSize 0 to use forward differencing. */
+		public void setLookupSize (int lookupSize) {
+			if (lookupSize < 0) throw new IllegalArgumentException("lookupSize must be >= 0.");
+			if (lookupSize == this.lookupSize) return;
+			if (lookup != null) throw new IllegalStateException("lookupSize must be set before any bezier curve is set.");
+			this.lookupSize = lookupSize;
+		}
+
 		public float getCurvePercent (int frameIndex, float percent) {
-			int curveIndex = frameIndex * 6;
-			float[] curves = this.curves;
+			return curvePercent(curves, frameIndex * 6, lookup, frameIndex * (lookupSize + 1), lookupSize, percent);
+		}
+
+		/** @param curveIndex Index in curves of the frame's curve.
+		 * @param lookupIndex Index in lookup of the frame's table, if the curve has one. */
+		static float curvePercent (float[] curves, int curveIndex, float[] lookup, int lookupIndex, int lookupSize,
+			float percent) {
 			float dfx = curves[curveIndex];
 			if (dfx == LINEAR) return percent;
 			if (dfx == STEPPED) return 0;
+			if (dfx == LOOKUP) {
+				float position = percent * lookupSize;
+				int index = (int)position;
+				if (index >= lookupSize) return 1;
+				int offset = lookupIndex + index;
+				float y = lookup[offset];
+				return y + (lookup[offset + 1] - y) * (position - index);
+			}
 			float dfy = curves[curveIndex + 1];
 			float ddfx = curves[curveIndex + 2];
 			float ddfy = curves[curveIndex + 3];
@@ -252,40 +492,56 @@ public class Animation {
 		}
 
 		public void apply (Skeleton skeleton, float lastTime, float time, ArrayList<Event> events, float alpha) {
-			float[] frames = this.frames;
-			if (time < frames[0]) return; // Time is before first frame.
+			apply(skeleton, lastTime, time, events, alpha, null, 0);
+		}
+
+		public void apply (Skeleton skeleton, float lastTime, float time, ArrayList<Event> events, float alpha, int[] cursors,
+			int cursorIndex) {
+			rotate(skeleton, boneIndex, frames, 0, frames.length, curves, 0, lookup, 0, lookupSize, time, alpha, cursors,
+				cursorIndex);
+		}
 
-			Bone bone = skeleton.bones.get(boneIndex);
+		/** Applies rotation frames from start (inclusive) to end (exclusive) and the curves for them. */
+		static void rotate (Skeleton skeleton, int boneIndex, float[] frames, int start, int end, float[] curves, int curveStart,
+			float[] lookup, int lookupStart, int lookupSize, float time, float alpha, int[] cursors, int cursorIndex) {
+			if (!skeleton.activeBones[boneIndex]) return; // Not needed at the skeleton's detail level.
+			if (time < frames[start]) return; // Time is before first frame.
 
-			if (time >= frames[frames.length - 2]) { // Time is after last frame.
-				float amount = bone.data.rotation + frames[frames.length - 1] - bone.rotation;
+			float[] local = skeleton.local;
+			int r = boneIndex * Bone.LOCAL_STRIDE + Bone.ROTATION;
+			float rotation = skeleton.boneData[boneIndex].rotation;
+
+			if (time >= frames[end - 2]) { // Time is after last frame.
+				float amount = rotation + frames[end - 1] - local[r];
 				while (amount > 180)
 					amount -= 360;
 				while (amount < -180)
 					amount += 360;
-				bone.rotation += amount * alpha;
+				local[r] += amount * alpha;
 				return;
 			}
 
 			// Interpolate between the previous frame and the current frame.
-			int frameIndex = binarySearch(frames, time, 2);
+			int frameIndex = search(frames, start, end, time, 2, cursors, cursorIndex);
 			float prevFrameValue = frames[frameIndex - 1];
 			float frameTime = frames[frameIndex];
 			float percent = 1 - (time - frameTime) / (frames[frameIndex + PREV_FRAME_TIME] - frameTime);
 			percent = (percent < 0f ? 0f : percent > 1f ? 1f : percent);
-			percent = getCurvePercent(frameIndex / 2 - 1, percent);
+			int frame = (frameIndex - start) / 2 - 1;
+			percent = curvePercent(curves, curveStart + frame * 6, lookup, lookupStart + frame * (lookupSize + 1), lookupSize,
+				percent);
 
 			float amount = frames[frameIndex + FRAME_VALUE] - prevFrameValue;
 			while (amount > 180)
 				amount -= 360;
 			while (amount < -180)
 				amount += 360;
-			amount = bone.data.rotation + (prevFrameValue + amount * percent) - bone.rotation;
+			amount = rotation + (prevFrameValue + amount * percent) - local[r];
 			while (amount > 180)
 				amount -= 360;
 			while (amount < -180)
 				amount += 360;
-			bone.rotation += amount * alpha;
+			local[r] += amount * alpha;
 		}
 	}
 
@@ -323,28 +579,45 @@ public class Animation {
 		}
 
 		public void apply (Skeleton skeleton, float lastTime, float time, ArrayList<Event> events, float alpha) {
-			float[] frames = this.frames;
-			if (time < frames[0]) return; // Time is before first frame.
+			apply(skeleton, lastTime, time, events, alpha, null, 0);
+		}
 
-			Bone bone = skeleton.bones.get(boneIndex);
+		public void apply (Skeleton skeleton, float lastTime, float time, ArrayList<Event> events, float alpha, int[] cursors,
+			int cursorIndex) {
+			translate(skeleton, boneIndex, frames, 0, frames.length, curves, 0, lookup, 0, lookupSize, time, alpha, cursors,
+				cursorIndex);
+		}
+
+		/** Applies translation frames from start (inclusive) to end (exclusive) and the curves for them. */
+		static void translate (Skeleton skeleton, int boneIndex, float[] frames, int start, int end, float[] curves,
+			int curveStart, float[] lookup, int lookupStart, int lookupSize, float time, float alpha, int[] cursors,
+			int cursorIndex) {
+			if (!skeleton.activeBones[boneIndex]) return; // Not needed at the skeleton's detail level.
+			if (time < frames[start]) return; // Time is before first frame.
 
-			if (time >= frames[frames.length - 3]) { // Time is after last frame.
-				bone.x += (bone.data.x + frames[frames.length - 2] - bone.x) * alpha;
-				bone.y += (bone.data.y + frames[frames.length - 1] - bone.y) * alpha;
+			float[] local = skeleton.local;
+			int x = boneIndex * Bone.LOCAL_STRIDE + Bone.X, y = x + 1;
+			BoneData data = skeleton.boneData[boneIndex];
+
+			if (time >= frames[end - 3]) { // Time is after last frame.
+				local[x] += (data.x + frames[end - 2] - local[x]) * alpha;
+				local[y] += (data.y + frames[end - 1] - local[y]) * alpha;
 				return;
 			}
 
 			// Interpolate between the previous frame and the current frame.
-			int frameIndex = binarySearch(frames, time, 3);
+			int frameIndex = search(frames, start, end, time, 3, cursors, cursorIndex);
 			float prevFrameX = frames[frameIndex - 2];
 			float prevFrameY = frames[frameIndex - 1];
 			float frameTime = frames[frameIndex];
 			float percent = 1 - (time - frameTime) / (frames[frameIndex + PREV_FRAME_TIME] - frameTime);
 			percent = (percent < 0f ? 0f : percent > 1f ? 1f : percent);
-			percent = getCurvePercent(frameIndex / 3 - 1, percent);
+			int frame = (frameIndex - start) / 3 - 1;
+			percent = curvePercent(curves, curveStart + frame * 6, lookup, lookupStart + frame * (lookupSize + 1), lookupSize,
+				percent);
 
-			bone.x += (bone.data.x + prevFrameX + (frames[frameIndex + FRAME_X] - prevFrameX) * percent - bone.x) * alpha;
-			bone.y += (bone.data.y + prevFrameY + (frames[frameIndex + FRAME_Y] - prevFrameY) * percent - bone.y) * alpha;
+			local[x] += (data.x + prevFrameX + (frames[frameIndex + FRAME_X] - prevFrameX) * percent - local[x]) * alpha;
+			local[y] += (data.y + prevFrameY + (frames[frameIndex + FRAME_Y] - prevFrameY) * percent - local[y]) * alpha;
 		}
 	}
 
@@ -353,30 +626,40 @@ public class Animation {
 			super(frameCount);
 		}
 
-		public void apply (Skeleton skeleton, float lastTime, float time, ArrayList<Event> events, float alpha) {
-			float[] frames = this.frames;
-			if (time < frames[0]) return; // Time is before first frame.
+		public void apply (Skeleton skeleton, float lastTime, float time, ArrayList<Event> events, float alpha, int[] cursors,
+			int cursorIndex) {
+			scale(skeleton, boneIndex, frames, 0, frames.length, curves, 0, lookup, 0, lookupSize, time, alpha, cursors,
+				cursorIndex);
+		}
 
-			Bone bone = skeleton.bones.get(boneIndex);
-			if (time >= frames[frames.length - 3]) { // Time is after last frame.
-				bone.scaleX += (bone.data.scaleX - 1 + frames[frames.length - 2] - bone.scaleX) * alpha;
-				bone.scaleY += (bone.data.scaleY - 1 + frames[frames.length - 1] - bone.scaleY) * alpha;
+		/** Applies scale frames from start (inclusive) to end (exclusive) and the curves for them. */
+		static void scale (Skeleton skeleton, int boneIndex, float[] frames, int start, int end, float[] curves, int curveStart,
+			float[] lookup, int lookupStart, int lookupSize, float time, float alpha, int[] cursors, int cursorIndex) {
+			if (!skeleton.activeBones[boneIndex]) return; // Not needed at the skeleton's detail level.
+			if (time < frames[start]) return; // Time is before first frame.
+
+			float[] local = skeleton.local;
+			int x = boneIndex * Bone.LOCAL_STRIDE + Bone.SCALE_X, y = x + 1;
+			BoneData data = skeleton.boneData[boneIndex];
+			if (time >= frames[end - 3]) { // Time is after last frame.
+				local[x] += (data.scaleX - 1 + frames[end - 2] - local[x]) * alpha;
+				local[y] += (data.scaleY - 1 + frames[end - 1] - local[y]) * alpha;
 				return;
 			}
 
 			// Interpolate between the previous frame and the current frame.
-			int frameIndex = binarySearch(frames, time, 3);
+			int frameIndex = search(frames, start, end, time, 3, cursors, cursorIndex);
 			float prevFrameX = frames[frameIndex - 2];
 			float prevFrameY = frames[frameIndex - 1];
 			float frameTime = frames[frameIndex];
 			float percent = 1 - (time - frameTime) / (frames[frameIndex + PREV_FRAME_TIME] - frameTime);
 			percent = (percent < 0f ? 0f : percent > 1f ? 1f : percent);
-			percent = getCurvePercent(frameIndex / 3 - 1, percent);
+			int frame = (frameIndex - start) / 3 - 1;
+			percent = curvePercent(curves, curveStart + frame * 6, lookup, lookupStart + frame * (lookupSize + 1), lookupSize,
+				percent);
 
-			bone.scaleX += (bone.data.scaleX - 1 + prevFrameX + (frames[frameIndex + FRAME_X] - prevFrameX) * percent - bone.scaleX)
-				* alpha;
-			bone.scaleY += (bone.data.scaleY - 1 + prevFrameY + (frames[frameIndex + FRAME_Y] - prevFrameY) * percent - bone.scaleY)
-				* alpha;
+			local[x] += (data.scaleX - 1 + prevFrameX + (frames[frameIndex + FRAME_X] - prevFrameX) * percent - local[x]) * alpha;
+			local[y] += (data.scaleY - 1 + prevFrameY + (frames[frameIndex + FRAME_Y] - prevFrameY) * percent - local[y]) * alpha;
 		}
 	}
 
@@ -418,22 +701,34 @@ public class Animation {
 		}
 
 		public void apply (Skeleton skeleton, float lastTime, float time, ArrayList<Event> events, float alpha) {
-			float[] frames = this.frames;
-			if (time < frames[0]) return; // Time is before first frame.
+			apply(skeleton, lastTime, time, events, alpha, null, 0);
+		}
+
+		public void apply (Skeleton skeleton, float lastTime, float time, ArrayList<Event> events, float alpha, int[] cursors,
+			int cursorIndex) {
+			color(skeleton, slotIndex, frames, 0, frames.length, curves, 0, lookup, 0, lookupSize, time, alpha, cursors,
+				cursorIndex);
+		}
+
+		/** Applies color frames from start (inclusive) to end (exclusive) and the curves for them. */
+		static void color (Skeleton skeleton, int slotIndex, float[] frames, int start, int end, float[] curves, int curveStart,
+			float[] lookup, int lookupStart, int lookupSize, float time, float alpha, int[] cursors, int cursorIndex) {
+			if (skeleton.skipColor) return; // Not applied at the skeleton's detail level.
+			if (time < frames[start]) return; // Time is before first frame.
 
 			Slot slot = skeleton.slots.get(slotIndex);
 
 			float r, g, b, a;
-			if (time >= frames[frames.length - 5]) {
+			if (time >= frames[end - 5]) {
 				// Time is after last frame.
-				int i = frames.length - 1;
+				int i = end - 1;
 				r = frames[i - 3];
 				g = frames[i - 2];
 				b = frames[i - 1];
 				a = frames[i];
 			} else {
 				// Interpolate between the previous frame and the current frame.
-				int frameIndex = binarySearch(frames, time, 5);
+				int frameIndex = search(frames, start, end, time, 5, cursors, cursorIndex);
 				float prevFrameR = frames[frameIndex - 4];
 				float prevFrameG = frames[frameIndex - 3];
 				float prevFrameB = frames[frameIndex - 2];
@@ -441,7 +736,9 @@ public class Animation {
 				float frameTime = frames[frameIndex];
 				float percent = 1 - (time - frameTime) / (frames[frameIndex + PREV_FRAME_TIME] - frameTime);
 				percent = (percent < 0f ? 0f : percent > 1f ? 1f : percent);
-				percent = getCurvePercent(frameIndex / 5 - 1, percent);
+				int frame = (frameIndex - start) / 5 - 1;
+				percent = curvePercent(curves, curveStart + frame * 6, lookup, lookupStart + frame * (lookupSize + 1),
+					lookupSize, percent);
 
 				r = prevFrameR + (frames[frameIndex + FRAME_R] - prevFrameR) * percent;
 				g = prevFrameG + (frames[frameIndex + FRAME_G] - prevFrameG) * percent;
@@ -466,7 +763,7 @@ public class Animation {
 		}
 	}
 
-	static public class AttachmentTimeline implements Timeline {
+	static public class AttachmentTimeline extends CursorTimeline {
 		int slotIndex;
 		private final float[] frames; // time, ...
 		private final String[] attachmentNames;
@@ -503,14 +800,24 @@ public class Animation {
 		}
 
 		public void apply (Skeleton skeleton, float lastTime, float time, ArrayList<Event> events, float alpha) {
-			float[] frames = this.frames;
-			if (time < frames[0]) return; // Time is before first frame.
+			apply(skeleton, lastTime, time, events, alpha, null, 0);
+		}
+
+		public void apply (Skeleton skeleton, float lastTime, float time, ArrayList<Event> events, float alpha, int[] cursors,
+			int cursorIndex) {
+			attachment(skeleton, slotIndex, frames, attachmentNames, 0, frames.length, time, cursors, cursorIndex);
+		}
+
+		/** Applies attachment frames and names from start (inclusive) to end (exclusive). */
+		static void attachment (Skeleton skeleton, int slotIndex, float[] frames, String[] attachmentNames, int start, int end,
+			float time, int[] cursors, int cursorIndex) {
+			if (time < frames[start]) return; // Time is before first frame.
 
 			int frameIndex;
-			if (time >= frames[frames.length - 1]) // Time is after last frame.
-				frameIndex = frames.length - 1;
+			if (time >= frames[end - 1]) // Time is after last frame.
+				frameIndex = end - 1;
 			else
-				frameIndex = binarySearch(frames, time, 1) - 1;
+				frameIndex = search(frames, start, end, time, 1, cursors, cursorIndex) - 1;
 
 			String attachmentName = attachmentNames[frameIndex];
 			skeleton.slots.get(slotIndex).setAttachment(
@@ -574,7 +881,7 @@ public class Animation {
 		}
 	}
 
-	static public class DrawOrderTimeline implements Timeline {
+	static public class DrawOrderTimeline extends CursorTimeline {
 		private final float[] frames; // time, ...
 		private final int[][] drawOrders;
 
@@ -603,6 +910,11 @@ public class Animation {
 		}
 
 		public void apply (Skeleton skeleton, float lastTime, float time, ArrayList<Event> firedEvents, float alpha) {
+			apply(skeleton, lastTime, time, firedEvents, alpha, null, 0);
+		}
+
+		public void apply (Skeleton skeleton, float lastTime, float time, ArrayList<Event> firedEvents, float alpha, int[] cursors,
+			int cursorIndex) {
 			float[] frames = this.frames;
 			if (time < frames[0]) return; // Time is before first frame.
 
@@ -610,7 +922,7 @@ public class Animation {
 			if (time >= frames[frames.length - 1]) // Time is after last frame.
 				frameIndex = frames.length - 1;
 			else
-				frameIndex = binarySearch(frames, time, 1) - 1;
+				frameIndex = search(frames, time, 1, cursors, cursorIndex) - 1;
 
 			ArrayList<Slot> drawOrder = skeleton.drawOrder;
 			ArrayList<Slot> slots = skeleton.slots;
@@ -670,6 +982,12 @@ public class Animation {
 		}
 
 		public void apply (Skeleton skeleton, float lastTime, float time, ArrayList<Event> firedEvents, float alpha) {
+			apply(skeleton, lastTime, time, firedEvents, alpha, null, 0);
+		}
+
+		public void apply (Skeleton skeleton, float lastTime, float time, ArrayList<Event> firedEvents, float alpha, int[] cursors,
+			int cursorIndex) {
+			if (skeleton.skipFfd) return; // Not applied at the skeleton's detail level.
 			Slot slot = skeleton.slots.get(slotIndex);
 			if (slot.getAttachment() != attachment) return;
 
@@ -698,7 +1016,7 @@ public class Animation {
 			}
 
 			// Interpolate between the previous frame and the current frame.
-			int frameIndex = binarySearch(frames, time, 1);
+			int frameIndex = search(frames, time, 1, cursors, cursorIndex);
 			float frameTime = frames[frameIndex];
 			float percent = 1 - (time - frameTime) / (frames[frameIndex - 1] - frameTime);
 			percent = (percent < 0f ? 0f : percent > 1f ? 1f : percent);
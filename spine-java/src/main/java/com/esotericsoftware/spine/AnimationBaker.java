@@ -0,0 +1,207 @@
+/******************************************************************************
+ * Spine Runtimes Software License
+ * Version 2.1
+ * 
+ * Copyright (c) 2013, Esoteric Software
+ * All rights reserved.
+ * 
+ * You are granted a perpetual, non-exclusive, non-sublicensable and
+ * non-transferable license to install, execute and perform the Spine Runtimes
+ * Software (the "Software") solely for internal use. Without the written
+ * permission of Esoteric Software (typically granted by licensing Spine), you
+ * may not (a) modify, translate, adapt or otherwise create derivative works,
+ * improvements of the Software or develop new applications using the Software
+ * or (b) remove, delete, alter or obscure any trademarks or any copyright,
+ * trademark, patent or other intellectual property or proprietary rights
+ * notices on or in the Software, including any copy thereof. Redistributions
+ * in binary or source form must include this license and terms.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY ESOTERIC SOFTWARE "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO
+ * EVENT SHALL ESOTERIC SOFTARE BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+ * OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *****************************************************************************/
+package com.esotericsoftware.spine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import com.esotericsoftware.spine.Animation.AttachmentTimeline;
+import com.esotericsoftware.spine.Animation.ColorTimeline;
+import com.esotericsoftware.spine.Animation.DrawOrderTimeline;
+import com.esotericsoftware.spine.Animation.RotateTimeline;
+import com.esotericsoftware.spine.Animation.ScaleTimeline;
+import com.esotericsoftware.spine.Animation.Timeline;
+import com.esotericsoftware.spine.Animation.TranslateTimeline;
+import com.esotericsoftware.spine.BakedAnimation.Space;
+
+/** Samples animations at a fixed frame rate into {@link BakedAnimation baked animations}, which are cheaper to apply but use
+ * more memory and interpolate linearly between samples. */
+public class AnimationBaker {
+	private final SkeletonData data;
+	private float frameRate = 30;
+	private Space space = Space.local;
+
+	public AnimationBaker (SkeletonData data) {
+		if (data == null) throw new IllegalArgumentException("data cannot be null.");
+		this.data = data;
+	}
+
+	/** @param animation Must belong to the baker's skeleton data. */
+	public BakedAnimation bake (Animation animation) {
+		if (animation == null) throw new IllegalArgumentException("animation cannot be null.");
+		float duration = animation.getDuration();
+		int frameCount = Math.max(2, (int)Math.ceil(duration * frameRate) + 1);
+		float bakedFrameRate = duration > 0 ? (frameCount - 1) / duration : 0;
+
+		// Find the bones and slots keyed by the animation. The timelines that cannot be baked are kept.
+		int boneCount = data.bones.size(), slotCount = data.slots.size();
+		int[] channels = new int[boneCount];
+		boolean[] colorKeyed = new boolean[slotCount];
+		AttachmentTimeline[] attachmentTimelines = new AttachmentTimeline[slotCount];
+		DrawOrderTimeline drawOrderTimeline = null;
+		ArrayList<Timeline> timelines = new ArrayList<Timeline>();
+		for (Timeline timeline : animation.getTimelines()) {
+			if (timeline instanceof RotateTimeline)
+				channels[((RotateTimeline)timeline).boneIndex] |= BakedAnimation.ROTATE;
+			else if (timeline instanceof ScaleTimeline)
+				channels[((ScaleTimeline)timeline).boneIndex] |= BakedAnimation.SCALE;
+			else if (timeline instanceof TranslateTimeline)
+				channels[((TranslateTimeline)timeline).boneIndex] |= BakedAnimation.TRANSLATE;
+			else if (timeline instanceof ColorTimeline)
+				colorKeyed[((ColorTimeline)timeline).slotIndex] = true;
+			else if (timeline instanceof AttachmentTimeline) {
+				AttachmentTimeline attachmentTimeline = (AttachmentTimeline)timeline;
+				attachmentTimelines[attachmentTimeline.slotIndex] = attachmentTimeline;
+			} else if (timeline instanceof DrawOrderTimeline)
+				drawOrderTimeline = (DrawOrderTimeline)timeline;
+			else
+				timelines.add(timeline);
+		}
+
+		int[] bones, boneChannels;
+		if (space == Space.local) {
+			int count = 0;
+			for (int i = 0; i < boneCount; i++)
+				if (channels[i] != 0) count++;
+			bones = new int[count];
+			boneChannels = new int[count];
+			for (int i = 0, ii = 0; i < boneCount; i++) {
+				if (channels[i] == 0) continue;
+				bones[ii] = i;
+				boneChannels[ii++] = channels[i];
+			}
+		} else {
+			bones = new int[0];
+			boneChannels = bones;
+		}
+		int[] colorSlots = indices(colorKeyed);
+		boolean[] attachmentKeyed = new boolean[slotCount];
+		for (int i = 0; i < slotCount; i++)
+			attachmentKeyed[i] = attachmentTimelines[i] != null;
+		int[] attachmentSlots = indices(attachmentKeyed);
+
+		int boneStride = space == Space.local ? bones.length * Bone.LOCAL_STRIDE : boneCount * Bone.WORLD_STRIDE;
+		float[] boneFrames = new float[frameCount * boneStride];
+		float[] colorFrames = new float[frameCount * colorSlots.length * 4];
+		int[] attachmentFrames = new int[frameCount * attachmentSlots.length];
+		ArrayList<String> attachmentNames = new ArrayList<String>();
+		int[] drawOrderFrames = drawOrderTimeline == null ? null : new int[frameCount];
+
+		Skeleton skeleton = new Skeleton(data);
+		for (int frame = 0; frame < frameCount; frame++) {
+			float time = frame == frameCount - 1 ? duration : frame / bakedFrameRate;
+			if (duration == 0) time = 0;
+			skeleton.setToSetupPose();
+			animation.apply(skeleton, time, time, false, null);
+
+			if (space == Space.local) {
+				for (int i = 0, b = frame * boneStride, n = bones.length; i < n; i++, b += Bone.LOCAL_STRIDE)
+					System.arraycopy(skeleton.local, bones[i] * Bone.LOCAL_STRIDE, boneFrames, b, Bone.LOCAL_STRIDE);
+			} else {
+				skeleton.updateWorldTransform();
+				System.arraycopy(skeleton.world, 0, boneFrames, frame * boneStride, boneStride);
+			}
+
+			for (int i = 0, c = frame * colorSlots.length * 4, n = colorSlots.length; i < n; i++, c += 4) {
+				Slot slot = skeleton.slots.get(colorSlots[i]);
+				colorFrames[c] = slot.r;
+				colorFrames[c + 1] = slot.g;
+				colorFrames[c + 2] = slot.b;
+				colorFrames[c + 3] = slot.a;
+			}
+
+			for (int i = 0, a = frame * attachmentSlots.length, n = attachmentSlots.length; i < n; i++, a++) {
+				AttachmentTimeline timeline = attachmentTimelines[attachmentSlots[i]];
+				int keyIndex = keyIndex(timeline.getFrames(), time);
+				if (keyIndex == -1)
+					attachmentFrames[a] = -2;
+				else {
+					String name = timeline.getAttachmentNames()[keyIndex];
+					if (name == null)
+						attachmentFrames[a] = -1;
+					else {
+						int nameIndex = attachmentNames.indexOf(name);
+						if (nameIndex == -1) {
+							nameIndex = attachmentNames.size();
+							attachmentNames.add(name);
+						}
+						attachmentFrames[a] = nameIndex;
+					}
+				}
+			}
+
+			if (drawOrderFrames != null) drawOrderFrames[frame] = keyIndex(drawOrderTimeline.getFrames(), time);
+		}
+
+		return new BakedAnimation(animation, timelines, data, space, frameCount, bakedFrameRate, bones, boneChannels, boneFrames,
+			colorSlots, colorFrames, attachmentSlots, attachmentFrames, attachmentNames.toArray(new String[attachmentNames.size()]),
+			drawOrderFrames, drawOrderTimeline == null ? null : drawOrderTimeline.getDrawOrders());
+	}
+
+	/** Returns the index of the key a stepped timeline uses at the specified time, or -1 if the time is before the first key. */
+	static private int keyIndex (float[] frames, float time) {
+		if (time < frames[0]) return -1;
+		if (time >= frames[frames.length - 1]) return frames.length - 1;
+		return Animation.binarySearch(frames, time, 1) - 1;
+	}
+
+	static private int[] indices (boolean[] flags) {
+		int[] indices = new int[flags.length];
+		int count = 0;
+		for (int i = 0; i < flags.length; i++)
+			if (flags[i]) indices[count++] = i;
+		return Arrays.copyOf(indices, count);
+	}
+
+	public SkeletonData getData () {
+		return data;
+	}
+
+	public float getFrameRate () {
+		return frameRate;
+	}
+
+	/** Sets the number of samples per second. The samples are spread evenly over the animation's duration, so the baked frame
+	 * rate may be slightly higher. Default is 30. */
+	public void setFrameRate (float frameRate) {
+		if (frameRate <= 0) throw new IllegalArgumentException("frameRate must be > 0.");
+		this.frameRate = frameRate;
+	}
+
+	public Space getSpace () {
+		return space;
+	}
+
+	/** Default is {@link Space#local}. */
+	public void setSpace (Space space) {
+		if (space == null) throw new IllegalArgumentException("space cannot be null.");
+		this.space = space;
+	}
+}
@@ -0,0 +1,295 @@
+/******************************************************************************
+ * Spine Runtimes Software License
+ * Version 2.1
+ * 
+ * Copyright (c) 2013, Esoteric Software
+ * All rights reserved.
+ * 
+ * You are granted a perpetual, non-exclusive, non-sublicensable and
+ * non-transferable license to install, execute and perform the Spine Runtimes
+ * Software (the "Software") solely for internal use. Without the written
+ * permission of Esoteric Software (typically granted by licensing Spine), you
+ * may not (a) modify, translate, adapt or otherwise create derivative works,
+ * improvements of the Software or develop new applications using the Software
+ * or (b) remove, delete, alter or obscure any trademarks or any copyright,
+ * trademark, patent or other intellectual property or proprietary rights
+ * notices on or in the Software, including any copy thereof. Redistributions
+ * in binary or source form must include this license and terms.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY ESOTERIC SOFTWARE "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO
+ * EVENT SHALL ESOTERIC SOFTARE BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+ * OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *****************************************************************************/
+
+package com.esotericsoftware.spine;
+
+import java.util.ArrayList;
+
+import com.esotericsoftware.spine.Animation.AttachmentTimeline;
+import com.esotericsoftware.spine.Animation.ColorTimeline;
+import com.esotericsoftware.spine.Animation.CurveTimeline;
+import com.esotericsoftware.spine.Animation.CursorTimeline;
+import com.esotericsoftware.spine.Animation.DrawOrderTimeline;
+import com.esotericsoftware.spine.Animation.EventTimeline;
+import com.esotericsoftware.spine.Animation.FfdTimeline;
+import com.esotericsoftware.spine.Animation.RotateTimeline;
+import com.esotericsoftware.spine.Animation.ScaleTimeline;
+import com.esotericsoftware.spine.Animation.Timeline;
+import com.esotericsoftware.spine.Animation.TranslateTimeline;
+
+/** The timelines of an animation regrouped by type. Each batch stores the frames, curves and targets of all its timelines in
+ * shared arrays and is applied by one loop calling the same static method for every timeline, so there is no virtual call per
+ * timeline. Timelines the batches can't reorder without changing the pose are applied afterward in their original order.
+ * @see Animation#compile() */
+class AnimationProgram {
+	final CurveBatch rotates, translates, scales, colors;
+	final AttachmentBatch attachments;
+	final Timeline[] ordered;
+	final int[] orderedIndices;
+
+	AnimationProgram (ArrayList<Timeline> timelines) {
+		this(timelines, null);
+	}
+
+	/** @param mask May be null. Timelines for bones and slots the mask excludes are left out. */
+	AnimationProgram (ArrayList<Timeline> timelines, TrackMask mask) {
+		CurveBatch rotates = new CurveBatch(), translates = new CurveBatch(), scales = new CurveBatch(), colors = new CurveBatch();
+		AttachmentBatch attachments = new AttachmentBatch();
+		ArrayList<Timeline> ordered = new ArrayList<Timeline>();
+		ArrayList<Integer> orderedIndices = new ArrayList<Integer>();
+
+		// Timelines of different types that are batched set different values, so applying them by type gives the same pose.
+		// An FFD timeline reads the slot's attachment, so attachment timelines after one keep their order. Any other timeline
+		// may read or set anything, so everything after it keeps its order.
+		boolean ffd = false, unknown = false;
+		for (int i = 0, n = timelines.size(); i < n; i++) {
+			Timeline timeline = timelines.get(i);
+			if (mask != null && !mask.includes(timeline)) continue;
+			Class<?> type = timeline.getClass();
+			if (!unknown) {
+				if (type == RotateTimeline.class) {
+					RotateTimeline rotate = (RotateTimeline)timeline;
+					rotates.add(rotate, i, rotate.boneIndex, rotate.getFrames());
+					continue;
+				}
+				if (type == TranslateTimeline.class) {
+					TranslateTimeline translate = (TranslateTimeline)timeline;
+					translates.add(translate, i, translate.boneIndex, translate.frames);
+					continue;
+				}
+				if (type == ScaleTimeline.class) {
+					ScaleTimeline scale = (ScaleTimeline)timeline;
+					scales.add(scale, i, scale.boneIndex, scale.frames);
+					continue;
+				}
+				if (type == ColorTimeline.class) {
+					ColorTimeline color = (ColorTimeline)timeline;
+					colors.add(color, i, color.slotIndex, color.getFrames());
+					continue;
+				}
+				if (type == AttachmentTimeline.class && !ffd) {
+					attachments.add((AttachmentTimeline)timeline, i);
+					continue;
+				}
+			}
+			if (type == FfdTimeline.class)
+				ffd = true;
+			else if (type != AttachmentTimeline.class && type != DrawOrderTimeline.class && type != EventTimeline.class)
+				unknown = true;
+			ordered.add(timeline);
+			orderedIndices.add(i);
+		}
+
+		this.rotates = rotates.build();
+		this.translates = translates.build();
+		this.scales = scales.build();
+		this.colors = colors.build();
+		this.attachments = attachments.build();
+		this.ordered = ordered.toArray(new Timeline[ordered.size()]);
+		this.orderedIndices = new int[ordered.size()];
+		for (int i = 0, n = ordered.size(); i < n; i++)
+			this.orderedIndices[i] = orderedIndices.get(i);
+	}
+
+	/** @param cursors May be null. The cursor index for each timeline is its index in the animation's timelines. */
+	void apply (Skeleton skeleton, float lastTime, float time, ArrayList<Event> events, float alpha, int[] cursors) {
+		CurveBatch batch = rotates;
+		int[] timelines = batch.timelines, targets = batch.targets, frameStarts = batch.frameStarts;
+		int[] curveStarts = batch.curveStarts, lookupStarts = batch.lookupStarts, lookupSizes = batch.lookupSizes;
+		for (int i = 0, n = timelines.length; i < n; i++) {
+			RotateTimeline.rotate(skeleton, targets[i], batch.frames, frameStarts[i], frameStarts[i + 1], batch.curves,
+				curveStarts[i], batch.lookup, lookupStarts[i], lookupSizes[i], time, alpha, cursors, timelines[i]);
+		}
+
+		batch = translates;
+		timelines = batch.timelines;
+		targets = batch.targets;
+		frameStarts = batch.frameStarts;
+		curveStarts = batch.curveStarts;
+		lookupStarts = batch.lookupStarts;
+		lookupSizes = batch.lookupSizes;
+		for (int i = 0, n = timelines.length; i < n; i++) {
+			TranslateTimeline.translate(skeleton, targets[i], batch.frames, frameStarts[i], frameStarts[i + 1], batch.curves,
+				curveStarts[i], batch.lookup, lookupStarts[i], lookupSizes[i], time, alpha, cursors, timelines[i]);
+		}
+
+		batch = scales;
+		timelines = batch.timelines;
+		targets = batch.targets;
+		frameStarts = batch.frameStarts;
+		curveStarts = batch.curveStarts;
+		lookupStarts = batch.lookupStarts;
+		lookupSizes = batch.lookupSizes;
+		for (int i = 0, n = timelines.length; i < n; i++) {
+			ScaleTimeline.scale(skeleton, targets[i], batch.frames, frameStarts[i], frameStarts[i + 1], batch.curves,
+				curveStarts[i], batch.lookup, lookupStarts[i], lookupSizes[i], time, alpha, cursors, timelines[i]);
+		}
+
+		batch = colors;
+		timelines = batch.timelines;
+		targets = batch.targets;
+		frameStarts = batch.frameStarts;
+		curveStarts = batch.curveStarts;
+		lookupStarts = batch.lookupStarts;
+		lookupSizes = batch.lookupSizes;
+		for (int i = 0, n = timelines.length; i < n; i++) {
+			ColorTimeline.color(skeleton, targets[i], batch.frames, frameStarts[i], frameStarts[i + 1], batch.curves,
+				curveStarts[i], batch.lookup, lookupStarts[i], lookupSizes[i], time, alpha, cursors, timelines[i]);
+		}
+
+		AttachmentBatch attachments = this.attachments;
+		timelines = attachments.timelines;
+		targets = attachments.slots;
+		frameStarts = attachments.frameStarts;
+		for (int i = 0, n = timelines.length; i < n; i++) {
+			AttachmentTimeline.attachment(skeleton, targets[i], attachments.frames, attachments.attachmentNames, frameStarts[i],
+				frameStarts[i + 1], time, cursors, timelines[i]);
+		}
+
+		Timeline[] ordered = this.ordered;
+		int[] orderedIndices = this.orderedIndices;
+		for (int i = 0, n = ordered.length; i < n; i++) {
+			Timeline timeline = ordered[i];
+			if (cursors != null && CursorTimeline.isBuiltIn(timeline))
+				((CursorTimeline)timeline).apply(skeleton, lastTime, time, events, alpha, cursors, orderedIndices[i]);
+			else
+				timeline.apply(skeleton, lastTime, time, events, alpha);
+		}
+	}
+
+	/** Timelines of one {@link CurveTimeline} type. The frames and curves of timeline i start at frameStarts[i] and
+	 * curveStarts[i], and its lookup tables, if any, start at lookupStarts[i]. */
+	static class CurveBatch {
+		int[] timelines, targets, frameStarts, curveStarts, lookupStarts, lookupSizes;
+		float[] frames, curves, lookup;
+
+		private ArrayList<CurveTimeline> added = new ArrayList<CurveTimeline>();
+		private ArrayList<float[]> addedFrames = new ArrayList<float[]>();
+		private ArrayList<int[]> addedIndices = new ArrayList<int[]>();
+
+		void add (CurveTimeline timeline, int timelineIndex, int target, float[] frames) {
+			added.add(timeline);
+			addedFrames.add(frames);
+			addedIndices.add(new int[] {timelineIndex, target});
+		}
+
+		CurveBatch build () {
+			int n = added.size();
+			timelines = new int[n];
+			targets = new int[n];
+			frameStarts = new int[n + 1];
+			curveStarts = new int[n];
+			lookupStarts = new int[n];
+			lookupSizes = new int[n];
+			int frameCount = 0, curveCount = 0, lookupCount = 0;
+			for (int i = 0; i < n; i++) {
+				CurveTimeline timeline = added.get(i);
+				frameCount += addedFrames.get(i).length;
+				curveCount += timeline.curves.length;
+				if (timeline.lookup != null) lookupCount += timeline.lookup.length;
+			}
+			frames = new float[frameCount];
+			curves = new float[curveCount];
+			lookup = new float[lookupCount];
+			frameCount = 0;
+			curveCount = 0;
+			lookupCount = 0;
+			for (int i = 0; i < n; i++) {
+				CurveTimeline timeline = added.get(i);
+				int[] indices = addedIndices.get(i);
+				timelines[i] = indices[0];
+				targets[i] = indices[1];
+
+				float[] timelineFrames = addedFrames.get(i);
+				frameStarts[i] = frameCount;
+				System.arraycopy(timelineFrames, 0, frames, frameCount, timelineFrames.length);
+				frameCount += timelineFrames.length;
+
+				curveStarts[i] = curveCount;
+				System.arraycopy(timeline.curves, 0, curves, curveCount, timeline.curves.length);
+				curveCount += timeline.curves.length;
+
+				lookupStarts[i] = lookupCount;
+				lookupSizes[i] = timeline.lookupSize;
+				if (timeline.lookup != null) {
+					System.arraycopy(timeline.lookup, 0, lookup, lookupCount, timeline.lookup.length);
+					lookupCount += timeline.lookup.length;
+				}
+			}
+			frameStarts[n] = frameCount;
+			added = null;
+			addedFrames = null;
+			addedIndices = null;
+			return this;
+		}
+	}
+
+	/** Attachment timelines. The frames and attachment names of timeline i start at frameStarts[i]. */
+	static class AttachmentBatch {
+		int[] timelines, slots, frameStarts;
+		float[] frames;
+		String[] attachmentNames;
+
+		private ArrayList<AttachmentTimeline> added = new ArrayList<AttachmentTimeline>();
+		private ArrayList<Integer> addedIndices = new ArrayList<Integer>();
+
+		void add (AttachmentTimeline timeline, int timelineIndex) {
+			added.add(timeline);
+			addedIndices.add(timelineIndex);
+		}
+
+		AttachmentBatch build () {
+			int n = added.size();
+			timelines = new int[n];
+			slots = new int[n];
+			frameStarts = new int[n + 1];
+			int frameCount = 0;
+			for (int i = 0; i < n; i++)
+				frameCount += added.get(i).getFrameCount();
+			frames = new float[frameCount];
+			attachmentNames = new String[frameCount];
+			frameCount = 0;
+			for (int i = 0; i < n; i++) {
+				AttachmentTimeline timeline = added.get(i);
+				timelines[i] = addedIndices.get(i);
+				slots[i] = timeline.slotIndex;
+				frameStarts[i] = frameCount;
+				int count = timeline.getFrameCount();
+				System.arraycopy(timeline.getFrames(), 0, frames, frameCount, count);
+				System.arraycopy(timeline.getAttachmentNames(), 0, attachmentNames, frameCount, count);
+				frameCount += count;
+			}
+			frameStarts[n] = frameCount;
+			added = null;
+			addedIndices = null;
+			return this;
+		}
+	}
+}
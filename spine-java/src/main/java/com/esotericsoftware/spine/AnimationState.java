@@ -31,6 +31,9 @@
 package com.esotericsoftware.spine;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+
+import com.esotericsoftware.spine.EventQueue.EventType;
 
 /** Stores state for an animation and automatically mixes between animations. */
 public class AnimationState {
@@ -39,6 +42,15 @@ public class AnimationState {
 	private final ArrayList<Event> events = new ArrayList<Event>();
 	private final ArrayList<AnimationStateListener> listeners = new ArrayList<AnimationStateListener>();
 	private float timeScale = 1;
+	private final ArrayList<TrackEntry> trackEntryPool = new ArrayList<TrackEntry>();
+	private final ArrayList<TrackEntry> freedEntries = new ArrayList<TrackEntry>();
+	private EventQueue eventQueue;
+	private boolean freezePrevious;
+	private float fixedStep, stepTime;
+	private int maxSteps = 5;
+	private boolean stepPending = true;
+	private Skeleton stepSkeleton;
+	private float[] previousWorld, currentWorld; // The skeleton's world transforms after the last two steps.
 
 	public AnimationState (AnimationStateData data) {
 		if (data == null) throw new IllegalArgumentException("data cannot be null.");
@@ -46,12 +58,38 @@ public class AnimationState {
 	}
 
 	public void update (float delta) {
+		// Entries freed since the last update have had their end events fired, so they can be reused.
+		ArrayList<TrackEntry> freedEntries = this.freedEntries;
+		for (int i = 0, n = freedEntries.size(); i < n; i++)
+			trackEntryPool.add(freedEntries.get(i));
+		freedEntries.clear();
+
+		if (fixedStep > 0) {
+			stepTime += delta;
+			for (int steps = 0; stepTime >= fixedStep; steps++) {
+				if (steps == maxSteps) {
+					stepTime %= fixedStep; // Drop the rest of a long hitch rather than falling further behind.
+					break;
+				}
+				stepTime -= fixedStep;
+				step(fixedStep);
+				stepPending = true;
+			}
+		} else
+			step(delta);
+	}
+
+	/** Advances the tracks by the delta time. */
+	private void step (float delta) {
 		delta *= timeScale;
 		int tsize = tracks.size();
 		for (int i = 0; i < tsize; i++) {
 			TrackEntry current = tracks.get(i);
 			if (current == null) continue;
 
+			// With a fixed step, several steps may run without an apply in between, so lastTime is not updated. The time before
+			// this step is then the time the last step would have been applied at.
+			float lastTime = fixedStep > 0 ? current.time : current.lastTime;
 			current.time += delta * current.timeScale;
 			if (current.previous != null) {
 				float previousDelta = delta * current.previous.timeScale;
@@ -61,17 +99,49 @@ public class AnimationState {
 
 			TrackEntry next = current.next;
 			if (next != null) {
-				if (current.lastTime >= next.delay) setCurrent(i, next);
+				if (lastTime >= next.delay) setCurrent(i, next);
 			} else {
 				// End non-looping animation when it reaches its end time and there is no next entry.
-				if (!current.loop && current.lastTime >= current.endTime) clearTrack(i);
+				if (!current.loop && lastTime >= current.endTime) clearTrack(i);
 			}
 		}
 	}
 
+	/** Poses the skeleton using the current tracks. With a {@link #setFixedStep(float) fixed step}, this only poses the skeleton
+	 * if the tracks were stepped since the last apply, and also updates the skeleton's world transforms. */
 	public void apply (Skeleton skeleton) {
+		if (fixedStep > 0)
+			applyStep(skeleton);
+		else
+			applyTracks(skeleton);
+	}
+
+	private void applyStep (Skeleton skeleton) {
+		if (!stepPending && skeleton == stepSkeleton) return;
+		float[] world = skeleton.world;
+		int count = world.length;
+		boolean stepped = skeleton == stepSkeleton && currentWorld.length == count;
+		if (stepped) {
+			// Undo interpolate so the world transforms match the local transforms they were computed from.
+			System.arraycopy(currentWorld, 0, world, 0, count);
+			float[] swap = previousWorld;
+			previousWorld = currentWorld;
+			currentWorld = swap;
+		}
+		applyTracks(skeleton);
+		skeleton.updateWorldTransform();
+		if (!stepped) {
+			stepSkeleton = skeleton;
+			previousWorld = new float[count];
+			currentWorld = new float[count];
+			System.arraycopy(world, 0, previousWorld, 0, count);
+		}
+		System.arraycopy(world, 0, currentWorld, 0, count);
+		stepPending = false;
+	}
+
+	private void applyTracks (Skeleton skeleton) {
 		ArrayList<Event> events = this.events;
-		int listenerCount = listeners.size();
 
 		int tsize = tracks.size();
 		for (int i = 0; i < tsize; i++) {
@@ -88,39 +158,37 @@ public class AnimationState {
 
 			TrackEntry previous = current.previous;
 			if (previous == null) {
-				if (current.mix == 1)
-					current.animation.apply(skeleton, lastTime, time, loop, events);
-				else
-					current.animation.mix(skeleton, lastTime, time, loop, events, current.mix);
+				current.animation.mix(skeleton, lastTime, time, loop, events, current.mix, current.cursors(), current.mask);
 			} else {
 				float previousTime = previous.time;
 				if (!previous.loop && previousTime > previous.endTime) previousTime = previous.endTime;
-				previous.animation.apply(skeleton, previousTime, previousTime, previous.loop, null);
+				if (!freezePrevious || !previous.restorePose(skeleton)) {
+					previous.animation.mix(skeleton, previousTime, previousTime, previous.loop, null, 1, previous.cursors(),
+						previous.mask);
+					if (freezePrevious) {
+						// The animation was applied at the looped time, so the pose is captured for that time.
+						float duration = previous.animation.getDuration();
+						previous.freezePose(skeleton, previous.loop && duration != 0 ? previousTime % duration : previousTime);
+					}
+				}
 
 				float alpha = current.mixTime / current.mixDuration * current.mix;
 				if (alpha >= 1) {
 					alpha = 1;
+					free(previous);
 					current.previous = null;
 				}
-				current.animation.mix(skeleton, lastTime, time, loop, events, alpha);
+				current.animation.mix(skeleton, lastTime, time, loop, events, alpha, current.cursors(), current.mask);
 			}
 
 			int esize = events.size();
-			for (int ii = 0, nn = esize; ii < nn; ii++) {
-				Event event = events.get(ii);
-				if (current.listener != null) current.listener.event(i, event);
-				for (int iii = 0; iii < listenerCount; iii++)
-					listeners.get(iii).event(i, event);
-			}
+			for (int ii = 0, nn = esize; ii < nn; ii++)
+				notify(EventType.event, i, 0, events.get(ii), current.listener);
 
 			// Check if completed the animation or a loop iteration.
-			if (loop ? (lastTime % endTime > time % endTime) : (lastTime < endTime && time >= endTime)) {
-				int count = (int)(time / endTime);
-				if (current.listener != null) current.listener.complete(i, count);
-				int lsize = listeners.size();
-				for (int ii = 0, nn = lsize; ii < nn; ii++)
-					listeners.get(ii).complete(i, count);
-			}
+			if (loop ? (lastTime % endTime > time % endTime || time - lastTime >= endTime)
+				: (lastTime < endTime && time >= endTime))
+				notify(EventType.complete, i, (int)(time / endTime), null, current.listener);
 
 			current.lastTime = current.time;
 		}
@@ -138,12 +206,35 @@ public class AnimationState {
 		TrackEntry current = tracks.get(trackIndex);
 		if (current == null) return;
 
-		if (current.listener != null) current.listener.end(trackIndex);
-		int lsize = listeners.size();
-		for (int i = 0, n = lsize; i < n; i++)
-			listeners.get(i).end(trackIndex);
+		notify(EventType.end, trackIndex, 0, null, current.listener);
 
 		tracks.set(trackIndex, null);
+
+		TrackEntry previous = current.previous;
+		freeAll(current);
+		if (previous != null) free(previous);
+	}
+
+	private void freeAll (TrackEntry entry) {
+		while (entry != null) {
+			TrackEntry next = entry.next;
+			free(entry);
+			entry = next;
+		}
+	}
+
+	private TrackEntry obtain () {
+		ArrayList<TrackEntry> pool = trackEntryPool;
+		int size = pool.size();
+		if (size == 0) return new TrackEntry();
+		return pool.remove(size - 1);
+	}
+
+	/** Queues the entry to be reused by {@link #update(float)}, so it is not reused while listeners may still be notified
+	 * about it. */
+	private void free (TrackEntry entry) {
+		entry.reset();
+		freedEntries.add(entry);
 	}
 
 	private TrackEntry expandToIndex (int index) {
@@ -159,10 +250,7 @@ public class AnimationState {
 			TrackEntry previous = current.previous;
 			current.previous = null;
 
-			if (current.listener != null) current.listener.end(index);
-			int lsize = listeners.size();
-			for (int i = 0, n = lsize; i < n; i++)
-				listeners.get(i).end(index);
+			notify(EventType.end, index, 0, null, current.listener);
 
 			entry.mixDuration = data.getMix(current.animation, entry.animation);
 			if (entry.mixDuration > 0) {
@@ -173,15 +261,62 @@ public class AnimationState {
 					previous = current;
 				} else
 					entry.previous = current;
-			}
+			} else
+				free(current);
+
+			if (previous != null) free(previous);
 		}
 
 		tracks.set(index, entry);
 
-		if (entry.listener != null) entry.listener.start(index);
-		int lsize = listeners.size();
-		for (int i = 0, n = lsize; i < n; i++)
-			listeners.get(i).start(index);
+		notify(EventType.start, index, 0, null, entry.listener);
+	}
+
+	/** Notifies the listeners now, or adds the notification to the event queue if there is one. */
+	private void notify (EventType type, int trackIndex, int loopCount, Event event, AnimationStateListener trackListener) {
+		if (eventQueue != null)
+			eventQueue.add(type, trackIndex, loopCount, event, trackListener);
+		else
+			deliver(type, trackIndex, loopCount, event, trackListener);
+	}
+
+	private void deliver (EventType type, int trackIndex, int loopCount, Event event, AnimationStateListener trackListener) {
+		ArrayList<AnimationStateListener> listeners = this.listeners;
+		switch (type) {
+		case start:
+			if (trackListener != null) trackListener.start(trackIndex);
+			for (int i = 0, n = listeners.size(); i < n; i++)
+				listeners.get(i).start(trackIndex);
+			break;
+		case end:
+			if (trackListener != null) trackListener.end(trackIndex);
+			for (int i = 0, n = listeners.size(); i < n; i++)
+				listeners.get(i).end(trackIndex);
+			break;
+		case complete:
+			if (trackListener != null) trackListener.complete(trackIndex, loopCount);
+			for (int i = 0, n = listeners.size(); i < n; i++)
+				listeners.get(i).complete(trackIndex, loopCount);
+			break;
+		case event:
+			if (trackListener != null) trackListener.event(trackIndex, event);
+			for (int i = 0, n = listeners.size(); i < n; i++)
+				listeners.get(i).event(trackIndex, event);
+			break;
+		}
+	}
+
+	/** Notifies the listeners of the notifications in the event queue, in the order they occurred. Notifications added by the
+	 * listeners, eg by setting an animation on the same thread, are delivered in the same pass. Must be called by the queue's
+	 * consumer thread.
+	 * @see #setEventQueue(EventQueue) */
+	public void drainEvents () {
+		EventQueue eventQueue = this.eventQueue;
+		if (eventQueue == null) return;
+		while (eventQueue.next()) {
+			deliver(eventQueue.getType(), eventQueue.getTrackIndex(), eventQueue.getLoopCount(), eventQueue.getEvent(),
+				eventQueue.getTrackListener());
+		}
 	}
 
 	/** @see #setAnimation(int, Animation, boolean) */
@@ -191,9 +326,16 @@ public class AnimationState {
 		return setAnimation(trackIndex, animation, loop);
 	}
 
-	/** Set the current animation. Any queued animations are cleared. */
+	/** Set the current animation. Any queued animations are cleared.
+	 * @return The entry is reused after its end event, so it should not be referenced after that. */
 	public TrackEntry setAnimation (int trackIndex, Animation animation, boolean loop) {
-		TrackEntry entry = new TrackEntry();
+		TrackEntry current = expandToIndex(trackIndex);
+		if (current != null) {
+			freeAll(current.next);
+			current.next = null;
+		}
+
+		TrackEntry entry = obtain();
 		entry.animation = animation;
 		entry.loop = loop;
 		entry.endTime = animation.getDuration();
@@ -209,9 +351,10 @@ public class AnimationState {
 	}
 
 	/** Adds an animation to be played delay seconds after the current or last queued animation.
-	 * @param delay May be <= 0 to use duration of previous animation minus any mix duration plus the negative delay. */
+	 * @param delay May be <= 0 to use duration of previous animation minus any mix duration plus the negative delay.
+	 * @return The entry is reused after its end event, so it should not be referenced after that. */
 	public TrackEntry addAnimation (int trackIndex, Animation animation, boolean loop, float delay) {
-		TrackEntry entry = new TrackEntry();
+		TrackEntry entry = obtain();
 		entry.animation = animation;
 		entry.loop = loop;
 		entry.endTime = animation.getDuration();
@@ -241,6 +384,20 @@ public class AnimationState {
 		return tracks.get(trackIndex);
 	}
 
+	/** @return May be null. */
+	public EventQueue getEventQueue () {
+		return eventQueue;
+	}
+
+	/** Sets a queue to record listener notifications in, rather than notifying the listeners while updating and applying. The
+	 * listeners are then notified by {@link #drainEvents()}, which can be called once per frame after applying, or repeatedly by
+	 * another thread if the queue is {@link EventQueue#isConcurrent() concurrent}. In that case only the consumer thread may
+	 * add or remove listeners, and the listeners must not change the animation state.
+	 * @param eventQueue May be null to notify the listeners immediately. */
+	public void setEventQueue (EventQueue eventQueue) {
+		this.eventQueue = eventQueue;
+	}
+
 	/** Adds a listener to receive events for all animations. */
 	public void addListener (AnimationStateListener listener) {
 		if (listener == null) throw new IllegalArgumentException("listener cannot be null.");
@@ -260,6 +417,78 @@ public class AnimationState {
 		this.timeScale = timeScale;
 	}
 
+	public float getFixedStep () {
+		return fixedStep;
+	}
+
+	/** Sets the time the tracks are advanced by at a time, eg 1 / 30f. {@link #update(float)} then accumulates the delta time
+	 * and only steps the tracks once per fixed step, and {@link #apply(Skeleton)} only poses the skeleton after a step. The
+	 * world transforms of the last two steps are kept, so {@link #interpolate(Skeleton, float)} can compute the world transforms
+	 * between them for each rendered frame. Only one skeleton should be applied, and
+	 * {@link Skeleton#updateWorldTransform()} doesn't need to be called.
+	 * @param fixedStep May be 0 to advance the tracks by the full delta time of each update (the default). */
+	public void setFixedStep (float fixedStep) {
+		if (fixedStep < 0) throw new IllegalArgumentException("fixedStep must be >= 0.");
+		this.fixedStep = fixedStep;
+		stepTime = 0;
+		stepPending = true;
+	}
+
+	public int getMaxSteps () {
+		return maxSteps;
+	}
+
+	/** Sets the most steps taken by one {@link #update(float)}. If more time has accumulated, eg after a long hitch, the rest is
+	 * dropped so updates don't fall further and further behind. Default is 5. */
+	public void setMaxSteps (int maxSteps) {
+		if (maxSteps < 1) throw new IllegalArgumentException("maxSteps must be >= 1.");
+		this.maxSteps = maxSteps;
+	}
+
+	/** Returns how far the accumulated time is between the last step and the next, from 0 to 1, for
+	 * {@link #interpolate(Skeleton, float)}. Returns 1 if there is no fixed step. */
+	public float getStepAlpha () {
+		return fixedStep > 0 ? stepTime / fixedStep : 1;
+	}
+
+	/** Sets the skeleton's world transforms between those of the last two steps. Slot colors, attachments and FFD vertices are
+	 * not interpolated. The transform values are interpolated linearly, which is accurate when bones move little between steps.
+	 * Rotations are interpolated the shortest way around.
+	 * @param alpha 0 for the pose of the step before the last, 1 for the pose of the last step.
+	 * @see #getStepAlpha() */
+	public void interpolate (Skeleton skeleton, float alpha) {
+		if (skeleton == null) throw new IllegalArgumentException("skeleton cannot be null.");
+		if (skeleton != stepSkeleton) throw new IllegalArgumentException("skeleton has not been applied with a fixed step.");
+		float[] world = skeleton.world, previousWorld = this.previousWorld, currentWorld = this.currentWorld;
+		for (int i = 0, n = world.length; i < n; i++) {
+			float previous = previousWorld[i];
+			world[i] = previous + (currentWorld[i] - previous) * alpha;
+		}
+		for (int i = Bone.WORLD_ROTATION, n = world.length; i < n; i += Bone.WORLD_STRIDE) {
+			float previous = previousWorld[i];
+			float amount = currentWorld[i] - previous;
+			while (amount > 180)
+				amount -= 360;
+			while (amount < -180)
+				amount += 360;
+			world[i] = previous + amount * alpha;
+		}
+	}
+
+	public boolean getFreezePrevious () {
+		return freezePrevious;
+	}
+
+	/** When true, an animation being mixed out is applied once, when the mix starts, and the values it set are restored each
+	 * frame after that instead of applying it again. The outgoing animation then holds its pose rather than continuing to play,
+	 * but a mix costs about the same as applying only the new animation. The captured values are kept per track entry and are
+	 * only valid for one skeleton, so this should only be used when the animation state is applied to a single skeleton.
+	 * Animations that have timelines of types not in this runtime, and subclasses of {@link Animation} such as
+	 * {@link BakedAnimation}, are applied every frame. */
+	public void setFreezePrevious (boolean freezePrevious) {
+		this.freezePrevious = freezePrevious;
+	}
+
 	public AnimationStateData getData () {
 		return data;
 	}
@@ -290,15 +519,54 @@ public class AnimationState {
 		float mixTime, mixDuration;
 		AnimationStateListener listener;
 		float mix = 1;
+		TrackMask mask;
+		FrozenPose frozenPose; // Kept when the entry is reused.
+		int[] cursors; // The keyframe last found by each timeline.
+		Animation cursorsAnimation; // The animation the cursors were found for.
 
+		/** Restores the values of a new entry. */
 		public void reset () {
 			next = null;
 			previous = null;
 			animation = null;
 			listener = null;
-			timeScale = 1;
-			lastTime = -1;
+			mask = null;
+			loop = false;
+			delay = 0;
 			time = 0;
+			lastTime = 0;
+			endTime = 0;
+			timeScale = 1;
+			mixTime = 0;
+			mixDuration = 0;
+			mix = 1;
+			if (frozenPose != null) frozenPose.clear();
+		}
+
+		/** Returns the keyframe cursors for the animation's timelines. The array is kept when the entry is reused, but it is zeroed
+		 * when the animation changes because a cursor is only valid for the timeline that stored it. */
+		int[] cursors () {
+			int timelineCount = animation.getTimelines().size();
+			if (cursors == null || cursors.length < timelineCount)
+				cursors = new int[timelineCount];
+			else if (cursorsAnimation != animation)
+				Arrays.fill(cursors, 0);
+			cursorsAnimation = animation;
+			return cursors;
+		}
+
+		/** Restores the pose captured by {@link #freezePose(Skeleton, float)}.
+		 * @return False if no pose was captured for the skeleton. */
+		boolean restorePose (Skeleton skeleton) {
+			return frozenPose != null && frozenPose.restore(skeleton);
+		}
+
+		/** Captures the values this entry's animation set when it was just applied to the skeleton at the time. */
+		void freezePose (Skeleton skeleton, float time) {
+			if (frozenPose == null)
+				frozenPose = new FrozenPose();
+			else if (frozenPose.unsupported) return;
+			frozenPose.capture(skeleton, animation, mask, time);
 		}
 
 		public Animation getAnimation () {
@@ -373,6 +641,18 @@ public class AnimationState {
 			this.timeScale = timeScale;
 		}
 
+		/** @return May be null. */
+		public TrackMask getMask () {
+			return mask;
+		}
+
+		/** Limits the bones and slots this entry's animation poses. The mask stays with the entry, so while mixing out the
+		 * previous animation is also limited by its own mask.
+		 * @param mask May be null to pose all bones and slots. */
+		public void setMask (TrackMask mask) {
+			this.mask = mask;
+		}
+
 		public TrackEntry getNext () {
 			return next;
 		}
@@ -30,13 +30,16 @@
 
 package com.esotericsoftware.spine;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 
 /** Stores mixing times between animations. */
 public class AnimationStateData {
 	private final SkeletonData skeletonData;
-	final HashMap<Key, Float> animationToMixTime = new HashMap<Key, Float>();
-	final Key tempKey = new Key();
+	// Indexed by from then to, NaN if not set. The field is read once, so each row's length is the bound for that row.
+	private float[][] mixes = new float[0][];
+	final HashMap<Key, Float> animationToMixTime = new HashMap<Key, Float>(); // For animations not in the skeleton data.
 	float defaultMix;
 
 	public AnimationStateData (SkeletonData skeletonData) {
@@ -58,20 +61,60 @@ public class AnimationStateData {
 	public void setMix (Animation from, Animation to, float duration) {
 		if (from == null) throw new IllegalArgumentException("from cannot be null.");
 		if (to == null) throw new IllegalArgumentException("to cannot be null.");
-		Key key = new Key();
-		key.a1 = from;
-		key.a2 = to;
-		animationToMixTime.put(key, duration);
+		int fromIndex = indexOf(from), toIndex = indexOf(to);
+		if (fromIndex == -1 || toIndex == -1) {
+			Key key = new Key();
+			key.a1 = from;
+			key.a2 = to;
+			animationToMixTime.put(key, duration);
+			return;
+		}
+		float[][] mixes = this.mixes;
+		int size = Math.max(fromIndex, toIndex) + 1;
+		if (size > mixes.length) {
+			size = Math.max(size, skeletonData.animations.size());
+			float[][] newMixes = new float[size][];
+			for (int i = 0; i < size; i++) {
+				float[] row = new float[size];
+				Arrays.fill(row, Float.NaN);
+				if (i < mixes.length) System.arraycopy(mixes[i], 0, row, 0, mixes.length);
+				newMixes[i] = row;
+			}
+			mixes = newMixes;
+			this.mixes = newMixes;
+		}
+		mixes[fromIndex][toIndex] = duration;
 	}
 
+	/** Returns the mix duration set for the animations, else the default mix. Safe to call from multiple threads as long as no mix
+	 * times are being set. Allocates nothing for animations in the skeleton data. */
 	public float getMix (Animation from, Animation to) {
-		tempKey.a1 = from;
-		tempKey.a2 = to;
-		if (animationToMixTime.containsKey(tempKey)) {
-			return animationToMixTime.get(tempKey);
-		} else {
+		int fromIndex = indexOf(from), toIndex = indexOf(to);
+		if (fromIndex != -1 && toIndex != -1) {
+			float[][] mixes = this.mixes;
+			if (fromIndex < mixes.length) {
+				float[] row = mixes[fromIndex];
+				if (toIndex < row.length) {
+					float duration = row[toIndex];
+					if (duration == duration) return duration; // Not NaN.
+				}
+			}
 			return defaultMix;
 		}
+		if (animationToMixTime.isEmpty()) return defaultMix;
+		Key key = new Key();
+		key.a1 = from;
+		key.a2 = to;
+		Float duration = animationToMixTime.get(key);
+		return duration == null ? defaultMix : duration;
+	}
+
+	/** Returns the animation's index in the skeleton data, or -1 if the skeleton data doesn't have the animation. */
+	private int indexOf (Animation animation) {
+		int index = animation.index;
+		ArrayList<Animation> animations = skeletonData.animations;
+		if (index < 0 || index >= animations.size() || animations.get(index) != animation) return -1;
+		return index;
 	}
 
 	public float getDefaultMix () {
@@ -37,7 +37,7 @@ import java.io.InputStreamReader;
 import java.util.ArrayList;
 
 public class Atlas {
-	static final String[] tuple = new String[4];
+	final String[] tuple = new String[4]; // Per instance, so atlases can be loaded on multiple threads.
 
 	ArrayList<AtlasPage> pages = new ArrayList<AtlasPage>();
 	ArrayList<AtlasRegion> regions = new ArrayList<AtlasRegion>();
@@ -167,7 +167,7 @@ public class Atlas {
 	}
 
 	/** Returns the number of tuple values read (1, 2 or 4). */
-	static int readTuple(BufferedReader reader) throws IOException {
+	int readTuple(BufferedReader reader) throws IOException {
 		String line = reader.readLine();
 		int colon = line.indexOf(':');
 		if (colon == -1)
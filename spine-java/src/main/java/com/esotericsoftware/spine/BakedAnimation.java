@@ -0,0 +1,299 @@
+/******************************************************************************
+ * Spine Runtimes Software License
+ * Version 2.1
+ * 
+ * Copyright (c) 2013, Esoteric Software
+ * All rights reserved.
+ * 
+ * You are granted a perpetual, non-exclusive, non-sublicensable and
+ * non-transferable license to install, execute and perform the Spine Runtimes
+ * Software (the "Software") solely for internal use. Without the written
+ * permission of Esoteric Software (typically granted by licensing Spine), you
+ * may not (a) modify, translate, adapt or otherwise create derivative works,
+ * improvements of the Software or develop new applications using the Software
+ * or (b) remove, delete, alter or obscure any trademarks or any copyright,
+ * trademark, patent or other intellectual property or proprietary rights
+ * notices on or in the Software, including any copy thereof. Redistributions
+ * in binary or source form must include this license and terms.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY ESOTERIC SOFTWARE "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO
+ * EVENT SHALL ESOTERIC SOFTARE BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+ * OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *****************************************************************************/
+package com.esotericsoftware.spine;
+
+import java.util.ArrayList;
+
+/** An animation whose bone transforms, slot colors, attachments and draw order were sampled by an {@link AnimationBaker}.
+ * Applying it interpolates linearly between the two nearest samples instead of evaluating the keyframes and their curves.
+ * Event and FFD timelines are kept and applied as usual.
+ * <p>
+ * Before the first key of a timeline, the setup pose is baked for the bone or slot color the timeline keys. */
+public class BakedAnimation extends Animation {
+	/** The space in which bone transforms are baked. */
+	static public enum Space {
+		/** Local transforms are baked for the bones the animation keys. The baked animation can be mixed like any other, and
+		 * {@link Skeleton#updateWorldTransform()} must be called after it is applied. */
+		local,
+		/** World transforms are baked for all bones. Applying the animation writes the skeleton's
+		 * {@link Skeleton#getWorldTransforms() world transforms} directly, and the next {@link Skeleton#updateWorldTransform()}
+		 * keeps them instead of computing them from the local transforms. The world transforms are
+		 * {@link Skeleton#invalidateWorldTransform() invalidated}, so they are fully recomputed when switching back to other
+		 * animations. Flipping is applied at playback. Positions are interpolated along a
+		 * straight line, so bones far from a fast rotating parent are less accurate than in local space. */
+		world
+	}
+
+	static final int ROTATE = 1, TRANSLATE = 2, SCALE = 4;
+
+	final SkeletonData data;
+	final Space space;
+	final int frameCount;
+	final float frameRate;
+
+	final int[] bones, boneChannels;
+	final float[] boneFrames; // Per frame, per bone: local or world transform.
+	final int[] colorSlots;
+	final float[] colorFrames; // Per frame, per slot: r, g, b, a.
+	final int[] attachmentSlots;
+	final int[] attachmentFrames; // Per frame, per slot: index in attachmentNames, -1 for none, -2 before the first key.
+	final String[] attachmentNames;
+	final int[] drawOrderFrames; // Per frame: index in drawOrders, -1 before the first key.
+	final int[][] drawOrders;
+
+	BakedAnimation (Animation animation, ArrayList<Timeline> timelines, SkeletonData data, Space space, int frameCount,
+		float frameRate, int[] bones, int[] boneChannels, float[] boneFrames, int[] colorSlots, float[] colorFrames,
+		int[] attachmentSlots, int[] attachmentFrames, String[] attachmentNames, int[] drawOrderFrames, int[][] drawOrders) {
+		super(animation.name, timelines, animation.getDuration());
+		this.data = data;
+		this.space = space;
+		this.frameCount = frameCount;
+		this.frameRate = frameRate;
+		this.bones = bones;
+		this.boneChannels = boneChannels;
+		this.boneFrames = boneFrames;
+		this.colorSlots = colorSlots;
+		this.colorFrames = colorFrames;
+		this.attachmentSlots = attachmentSlots;
+		this.attachmentFrames = attachmentFrames;
+		this.attachmentNames = attachmentNames;
+		this.drawOrderFrames = drawOrderFrames;
+		this.drawOrders = drawOrders;
+	}
+
+	/** @param mask May be null. Only an animation baked in {@link Space#local local} space can be masked. */
+	public void mix (Skeleton skeleton, float lastTime, float time, boolean loop, ArrayList<Event> events, float alpha,
+		int[] cursors, TrackMask mask) {
+		if (skeleton == null) throw new IllegalArgumentException("skeleton cannot be null.");
+		if (skeleton.data != data) throw new IllegalArgumentException("skeleton must use the baked skeleton data.");
+		if (mask != null && space == Space.world)
+			throw new IllegalArgumentException("An animation baked in world space cannot be masked.");
+
+		float duration = getDuration();
+		if (loop && duration != 0) {
+			lastTime %= duration;
+			time %= duration;
+		}
+
+		float position = time * frameRate;
+		int frame;
+		float percent;
+		if (position <= 0) {
+			frame = 0;
+			percent = 0;
+		} else if (position >= frameCount - 1) {
+			frame = frameCount - 2;
+			percent = 1;
+		} else {
+			frame = (int)position;
+			percent = position - frame;
+		}
+
+		if (space == Space.local)
+			applyLocal(skeleton, frame, percent, alpha, mask);
+		else
+			applyWorld(skeleton, frame, percent, alpha);
+		applySlots(skeleton, frame, percent, alpha, mask);
+
+		ArrayList<Timeline> timelines = getTimelines();
+		for (int i = 0, n = timelines.size(); i < n; i++) {
+			Timeline timeline = timelines.get(i);
+			if (mask != null && !mask.includes(timeline)) continue;
+			if (cursors != null && CursorTimeline.isBuiltIn(timeline))
+				((CursorTimeline)timeline).apply(skeleton, lastTime, time, events, alpha, cursors, i);
+			else
+				timeline.apply(skeleton, lastTime, time, events, alpha);
+		}
+	}
+
+	private void applyLocal (Skeleton skeleton, int frame, float percent, float alpha, TrackMask mask) {
+		float[] local = skeleton.local, boneFrames = this.boneFrames;
+		int[] bones = this.bones, boneChannels = this.boneChannels;
+		int stride = bones.length * Bone.LOCAL_STRIDE;
+		for (int i = 0, b0 = frame * stride, n = bones.length; i < n; i++, b0 += Bone.LOCAL_STRIDE) {
+			if (mask != null && !mask.bones[bones[i]]) continue;
+			int b1 = b0 + stride, l = bones[i] * Bone.LOCAL_STRIDE, channels = boneChannels[i];
+			if ((channels & ROTATE) != 0) {
+				float r0 = boneFrames[b0 + Bone.ROTATION];
+				float amount = wrap(r0 + wrap(boneFrames[b1 + Bone.ROTATION] - r0) * percent - local[l + Bone.ROTATION]);
+				local[l + Bone.ROTATION] += amount * alpha;
+			}
+			if ((channels & TRANSLATE) != 0) {
+				local[l + Bone.X] += (lerp(boneFrames, b0 + Bone.X, b1 + Bone.X, percent) - local[l + Bone.X]) * alpha;
+				local[l + Bone.Y] += (lerp(boneFrames, b0 + Bone.Y, b1 + Bone.Y, percent) - local[l + Bone.Y]) * alpha;
+			}
+			if ((channels & SCALE) != 0) {
+				local[l + Bone.SCALE_X] += (lerp(boneFrames, b0 + Bone.SCALE_X, b1 + Bone.SCALE_X, percent) - local[l + Bone.SCALE_X])
+					* alpha;
+				local[l + Bone.SCALE_Y] += (lerp(boneFrames, b0 + Bone.SCALE_Y, b1 + Bone.SCALE_Y, percent) - local[l + Bone.SCALE_Y])
+					* alpha;
+			}
+		}
+	}
+
+	private void applyWorld (Skeleton skeleton, int frame, float percent, float alpha) {
+		skeleton.invalidateWorldTransform();
+		skeleton.worldPosed = true;
+		float[] world = skeleton.world, boneFrames = this.boneFrames;
+		int stride = world.length;
+		float flipX = skeleton.flipX ? -1 : 1, flipY = skeleton.flipY ? -1 : 1;
+		for (int w = 0, b0 = frame * stride, b1 = b0 + stride; w < stride; w += Bone.WORLD_STRIDE, b0 += Bone.WORLD_STRIDE,
+			b1 += Bone.WORLD_STRIDE) {
+			float m00 = lerp(boneFrames, b0 + Bone.M00, b1 + Bone.M00, percent) * flipX;
+			float m01 = lerp(boneFrames, b0 + Bone.M01, b1 + Bone.M01, percent) * flipX;
+			float worldX = lerp(boneFrames, b0 + Bone.WORLD_X, b1 + Bone.WORLD_X, percent) * flipX;
+			float m10 = lerp(boneFrames, b0 + Bone.M10, b1 + Bone.M10, percent) * flipY;
+			float m11 = lerp(boneFrames, b0 + Bone.M11, b1 + Bone.M11, percent) * flipY;
+			float worldY = lerp(boneFrames, b0 + Bone.WORLD_Y, b1 + Bone.WORLD_Y, percent) * flipY;
+			float r0 = boneFrames[b0 + Bone.WORLD_ROTATION];
+			float rotation = r0 + wrap(boneFrames[b1 + Bone.WORLD_ROTATION] - r0) * percent;
+			float scaleX = lerp(boneFrames, b0 + Bone.WORLD_SCALE_X, b1 + Bone.WORLD_SCALE_X, percent);
+			float scaleY = lerp(boneFrames, b0 + Bone.WORLD_SCALE_Y, b1 + Bone.WORLD_SCALE_Y, percent);
+			if (alpha < 1) {
+				world[w + Bone.M00] += (m00 - world[w + Bone.M00]) * alpha;
+				world[w + Bone.M01] += (m01 - world[w + Bone.M01]) * alpha;
+				world[w + Bone.WORLD_X] += (worldX - world[w + Bone.WORLD_X]) * alpha;
+				world[w + Bone.M10] += (m10 - world[w + Bone.M10]) * alpha;
+				world[w + Bone.M11] += (m11 - world[w + Bone.M11]) * alpha;
+				world[w + Bone.WORLD_Y] += (worldY - world[w + Bone.WORLD_Y]) * alpha;
+				world[w + Bone.WORLD_ROTATION] += wrap(rotation - world[w + Bone.WORLD_ROTATION]) * alpha;
+				world[w + Bone.WORLD_SCALE_X] += (scaleX - world[w + Bone.WORLD_SCALE_X]) * alpha;
+				world[w + Bone.WORLD_SCALE_Y] += (scaleY - world[w + Bone.WORLD_SCALE_Y]) * alpha;
+			} else {
+				world[w + Bone.M00] = m00;
+				world[w + Bone.M01] = m01;
+				world[w + Bone.WORLD_X] = worldX;
+				world[w + Bone.M10] = m10;
+				world[w + Bone.M11] = m11;
+				world[w + Bone.WORLD_Y] = worldY;
+				world[w + Bone.WORLD_ROTATION] = rotation;
+				world[w + Bone.WORLD_SCALE_X] = scaleX;
+				world[w + Bone.WORLD_SCALE_Y] = scaleY;
+			}
+		}
+	}
+
+	private void applySlots (Skeleton skeleton, int frame, float percent, float alpha, TrackMask mask) {
+		ArrayList<Slot> slots = skeleton.slots;
+
+		int[] colorSlots = this.colorSlots;
+		float[] colorFrames = this.colorFrames;
+		int stride = colorSlots.length * 4;
+		for (int i = 0, c0 = frame * stride, n = colorSlots.length; i < n; i++, c0 += 4) {
+			if (mask != null && !mask.slots[colorSlots[i]]) continue;
+			int c1 = c0 + stride;
+			Slot slot = slots.get(colorSlots[i]);
+			float r = lerp(colorFrames, c0, c1, percent);
+			float g = lerp(colorFrames, c0 + 1, c1 + 1, percent);
+			float b = lerp(colorFrames, c0 + 2, c1 + 2, percent);
+			float a = lerp(colorFrames, c0 + 3, c1 + 3, percent);
+			if (alpha < 1) {
+				slot.r += (r - slot.r) * alpha;
+				slot.r = (slot.r < 0f ? 0f : slot.r > 1f ? 1f : slot.r);
+				slot.g += (g - slot.g) * alpha;
+				slot.g = (slot.g < 0f ? 0f : slot.g > 1f ? 1f : slot.g);
+				slot.b += (b - slot.b) * alpha;
+				slot.b = (slot.b < 0f ? 0f : slot.b > 1f ? 1f : slot.b);
+				slot.a += (a - slot.a) * alpha;
+				slot.a = (slot.a < 0f ? 0f : slot.a > 1f ? 1f : slot.a);
+			} else {
+				slot.r = r;
+				slot.g = g;
+				slot.b = b;
+				slot.a = a;
+			}
+		}
+
+		// Attachments and draw order are stepped, so the sample at or before the time is used.
+		if (percent == 1) frame++;
+
+		int[] attachmentSlots = this.attachmentSlots;
+		for (int i = 0, a = frame * attachmentSlots.length, n = attachmentSlots.length; i < n; i++, a++) {
+			int name = attachmentFrames[a];
+			if (name == -2) continue;
+			int slotIndex = attachmentSlots[i];
+			if (mask != null && !mask.slots[slotIndex]) continue;
+			slots.get(slotIndex).setAttachment(name == -1 ? null : skeleton.getAttachment(slotIndex, attachmentNames[name]));
+		}
+
+		if (drawOrderFrames != null) {
+			int drawOrderIndex = drawOrderFrames[frame];
+			if (drawOrderIndex != -1) {
+				ArrayList<Slot> drawOrder = skeleton.drawOrder;
+				int[] drawOrderToSetupIndex = drawOrders[drawOrderIndex];
+				if (drawOrderToSetupIndex == null) {
+					for (int i = 0, n = slots.size(); i < n; i++)
+						drawOrder.set(i, slots.get(i));
+				} else {
+					for (int i = 0, n = drawOrderToSetupIndex.length; i < n; i++)
+						drawOrder.set(i, slots.get(drawOrderToSetupIndex[i]));
+				}
+			}
+		}
+	}
+
+	static private float lerp (float[] values, int from, int to, float percent) {
+		float value = values[from];
+		return value + (values[to] - value) * percent;
+	}
+
+	static private float wrap (float degrees) {
+		while (degrees > 180)
+			degrees -= 360;
+		while (degrees < -180)
+			degrees += 360;
+		return degrees;
+	}
+
+	public SkeletonData getData () {
+		return data;
+	}
+
+	public Space getSpace () {
+		return space;
+	}
+
+	/** Returns the number of samples, evenly spaced from 0 to the duration. */
+	public int getFrameCount () {
+		return frameCount;
+	}
+
+	/** Returns the approximate number of bytes used by the baked samples and their indices. */
+	public int getMemoryUsage () {
+		int bytes = 4 * (bones.length + boneChannels.length + boneFrames.length + colorSlots.length + colorFrames.length
+			+ attachmentSlots.length + attachmentFrames.length);
+		if (drawOrderFrames != null) {
+			bytes += 4 * drawOrderFrames.length;
+			for (int[] drawOrder : drawOrders)
+				if (drawOrder != null) bytes += 4 * drawOrder.length;
+		}
+		return bytes;
+	}
+}
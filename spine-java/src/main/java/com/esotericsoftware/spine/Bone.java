@@ -30,23 +30,35 @@
 
 package com.esotericsoftware.spine;
 
+/** A view of one bone's local and world transforms. The transforms of a skeleton's bones are stored contiguously in its
+ * {@link Skeleton#getLocalTransforms() local} and {@link Skeleton#getWorldTransforms() world} arrays; a bone created outside a
+ * skeleton has its own arrays. */
 public class Bone {
+	/** Offsets of the local transform values for a bone in {@link Skeleton#getLocalTransforms()}. */
+	static public final int X = 0, Y = 1, ROTATION = 2, SCALE_X = 3, SCALE_Y = 4, LOCAL_STRIDE = 5;
+	/** Offsets of the world transform values for a bone in {@link Skeleton#getWorldTransforms()}. */
+	static public final int M00 = 0, M01 = 1, WORLD_X = 2, M10 = 3, M11 = 4, WORLD_Y = 5, WORLD_ROTATION = 6,
+		WORLD_SCALE_X = 7, WORLD_SCALE_Y = 8, WORLD_STRIDE = 9;
+
 	final BoneData data;
 	final Bone parent;
-	float x, y;
-	float rotation;
-	float scaleX, scaleY;
-
-	float m00, m01, worldX; // a b x
-	float m10, m11, worldY; // c d y
-	float worldRotation;
-	float worldScaleX, worldScaleY;
+	final float[] local, world;
+	final int localOffset, worldOffset;
 
 	/** @param parent May be null. */
 	public Bone (BoneData data, Bone parent) {
+		this(data, parent, new float[LOCAL_STRIDE], new float[WORLD_STRIDE], 0);
+	}
+
+	/** Creates a bone whose transforms are stored in the specified arrays at the specified bone index. */
+	Bone (BoneData data, Bone parent, float[] local, float[] world, int index) {
 		if (data == null) throw new IllegalArgumentException("data cannot be null.");
 		this.data = data;
 		this.parent = parent;
+		this.local = local;
+		this.world = world;
+		localOffset = index * LOCAL_STRIDE;
+		worldOffset = index * WORLD_STRIDE;
 		setToSetupPose();
 	}
 
@@ -56,41 +68,66 @@ public class Bone {
 		if (bone == null) throw new IllegalArgumentException("bone cannot be null.");
 		this.parent = parent;
 		data = bone.data;
-		x = bone.x;
-		y = bone.y;
-		rotation = bone.rotation;
-		scaleX = bone.scaleX;
-		scaleY = bone.scaleY;
+		local = new float[LOCAL_STRIDE];
+		world = new float[WORLD_STRIDE];
+		localOffset = 0;
+		worldOffset = 0;
+		System.arraycopy(bone.local, bone.localOffset, local, 0, LOCAL_STRIDE);
+	}
+
+	/** Creates a bone that views the transforms of the specified skeleton, which already hold a copy of the bone's values. */
+	Bone (Bone bone, Bone parent, float[] local, float[] world, int index) {
+		this.parent = parent;
+		data = bone.data;
+		this.local = local;
+		this.world = world;
+		localOffset = index * LOCAL_STRIDE;
+		worldOffset = index * WORLD_STRIDE;
 	}
 
 	/** Computes the world SRT using the parent bone and the local SRT. */
 	public void updateWorldTransform (boolean flipX, boolean flipY) {
 		Bone parent = this.parent;
-		if (parent != null) {
-			worldX = x * parent.m00 + y * parent.m01 + parent.worldX;
-			worldY = x * parent.m10 + y * parent.m11 + parent.worldY;
+		if (parent != null)
+			updateWorldTransform(data, local, localOffset, world, worldOffset, parent.world, parent.worldOffset, flipX, flipY);
+		else
+			updateWorldTransform(data, local, localOffset, world, worldOffset, null, 0, flipX, flipY);
+	}
+
+	/** Computes the world SRT of one bone from its local SRT and its parent's world SRT.
+	 * @param parentWorld May be null for a root bone. */
+	static void updateWorldTransform (BoneData data, float[] local, int l, float[] world, int w, float[] parentWorld, int p,
+		boolean flipX, boolean flipY) {
+		float x = local[l + X], y = local[l + Y], scaleX = local[l + SCALE_X], scaleY = local[l + SCALE_Y];
+		float worldScaleX, worldScaleY, worldRotation;
+		if (parentWorld != null) {
+			world[w + WORLD_X] = x * parentWorld[p + M00] + y * parentWorld[p + M01] + parentWorld[p + WORLD_X];
+			world[w + WORLD_Y] = x * parentWorld[p + M10] + y * parentWorld[p + M11] + parentWorld[p + WORLD_Y];
 			if (data.inheritScale) {
-				worldScaleX = parent.worldScaleX * scaleX;
-				worldScaleY = parent.worldScaleY * scaleY;
+				worldScaleX = parentWorld[p + WORLD_SCALE_X] * scaleX;
+				worldScaleY = parentWorld[p + WORLD_SCALE_Y] * scaleY;
 			} else {
 				worldScaleX = scaleX;
 				worldScaleY = scaleY;
 			}
-			worldRotation = data.inheritRotation ? parent.worldRotation + rotation : rotation;
+			worldRotation = data.inheritRotation ? parentWorld[p + WORLD_ROTATION] + local[l + ROTATION] : local[l + ROTATION];
 		} else {
-			worldX = flipX ? -x : x;
-			worldY = flipY ? -y : y;
+			world[w + WORLD_X] = flipX ? -x : x;
+			world[w + WORLD_Y] = flipY ? -y : y;
 			worldScaleX = scaleX;
 			worldScaleY = scaleY;
-			worldRotation = rotation;
+			worldRotation = local[l + ROTATION];
 		}
+		world[w + WORLD_ROTATION] = worldRotation;
+		world[w + WORLD_SCALE_X] = worldScaleX;
+		world[w + WORLD_SCALE_Y] = worldScaleY;
 		float radians = worldRotation * (float)Math.PI / 180f;
-		float cos = (float) Math.cos(radians);
-		float sin = (float) Math.sin(radians);
-		m00 = cos * worldScaleX;
-		m10 = sin * worldScaleX;
-		m01 = -sin * worldScaleY;
-		m11 = cos * worldScaleY;
+		float cos = (float)Math.cos(radians);
+		float sin = (float)Math.sin(radians);
+		float m00 = cos * worldScaleX;
+		float m10 = sin * worldScaleX;
+		float m01 = -sin * worldScaleY;
+		float m11 = cos * worldScaleY;
 		if (flipX) {
 			m00 = -m00;
 			m01 = -m01;
@@ -99,15 +136,21 @@ public class Bone {
 			m10 = -m10;
 			m11 = -m11;
 		}
+		world[w + M00] = m00;
+		world[w + M01] = m01;
+		world[w + M10] = m10;
+		world[w + M11] = m11;
 	}
 
 	public void setToSetupPose () {
 		BoneData data = this.data;
-		x = data.x;
-		y = data.y;
-		rotation = data.rotation;
-		scaleX = data.scaleX;
-		scaleY = data.scaleY;
+		float[] local = this.local;
+		int l = localOffset;
+		local[l + X] = data.x;
+		local[l + Y] = data.y;
+		local[l + ROTATION] = data.rotation;
+		local[l + SCALE_X] = data.scaleX;
+		local[l + SCALE_Y] = data.scaleY;
 	}
 
 	public BoneData getData () {
@@ -119,79 +162,79 @@ public class Bone {
 	}
 
 	public float getX () {
-		return x;
+		return local[localOffset + X];
 	}
 
 	public void setX (float x) {
-		this.x = x;
+		local[localOffset + X] = x;
 	}
 
 	public float getY () {
-		return y;
+		return local[localOffset + Y];
 	}
 
 	public void setY (float y) {
-		this.y = y;
+		local[localOffset + Y] = y;
 	}
 
 	public float getRotation () {
-		return rotation;
+		return local[localOffset + ROTATION];
 	}
 
 	public void setRotation (float rotation) {
-		this.rotation = rotation;
+		local[localOffset + ROTATION] = rotation;
 	}
 
 	public float getScaleX () {
-		return scaleX;
+		return local[localOffset + SCALE_X];
 	}
 
 	public void setScaleX (float scaleX) {
-		this.scaleX = scaleX;
+		local[localOffset + SCALE_X] = scaleX;
 	}
 
 	public float getScaleY () {
-		return scaleY;
+		return local[localOffset + SCALE_Y];
 	}
 
 	public void setScaleY (float scaleY) {
-		this.scaleY = scaleY;
+		local[localOffset + SCALE_Y] = scaleY;
 	}
 
 	public float getM00 () {
-		return m00;
+		return world[worldOffset + M00];
 	}
 
 	public float getM01 () {
-		return m01;
+		return world[worldOffset + M01];
 	}
 
 	public float getM10 () {
-		return m10;
+		return world[worldOffset + M10];
 	}
 
 	public float getM11 () {
-		return m11;
+		return world[worldOffset + M11];
 	}
 
 	public float getWorldX () {
-		return worldX;
+		return world[worldOffset + WORLD_X];
 	}
 
 	public float getWorldY () {
-		return worldY;
+		return world[worldOffset + WORLD_Y];
 	}
 
 	public float getWorldRotation () {
-		return worldRotation;
+		return world[worldOffset + WORLD_ROTATION];
 	}
 
 	public float getWorldScaleX () {
-		return worldScaleX;
+		return world[worldOffset + WORLD_SCALE_X];
 	}
 
 	public float getWorldScaleY () {
-		return worldScaleY;
+		return world[worldOffset + WORLD_SCALE_Y];
 	}
 
 	public String toString () {
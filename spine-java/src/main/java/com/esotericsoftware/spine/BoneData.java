@@ -33,6 +33,7 @@ package com.esotericsoftware.spine;
 public class BoneData {
 	final BoneData parent;
 	final String name;
+	int index = -1;
 	float length;
 	float x, y;
 	float rotation;
@@ -72,6 +73,12 @@ public class BoneData {
 		return name;
 	}
 
+	/** Returns the index of this bone in {@link SkeletonData#getBones()}, which is also the index of its bone in
+	 * {@link Skeleton#getBones()} for every skeleton using that skeleton data. -1 if the bone has not been added to a skeleton data. */
+	public int getIndex () {
+		return index;
+	}
+
 	public float getLength () {
 		return length;
 	}
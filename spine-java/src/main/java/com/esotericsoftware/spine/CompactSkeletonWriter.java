@@ -0,0 +1,440 @@
+/******************************************************************************
+ * Spine Runtimes Software License
+ * Version 2.1
+ * 
+ * Copyright (c) 2013, Esoteric Software
+ * All rights reserved.
+ * 
+ * You are granted a perpetual, non-exclusive, non-sublicensable and
+ * non-transferable license to install, execute and perform the Spine Runtimes
+ * Software (the "Software") solely for internal use. Without the written
+ * permission of Esoteric Software (typically granted by licensing Spine), you
+ * may not (a) modify, translate, adapt or otherwise create derivative works,
+ * improvements of the Software or develop new applications using the Software
+ * or (b) remove, delete, alter or obscure any trademarks or any copyright,
+ * trademark, patent or other intellectual property or proprietary rights
+ * notices on or in the Software, including any copy thereof. Redistributions
+ * in binary or source form must include this license and terms.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY ESOTERIC SOFTWARE "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO
+ * EVENT SHALL ESOTERIC SOFTARE BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+ * OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *****************************************************************************/
+
+package com.esotericsoftware.spine;
+
+import static com.esotericsoftware.spine.SkeletonBinary.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+
+import com.esotericsoftware.spine.SkeletonBinary.BufferInput;
+import com.esotericsoftware.spine.attachments.AttachmentType;
+
+/** Converts binary skeleton data to a compact encoding that {@link SkeletonBinary} reads the same way, producing the same kinds
+ * of timelines. The compact encoding differs in that:
+ * <ul>
+ * <li>Strings are stored once, in a table, and referenced by index.
+ * <li>Keyframe times that are whole frames at the {@link #setFrameRate(float) frame rate} are stored as frame numbers.
+ * <li>When {@link #setQuantize(boolean) quantizing}, rotate, translate and scale values are stored as 16 bit steps within the
+ * range of each timeline's values, and bezier curves with control points between 0 and 1 are stored as bytes.
+ * </ul>
+ * Only quantizing loses precision. */
+public class CompactSkeletonWriter {
+	private float frameRate = 30;
+	private boolean quantize = true;
+
+	public float getFrameRate () {
+		return frameRate;
+	}
+
+	/** Sets the frame rate the animations were keyed at, which determines which keyframe times are stored as frame numbers. Times
+	 * that are not whole frames are stored as is. Default is 30. */
+	public void setFrameRate (float frameRate) {
+		if (frameRate <= 0) throw new IllegalArgumentException("frameRate must be > 0.");
+		this.frameRate = frameRate;
+	}
+
+	public boolean getQuantize () {
+		return quantize;
+	}
+
+	/** When true, bone timeline values and bezier curves are stored with less precision. The error of a value is at most
+	 * 1/131070th of the range of its timeline's values. Default is true. */
+	public void setQuantize (boolean quantize) {
+		this.quantize = quantize;
+	}
+
+	/** Converts the binary skeleton data from the buffer's position to its limit. The buffer's position is not changed.
+	 * @param output Not closed. */
+	public void write (ByteBuffer skeleton, OutputStream output) throws IOException {
+		if (skeleton == null) throw new IllegalArgumentException("skeleton cannot be null.");
+		if (output == null) throw new IllegalArgumentException("output cannot be null.");
+		Converter converter = new Converter(new BufferInput(skeleton));
+		try {
+			converter.convert();
+		} catch (BufferUnderflowException ex) {
+			throw new RuntimeException("Error reading skeleton file.", ex);
+		}
+
+		DataOutputStream header = new DataOutputStream(output);
+		header.writeByte(COMPACT | (converter.nonessential ? 1 : 0));
+		header.writeFloat(frameRate);
+		writeInt(header, converter.strings.size(), true);
+		for (String string : converter.strings.keySet())
+			writeString(header, string);
+		converter.body.writeTo(output);
+		output.flush();
+	}
+
+	/** Reads the standard encoding and writes everything after the header to the body, collecting the strings. */
+	private class Converter {
+		final BufferInput input;
+		final ByteArrayOutputStream body = new ByteArrayOutputStream(4096);
+		final DataOutputStream output = new DataOutputStream(body);
+		final LinkedHashMap<String, Integer> strings = new LinkedHashMap<String, Integer>();
+		boolean nonessential;
+
+		Converter (BufferInput input) {
+			this.input = input;
+		}
+
+		void convert () throws IOException {
+			int flags = input.readByte();
+			if ((flags & COMPACT) != 0) throw new IllegalArgumentException("Skeleton data is already compact.");
+			nonessential = (flags & 1) != 0;
+
+			// Bones.
+			for (int i = 0, n = copyInt(true); i < n; i++) {
+				copyString();
+				copyInt(true); // Parent.
+				copyFloats(6); // x, y, scaleX, scaleY, rotation, length.
+				copyBytes(2); // inheritScale, inheritRotation.
+				if (nonessential) copyInt();
+			}
+
+			// Slots.
+			for (int i = 0, n = copyInt(true); i < n; i++) {
+				copyString();
+				copyInt(true); // Bone.
+				copyInt(); // Color.
+				copyString(); // Attachment.
+				copyBytes(1); // additiveBlending.
+			}
+
+			copySkin(); // Default skin.
+			for (int i = 0, n = copyInt(true); i < n; i++) {
+				copyString();
+				copySkin();
+			}
+
+			// Events.
+			for (int i = 0, n = copyInt(true); i < n; i++) {
+				copyString();
+				copyInt(false);
+				copyFloats(1);
+				copyString();
+			}
+
+			// Animations.
+			for (int i = 0, n = copyInt(true); i < n; i++) {
+				copyString();
+				copyAnimation();
+			}
+		}
+
+		private void copySkin () throws IOException {
+			for (int i = 0, n = copyInt(true); i < n; i++) {
+				copyInt(true); // Slot.
+				for (int ii = 0, nn = copyInt(true); ii < nn; ii++) {
+					copyString(); // Placeholder.
+					copyString(); // Attachment name, or null for the placeholder.
+					int type = input.readByte();
+					output.writeByte(type);
+					switch (AttachmentType.values()[type]) {
+					case region:
+						copyString(); // Path.
+						copyFloats(7); // x, y, scaleX, scaleY, rotation, width, height.
+						copyInt(); // Color.
+						break;
+					case boundingbox:
+						copyFloats(copyInt(true));
+						break;
+					case mesh:
+						copyString(); // Path.
+						copyFloats(copyInt(true)); // UVs.
+						copyShorts(copyInt(true)); // Triangles.
+						copyFloats(copyInt(true)); // Vertices.
+						copyMeshEnd();
+						break;
+					case skinnedmesh:
+						copyString(); // Path.
+						copyFloats(copyInt(true)); // UVs.
+						copyShorts(copyInt(true)); // Triangles.
+						// A bone count per vertex, then 4 values per bone. The count written is the number of bone values.
+						for (int v = 0, vn = copyInt(true); v < vn;) {
+							int boneCount = (int)copyFloat();
+							copyFloats(boneCount * 4);
+							v += boneCount * 4;
+						}
+						copyMeshEnd();
+						break;
+					}
+				}
+			}
+		}
+
+		private void copyMeshEnd () throws IOException {
+			copyInt(); // Color.
+			if (nonessential) {
+				for (int i = 0, n = copyInt(true); i < n; i++) // Edges.
+					copyInt(true);
+				copyInt(true); // Hull length.
+				copyFloats(2); // Width, height.
+			}
+		}
+
+		private void copyAnimation () throws IOException {
+			// Slot timelines.
+			for (int i = 0, n = copyInt(true); i < n; i++) {
+				copyInt(true); // Slot.
+				for (int ii = 0, nn = copyInt(true); ii < nn; ii++) {
+					int timelineType = input.readByte();
+					output.writeByte(timelineType);
+					int frameCount = copyInt(true);
+					for (int frameIndex = 0; frameIndex < frameCount; frameIndex++) {
+						copyTime();
+						if (timelineType == TIMELINE_COLOR) {
+							copyInt();
+							if (frameIndex < frameCount - 1) copyCurve();
+						} else
+							copyString();
+					}
+				}
+			}
+
+			// Bone timelines.
+			for (int i = 0, n = copyInt(true); i < n; i++) {
+				copyInt(true); // Bone.
+				for (int ii = 0, nn = copyInt(true); ii < nn; ii++) {
+					int timelineType = input.readByte();
+					output.writeByte(timelineType);
+					copyBoneTimeline(copyInt(true), timelineType == TIMELINE_ROTATE ? 1 : 2);
+				}
+			}
+
+			// FFD timelines.
+			for (int i = 0, n = copyInt(true); i < n; i++) {
+				copyInt(true); // Skin.
+				for (int ii = 0, nn = copyInt(true); ii < nn; ii++) {
+					copyInt(true); // Slot.
+					for (int iii = 0, nnn = copyInt(true); iii < nnn; iii++) {
+						copyString(); // Attachment.
+						int frameCount = copyInt(true);
+						for (int frameIndex = 0; frameIndex < frameCount; frameIndex++) {
+							copyTime();
+							int end = copyInt(true);
+							if (end != 0) {
+								copyInt(true); // Start.
+								copyFloats(end);
+							}
+							if (frameIndex < frameCount - 1) copyCurve();
+						}
+					}
+				}
+			}
+
+			// Draw order timeline.
+			for (int i = 0, n = copyInt(true); i < n; i++) {
+				for (int ii = 0, nn = copyInt(true) * 2; ii < nn; ii++) // Slot and offset pairs.
+					copyInt(true);
+				copyTime();
+			}
+
+			// Event timeline.
+			for (int i = 0, n = copyInt(true); i < n; i++) {
+				copyTime();
+				copyInt(true); // Event.
+				copyInt(false);
+				copyFloats(1);
+				boolean hasString = input.readBoolean();
+				output.writeBoolean(hasString);
+				if (hasString) copyString();
+			}
+		}
+
+		/** Bone timeline values are read first, so they can be quantized within their range. */
+		private void copyBoneTimeline (int frameCount, int valueCount) throws IOException {
+			float[] times = new float[frameCount];
+			float[] values = new float[frameCount * valueCount];
+			byte[] curveTypes = new byte[frameCount];
+			float[] curves = new float[frameCount * 4];
+			float min = Float.POSITIVE_INFINITY, max = Float.NEGATIVE_INFINITY;
+			for (int frameIndex = 0; frameIndex < frameCount; frameIndex++) {
+				times[frameIndex] = input.readFloat();
+				for (int v = frameIndex * valueCount, vn = v + valueCount; v < vn; v++) {
+					float value = input.readFloat();
+					values[v] = value;
+					min = Math.min(min, value);
+					max = Math.max(max, value);
+				}
+				if (frameIndex < frameCount - 1) {
+					curveTypes[frameIndex] = input.readByte();
+					if (curveTypes[frameIndex] == CURVE_BEZIER) {
+						for (int c = frameIndex * 4, cn = c + 4; c < cn; c++)
+							curves[c] = input.readFloat();
+					}
+				}
+			}
+
+			// Quantizing pays off past 4 values, as the range takes 8 bytes.
+			float step = (max - min) / 65535;
+			boolean quantized = quantize && values.length > 4 && !Float.isInfinite(step) && !Float.isNaN(step);
+			output.writeBoolean(quantized);
+			if (quantized) {
+				output.writeFloat(min);
+				output.writeFloat(step);
+			}
+			for (int frameIndex = 0; frameIndex < frameCount; frameIndex++) {
+				writeTime(times[frameIndex]);
+				for (int v = frameIndex * valueCount, vn = v + valueCount; v < vn; v++) {
+					if (quantized)
+						output.writeShort(step == 0 ? 0 : Math.min(Math.round((values[v] - min) / step), 65535));
+					else
+						output.writeFloat(values[v]);
+				}
+				if (frameIndex < frameCount - 1) writeCurve(curveTypes[frameIndex], curves, frameIndex * 4);
+			}
+		}
+
+		private void copyCurve () throws IOException {
+			int type = input.readByte();
+			float[] curve = null;
+			if (type == CURVE_BEZIER) {
+				curve = new float[4];
+				for (int i = 0; i < 4; i++)
+					curve[i] = input.readFloat();
+			}
+			writeCurve(type, curve, 0);
+		}
+
+		private void writeCurve (int type, float[] curves, int offset) throws IOException {
+			if (type != CURVE_BEZIER) {
+				output.writeByte(type);
+				return;
+			}
+			boolean quantized = quantize;
+			for (int i = offset; i < offset + 4 && quantized; i++)
+				quantized = curves[i] >= 0 && curves[i] <= 1;
+			output.writeByte(quantized ? CURVE_BEZIER_QUANTIZED : CURVE_BEZIER);
+			for (int i = offset; i < offset + 4; i++) {
+				if (quantized)
+					output.writeByte(Math.round(curves[i] * 255));
+				else
+					output.writeFloat(curves[i]);
+			}
+		}
+
+		private void copyTime () throws IOException {
+			writeTime(input.readFloat());
+		}
+
+		/** Writes an even frame number if the time is a whole frame, which is decoded exactly as {@link BufferInput#readTime()}
+		 * does, else an odd number followed by the time. */
+		private void writeTime (float time) throws IOException {
+			int frame = Math.round(time * frameRate);
+			if (frame >= 0 && frame < 1 << 24 && frame / frameRate == time)
+				writeInt(output, frame << 1, true);
+			else {
+				writeInt(output, 1, true);
+				output.writeFloat(time);
+			}
+		}
+
+		private void copyString () throws IOException {
+			String string = input.readString();
+			if (string == null) {
+				writeInt(output, 0, true);
+				return;
+			}
+			Integer index = strings.get(string);
+			if (index == null) {
+				index = strings.size();
+				strings.put(string, index);
+			}
+			writeInt(output, index + 1, true);
+		}
+
+		private int copyInt (boolean optimizePositive) throws IOException {
+			int value = input.readInt(optimizePositive);
+			writeInt(output, value, optimizePositive);
+			return value;
+		}
+
+		private void copyInt () throws IOException {
+			output.writeInt(input.readInt());
+		}
+
+		private float copyFloat () throws IOException {
+			float value = input.readFloat();
+			output.writeFloat(value);
+			return value;
+		}
+
+		private void copyFloats (int count) throws IOException {
+			for (int i = 0; i < count; i++)
+				output.writeFloat(input.readFloat());
+		}
+
+		private void copyShorts (int count) throws IOException {
+			for (int i = 0; i < count; i++)
+				output.writeShort(input.readShort());
+		}
+
+		private void copyBytes (int count) throws IOException {
+			for (int i = 0; i < count; i++)
+				output.writeByte(input.readByte());
+		}
+	}
+
+	/** Writes a 1-5 byte int, as read by {@link BufferInput#readInt(boolean)}. */
+	static void writeInt (DataOutputStream output, int value, boolean optimizePositive) throws IOException {
+		if (!optimizePositive) value = (value << 1) ^ (value >> 31);
+		while ((value & ~0x7F) != 0) {
+			output.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		output.writeByte(value);
+	}
+
+	/** Writes the length and string of UTF8 characters, as read by {@link BufferInput#readString()}. */
+	static void writeString (DataOutputStream output, String value) throws IOException {
+		int charCount = value.length();
+		writeInt(output, charCount + 1, true);
+		for (int i = 0; i < charCount; i++) {
+			int c = value.charAt(i);
+			if (c <= 0x007F)
+				output.writeByte(c);
+			else if (c > 0x07FF) {
+				output.writeByte(0xE0 | c >> 12 & 0x0F);
+				output.writeByte(0x80 | c >> 6 & 0x3F);
+				output.writeByte(0x80 | c & 0x3F);
+			} else {
+				output.writeByte(0xC0 | c >> 6 & 0x1F);
+				output.writeByte(0x80 | c & 0x3F);
+			}
+		}
+	}
+}
@@ -0,0 +1,51 @@
+/******************************************************************************
+ * Spine Runtimes Software License
+ * Version 2.1
+ * 
+ * Copyright (c) 2013, Esoteric Software
+ * All rights reserved.
+ * 
+ * You are granted a perpetual, non-exclusive, non-sublicensable and
+ * non-transferable license to install, execute and perform the Spine Runtimes
+ * Software (the "Software") solely for internal use. Without the written
+ * permission of Esoteric Software (typically granted by licensing Spine), you
+ * may not (a) modify, translate, adapt or otherwise create derivative works,
+ * improvements of the Software or develop new applications using the Software
+ * or (b) remove, delete, alter or obscure any trademarks or any copyright,
+ * trademark, patent or other intellectual property or proprietary rights
+ * notices on or in the Software, including any copy thereof. Redistributions
+ * in binary or source form must include this license and terms.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY ESOTERIC SOFTWARE "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO
+ * EVENT SHALL ESOTERIC SOFTARE BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+ * OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *****************************************************************************/
+
+package com.esotericsoftware.spine;
+
+/** How much of a skeleton's pose is evaluated, so skeletons that are small on screen can skip work that isn't visible. Each level
+ * up to {@link #lowest} skips everything the level before it skips.
+ * @see Skeleton#setDetailLevel(DetailLevel) */
+public enum DetailLevel {
+	/** Everything is evaluated. */
+	full,
+	/** FFD and color timelines are not applied. Meshes use their setup vertices and slots keep their current color. */
+	medium,
+	/** Bones that no visible attachment depends on are not posed by timelines and their world transforms are not updated. Bounding
+	 * boxes are not visible, so they may not follow their bones. */
+	low,
+	/** Skinned meshes bind each vertex rigidly to the bone with the highest weight for it, instead of blending all its bones. */
+	lowest,
+	/** Only bones that a bounding box depends on are posed by timelines and have their world transforms updated, and FFD and
+	 * color timelines are not applied. For skeletons that are never rendered, eg on a server that only uses
+	 * {@link SkeletonBounds}.
+	 * @see com.esotericsoftware.spine.attachments.BoundingBoxAttachmentLoader */
+	headless
+}
@@ -32,6 +32,7 @@ package com.esotericsoftware.spine;
 
 public class EventData {
 	final String name;
+	int index = -1; // In SkeletonData#getEvents(), maintained by the skeleton data.
 	int intValue;
 	float floatValue;
 	String stringValue;
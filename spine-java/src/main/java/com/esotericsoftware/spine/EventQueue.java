@@ -0,0 +1,187 @@
+/******************************************************************************
+ * Spine Runtimes Software License
+ * Version 2.1
+ * 
+ * Copyright (c) 2013, Esoteric Software
+ * All rights reserved.
+ * 
+ * You are granted a perpetual, non-exclusive, non-sublicensable and
+ * non-transferable license to install, execute and perform the Spine Runtimes
+ * Software (the "Software") solely for internal use. Without the written
+ * permission of Esoteric Software (typically granted by licensing Spine), you
+ * may not (a) modify, translate, adapt or otherwise create derivative works,
+ * improvements of the Software or develop new applications using the Software
+ * or (b) remove, delete, alter or obscure any trademarks or any copyright,
+ * trademark, patent or other intellectual property or proprietary rights
+ * notices on or in the Software, including any copy thereof. Redistributions
+ * in binary or source form must include this license and terms.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY ESOTERIC SOFTWARE "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO
+ * EVENT SHALL ESOTERIC SOFTARE BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+ * OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *****************************************************************************/
+
+package com.esotericsoftware.spine;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.esotericsoftware.spine.AnimationState.AnimationStateListener;
+
+/** A ring buffer of the listener notifications of an {@link AnimationState}, so they can be delivered in one batch after the
+ * animation state is updated and applied, rather than while it is being evaluated.
+ * <p>
+ * One thread adds notifications and one thread takes them with {@link #next()}, which may be different threads. Adding and
+ * taking don't lock: each side only writes its own position and publishes it after the notification it covers.
+ * @see AnimationState#setEventQueue(EventQueue) */
+public class EventQueue {
+	private final boolean concurrent;
+	private final AtomicInteger head = new AtomicInteger(); // Next notification to take, written only by the consumer.
+	private final AtomicInteger tail = new AtomicInteger(); // Next notification to add, written only by the producer.
+	private int mask;
+	private EventType[] types;
+	private int[] trackIndices, loopCounts;
+	private Event[] events;
+	private AnimationStateListener[] trackListeners;
+
+	private EventType type;
+	private int trackIndex, loopCount;
+	private Event event;
+	private AnimationStateListener trackListener;
+
+	/** Creates a queue that is added to and drained on the same thread, which grows when it is full. */
+	public EventQueue () {
+		this(16, false);
+	}
+
+	/** @param capacity Rounded up to a power of two.
+	 * @param concurrent If true, notifications may be taken on a different thread than the one adding them. When full, adding
+	 *           then waits for the consumer to take a notification, so the consumer must not be the thread adding them. If false,
+	 *           the queue grows when full instead. */
+	public EventQueue (int capacity, boolean concurrent) {
+		if (capacity < 1) throw new IllegalArgumentException("capacity must be > 0.");
+		this.concurrent = concurrent;
+		int size = 1;
+		while (size < capacity)
+			size <<= 1;
+		allocate(size);
+	}
+
+	private void allocate (int capacity) {
+		mask = capacity - 1;
+		types = new EventType[capacity];
+		trackIndices = new int[capacity];
+		loopCounts = new int[capacity];
+		events = new Event[capacity];
+		trackListeners = new AnimationStateListener[capacity];
+	}
+
+	/** Adds a notification. Must only be called by the producer thread.
+	 * @param event May be null.
+	 * @param trackListener The listener of the track entry when the notification occurred. May be null. */
+	public void add (EventType type, int trackIndex, int loopCount, Event event, AnimationStateListener trackListener) {
+		if (type == null) throw new IllegalArgumentException("type cannot be null.");
+		int tail = this.tail.get();
+		while (tail - head.get() > mask) {
+			if (!concurrent) {
+				grow();
+				break;
+			}
+			Thread.yield();
+		}
+		int index = tail & mask;
+		types[index] = type;
+		trackIndices[index] = trackIndex;
+		loopCounts[index] = loopCount;
+		events[index] = event;
+		trackListeners[index] = trackListener;
+		this.tail.lazySet(tail + 1);
+	}
+
+	private void grow () {
+		EventType[] types = this.types;
+		int[] trackIndices = this.trackIndices, loopCounts = this.loopCounts;
+		Event[] events = this.events;
+		AnimationStateListener[] trackListeners = this.trackListeners;
+		int oldMask = mask;
+		allocate(types.length << 1);
+		for (int i = head.get(), n = tail.get(); i != n; i++) {
+			int from = i & oldMask, to = i & mask;
+			this.types[to] = types[from];
+			this.trackIndices[to] = trackIndices[from];
+			this.loopCounts[to] = loopCounts[from];
+			this.events[to] = events[from];
+			this.trackListeners[to] = trackListeners[from];
+		}
+	}
+
+	/** Takes the oldest notification, which is then described by the getters. Must only be called by the consumer thread.
+	 * @return False if the queue is empty. */
+	public boolean next () {
+		int head = this.head.get();
+		if (head == tail.get()) return false;
+		int index = head & mask;
+		type = types[index];
+		trackIndex = trackIndices[index];
+		loopCount = loopCounts[index];
+		event = events[index];
+		trackListener = trackListeners[index];
+		events[index] = null;
+		trackListeners[index] = null;
+		this.head.lazySet(head + 1);
+		return true;
+	}
+
+	/** Returns the number of notifications that have not been taken. */
+	public int size () {
+		return tail.get() - head.get();
+	}
+
+	/** Discards all notifications. Must only be called by the consumer thread. */
+	public void clear () {
+		while (next()) {
+		}
+		event = null;
+		trackListener = null;
+	}
+
+	public boolean isConcurrent () {
+		return concurrent;
+	}
+
+	/** Returns the type of the notification taken by {@link #next()}. */
+	public EventType getType () {
+		return type;
+	}
+
+	public int getTrackIndex () {
+		return trackIndex;
+	}
+
+	/** Returns the loop count of a {@link EventType#complete} notification. */
+	public int getLoopCount () {
+		return loopCount;
+	}
+
+	/** Returns the event of an {@link EventType#event} notification, else null. */
+	public Event getEvent () {
+		return event;
+	}
+
+	/** Returns the listener of the track entry when the notification occurred. The entry may have been reused since then, so its
+	 * listener is stored with the notification. May be null. */
+	public AnimationStateListener getTrackListener () {
+		return trackListener;
+	}
+
+	/** The {@link AnimationStateListener} method a notification is for. */
+	static public enum EventType {
+		start, end, complete, event
+	}
+}
@@ -0,0 +1,233 @@
+/******************************************************************************
+ * Spine Runtimes Software License
+ * Version 2.1
+ * 
+ * Copyright (c) 2013, Esoteric Software
+ * All rights reserved.
+ * 
+ * You are granted a perpetual, non-exclusive, non-sublicensable and
+ * non-transferable license to install, execute and perform the Spine Runtimes
+ * Software (the "Software") solely for internal use. Without the written
+ * permission of Esoteric Software (typically granted by licensing Spine), you
+ * may not (a) modify, translate, adapt or otherwise create derivative works,
+ * improvements of the Software or develop new applications using the Software
+ * or (b) remove, delete, alter or obscure any trademarks or any copyright,
+ * trademark, patent or other intellectual property or proprietary rights
+ * notices on or in the Software, including any copy thereof. Redistributions
+ * in binary or source form must include this license and terms.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY ESOTERIC SOFTWARE "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO
+ * EVENT SHALL ESOTERIC SOFTARE BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+ * OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *****************************************************************************/
+package com.esotericsoftware.spine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import com.esotericsoftware.spine.Animation.AttachmentTimeline;
+import com.esotericsoftware.spine.Animation.ColorTimeline;
+import com.esotericsoftware.spine.Animation.DrawOrderTimeline;
+import com.esotericsoftware.spine.Animation.EventTimeline;
+import com.esotericsoftware.spine.Animation.FfdTimeline;
+import com.esotericsoftware.spine.Animation.RotateTimeline;
+import com.esotericsoftware.spine.Animation.ScaleTimeline;
+import com.esotericsoftware.spine.Animation.Timeline;
+import com.esotericsoftware.spine.Animation.TranslateTimeline;
+import com.esotericsoftware.spine.attachments.Attachment;
+
+/** The values an animation set on a skeleton when it was applied at one time: the bone transform values, slot colors,
+ * attachments, FFD vertices and draw order its timelines key. Restoring them gives the same pose as applying the animation again
+ * at that time, without searching frames or evaluating curves. The arrays are kept when cleared, so capturing again for a similar
+ * animation doesn't allocate.
+ * @see AnimationState#setFreezePrevious(boolean) */
+class FrozenPose {
+	Skeleton skeleton; // Null if nothing has been captured.
+	boolean unsupported; // True if the animation has a timeline whose effect can't be captured.
+
+	int localCount;
+	int[] localOffsets = new int[16]; // Indices in Skeleton#local.
+	float[] localValues = new float[16];
+
+	int colorCount;
+	int[] colorSlots = new int[4];
+	float[] colors = new float[16]; // r, g, b, a, ...
+
+	int attachmentCount;
+	int[] attachmentSlots = new int[4];
+	Attachment[] attachments = new Attachment[4];
+
+	int ffdCount;
+	int[] ffdSlots = new int[4];
+	float[][] ffdVertices = new float[4][];
+	int[] ffdVertexCounts = new int[4];
+
+	boolean drawOrderKeyed;
+	Slot[] drawOrder = new Slot[0];
+
+	/** Captures the values set by the animation's timelines, after it was applied to the skeleton at the time. Timelines that
+	 * had no effect at that time, or that the mask excludes, are not captured.
+	 * @param mask May be null. */
+	void capture (Skeleton skeleton, Animation animation, TrackMask mask, float time) {
+		clear();
+		if (animation.getClass() != Animation.class) { // Eg a BakedAnimation, which doesn't pose through its timelines.
+			unsupported = true;
+			return;
+		}
+		ArrayList<Timeline> timelines = animation.getTimelines();
+		for (int i = 0, n = timelines.size(); i < n; i++) {
+			Timeline timeline = timelines.get(i);
+			if (mask != null && !mask.includes(timeline)) continue;
+			Class<?> type = timeline.getClass();
+			if (type == RotateTimeline.class) {
+				RotateTimeline rotate = (RotateTimeline)timeline;
+				if (time < rotate.getFrames()[0] || !skeleton.activeBones[rotate.boneIndex]) continue;
+				addLocal(skeleton, rotate.boneIndex * Bone.LOCAL_STRIDE + Bone.ROTATION);
+			} else if (type == TranslateTimeline.class || type == ScaleTimeline.class) {
+				TranslateTimeline translate = (TranslateTimeline)timeline;
+				if (time < translate.frames[0] || !skeleton.activeBones[translate.boneIndex]) continue;
+				int offset = translate.boneIndex * Bone.LOCAL_STRIDE + (type == ScaleTimeline.class ? Bone.SCALE_X : Bone.X);
+				addLocal(skeleton, offset);
+				addLocal(skeleton, offset + 1);
+			} else if (type == ColorTimeline.class) {
+				ColorTimeline color = (ColorTimeline)timeline;
+				if (time < color.getFrames()[0] || skeleton.skipColor) continue;
+				addColor(skeleton, color.slotIndex);
+			} else if (type == AttachmentTimeline.class) {
+				AttachmentTimeline attachment = (AttachmentTimeline)timeline;
+				if (time < attachment.getFrames()[0]) continue;
+				addAttachment(skeleton, attachment.slotIndex);
+			} else if (type == FfdTimeline.class) {
+				FfdTimeline ffd = (FfdTimeline)timeline;
+				if (skeleton.skipFfd || skeleton.slots.get(ffd.slotIndex).getAttachment() != ffd.attachment) continue;
+				addFfd(skeleton, ffd.slotIndex);
+			} else if (type == DrawOrderTimeline.class) {
+				if (time < ((DrawOrderTimeline)timeline).getFrames()[0]) continue;
+				drawOrderKeyed = true;
+				drawOrder = skeleton.drawOrder.toArray(drawOrder);
+			} else if (type != EventTimeline.class) {
+				clear();
+				unsupported = true;
+				return;
+			}
+		}
+		this.skeleton = skeleton;
+	}
+
+	private void addLocal (Skeleton skeleton, int offset) {
+		int index = localCount++;
+		if (index == localOffsets.length) {
+			localOffsets = Arrays.copyOf(localOffsets, index << 1);
+			localValues = Arrays.copyOf(localValues, index << 1);
+		}
+		localOffsets[index] = offset;
+		localValues[index] = skeleton.local[offset];
+	}
+
+	private void addColor (Skeleton skeleton, int slotIndex) {
+		int index = colorCount++;
+		if (index == colorSlots.length) {
+			colorSlots = Arrays.copyOf(colorSlots, index << 1);
+			colors = Arrays.copyOf(colors, index << 3);
+		}
+		colorSlots[index] = slotIndex;
+		Slot slot = skeleton.slots.get(slotIndex);
+		int c = index << 2;
+		colors[c] = slot.r;
+		colors[c + 1] = slot.g;
+		colors[c + 2] = slot.b;
+		colors[c + 3] = slot.a;
+	}
+
+	private void addAttachment (Skeleton skeleton, int slotIndex) {
+		int index = attachmentCount++;
+		if (index == attachmentSlots.length) {
+			attachmentSlots = Arrays.copyOf(attachmentSlots, index << 1);
+			attachments = Arrays.copyOf(attachments, index << 1);
+		}
+		attachmentSlots[index] = slotIndex;
+		attachments[index] = skeleton.slots.get(slotIndex).getAttachment();
+	}
+
+	private void addFfd (Skeleton skeleton, int slotIndex) {
+		int index = ffdCount++;
+		if (index == ffdSlots.length) {
+			ffdSlots = Arrays.copyOf(ffdSlots, index << 1);
+			ffdVertexCounts = Arrays.copyOf(ffdVertexCounts, index << 1);
+			ffdVertices = Arrays.copyOf(ffdVertices, index << 1);
+		}
+		Slot slot = skeleton.slots.get(slotIndex);
+		int count = slot.attachmentVerticesCount;
+		float[] vertices = ffdVertices[index];
+		if (vertices == null || vertices.length < count) ffdVertices[index] = vertices = new float[count];
+		System.arraycopy(slot.getAttachmentVertices(), 0, vertices, 0, count);
+		ffdSlots[index] = slotIndex;
+		ffdVertexCounts[index] = count;
+	}
+
+	/** Sets the captured values on the skeleton.
+	 * @return False if nothing was captured for the skeleton. */
+	boolean restore (Skeleton skeleton) {
+		if (skeleton != this.skeleton) return false;
+
+		float[] local = skeleton.local;
+		int[] localOffsets = this.localOffsets;
+		float[] localValues = this.localValues;
+		for (int i = 0, n = localCount; i < n; i++)
+			local[localOffsets[i]] = localValues[i];
+
+		ArrayList<Slot> slots = skeleton.slots;
+		float[] colors = this.colors;
+		for (int i = 0, n = colorCount; i < n; i++) {
+			Slot slot = slots.get(colorSlots[i]);
+			int c = i << 2;
+			slot.r = colors[c];
+			slot.g = colors[c + 1];
+			slot.b = colors[c + 2];
+			slot.a = colors[c + 3];
+		}
+
+		for (int i = 0, n = attachmentCount; i < n; i++)
+			slots.get(attachmentSlots[i]).setAttachment(attachments[i]);
+
+		for (int i = 0, n = ffdCount; i < n; i++) {
+			Slot slot = slots.get(ffdSlots[i]);
+			int count = ffdVertexCounts[i];
+			float[] vertices = slot.getAttachmentVertices();
+			if (vertices.length < count) {
+				vertices = new float[count];
+				slot.setAttachmentVertices(vertices);
+			}
+			System.arraycopy(ffdVertices[i], 0, vertices, 0, count);
+			slot.attachmentVerticesCount = count;
+		}
+
+		if (drawOrderKeyed) {
+			ArrayList<Slot> skeletonDrawOrder = skeleton.drawOrder;
+			Slot[] drawOrder = this.drawOrder;
+			for (int i = 0, n = skeletonDrawOrder.size(); i < n; i++)
+				skeletonDrawOrder.set(i, drawOrder[i]);
+		}
+		return true;
+	}
+
+	void clear () {
+		skeleton = null;
+		unsupported = false;
+		localCount = 0;
+		colorCount = 0;
+		for (int i = 0, n = attachmentCount; i < n; i++)
+			attachments[i] = null;
+		attachmentCount = 0;
+		ffdCount = 0;
+		if (drawOrderKeyed) Arrays.fill(drawOrder, null);
+		drawOrderKeyed = false;
+	}
+}
@@ -0,0 +1,360 @@
+/******************************************************************************
+ * Spine Runtimes Software License
+ * Version 2.1
+ * 
+ * Copyright (c) 2013, Esoteric Software
+ * All rights reserved.
+ * 
+ * You are granted a perpetual, non-exclusive, non-sublicensable and
+ * non-transferable license to install, execute and perform the Spine Runtimes
+ * Software (the "Software") solely for internal use. Without the written
+ * permission of Esoteric Software (typically granted by licensing Spine), you
+ * may not (a) modify, translate, adapt or otherwise create derivative works,
+ * improvements of the Software or develop new applications using the Software
+ * or (b) remove, delete, alter or obscure any trademarks or any copyright,
+ * trademark, patent or other intellectual property or proprietary rights
+ * notices on or in the Software, including any copy thereof. Redistributions
+ * in binary or source form must include this license and terms.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY ESOTERIC SOFTWARE "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO
+ * EVENT SHALL ESOTERIC SOFTARE BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+ * OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *****************************************************************************/
+package com.esotericsoftware.spine;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/** Reads JSON one token at a time, so values can be converted to the types they are needed as without first building a tree of
+ * maps, lists and boxed numbers. Numbers are parsed without creating a string unless they have too many digits to be parsed
+ * exactly. Commas are not required between values. */
+class JsonPullParser {
+	static private final double[] POW10 = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15,
+		1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+	private final Reader reader;
+	private final char[] buffer = new char[8192];
+	private int position, limit;
+	private char[] chars = new char[64];
+	private float[] floats = new float[64];
+	private int[] ints = new int[64];
+	private int line = 1;
+
+	public JsonPullParser (Reader reader) {
+		if (reader == null) throw new IllegalArgumentException("reader cannot be null.");
+		this.reader = reader;
+	}
+
+	/** Returns the first character of the next value without consuming it: '{', '[', '"', a digit, '-', 't', 'f' or 'n'. Returns
+	 * '}' or ']' at the end of an object or array, and -1 at the end of the input. */
+	public int peek () throws IOException {
+		while (true) {
+			if (position == limit && !fill()) return -1;
+			char c = buffer[position];
+			if (c == '\n') line++;
+			switch (c) {
+			case '\n':
+			case ' ':
+			case '\t':
+			case '\r':
+			case ',':
+				position++;
+				continue;
+			}
+			return c;
+		}
+	}
+
+	/** Returns true if the current object or array has another value. */
+	public boolean hasNext () throws IOException {
+		int c = peek();
+		return c != '}' && c != ']' && c != -1;
+	}
+
+	public void beginObject () throws IOException {
+		expect('{');
+	}
+
+	public void endObject () throws IOException {
+		expect('}');
+	}
+
+	public void beginArray () throws IOException {
+		expect('[');
+	}
+
+	public void endArray () throws IOException {
+		expect(']');
+	}
+
+	/** Reads the name of the next value in the current object. */
+	public String nextName () throws IOException {
+		String name = nextString();
+		if (name == null) throw error("Expected a name");
+		expect(':');
+		return name;
+	}
+
+	/** @return May be null. */
+	public String nextString () throws IOException {
+		int c = peek();
+		if (c == 'n') {
+			literal("null");
+			return null;
+		}
+		if (c != '"') throw error("Expected a string");
+		position++;
+		char[] chars = this.chars;
+		int length = 0;
+		while (true) {
+			if (position == limit && !fill()) throw error("Unterminated string");
+			c = buffer[position++];
+			if (c == '"') break;
+			if (c == '\\') c = escape();
+			if (length == chars.length) {
+				char[] newChars = new char[length * 2];
+				System.arraycopy(chars, 0, newChars, 0, length);
+				this.chars = chars = newChars;
+			}
+			chars[length++] = (char)c;
+		}
+		return new String(chars, 0, length);
+	}
+
+	public boolean nextBoolean () throws IOException {
+		int c = peek();
+		if (c == 't') {
+			literal("true");
+			return true;
+		}
+		if (c == 'f') {
+			literal("false");
+			return false;
+		}
+		throw error("Expected a boolean");
+	}
+
+	public float nextFloat () throws IOException {
+		return (float)nextDouble();
+	}
+
+	public int nextInt () throws IOException {
+		return (int)nextDouble();
+	}
+
+	/** Parses the number to the same value as {@link Double#parseDouble(String)}. */
+	public double nextDouble () throws IOException {
+		int c = peek();
+		if (c != '-' && (c < '0' || c > '9')) throw error("Expected a number");
+		char[] chars = this.chars;
+		int length = 0;
+		while (true) {
+			if (position == limit && !fill()) break;
+			c = buffer[position];
+			if ((c < '0' || c > '9') && c != '-' && c != '+' && c != '.' && c != 'e' && c != 'E') break;
+			if (length == chars.length) {
+				char[] newChars = new char[length * 2];
+				System.arraycopy(chars, 0, newChars, 0, length);
+				this.chars = chars = newChars;
+			}
+			chars[length++] = (char)c;
+			position++;
+		}
+
+		// A mantissa of at most 15 digits and a power of ten of at most 22 are both exact as doubles, so a single multiply or divide
+		// rounds the same as parsing the string.
+		int i = 0;
+		boolean negative = chars[0] == '-';
+		if (negative) i++;
+		long mantissa = 0;
+		int digits = 0, exponent = 0;
+		boolean fraction = false, digit = false;
+		for (; i < length; i++) {
+			c = chars[i];
+			if (c >= '0' && c <= '9') {
+				digit = true;
+				if (mantissa != 0 || c != '0') {
+					if (++digits > 15) return parseDouble(length);
+					mantissa = mantissa * 10 + (c - '0');
+				}
+				if (fraction) exponent--;
+			} else if (c == '.' && !fraction)
+				fraction = true;
+			else if (c == 'e' || c == 'E') {
+				i++;
+				boolean negativeExponent = false;
+				if (i < length && (chars[i] == '-' || chars[i] == '+')) negativeExponent = chars[i++] == '-';
+				if (i == length) throw error("Invalid number: " + new String(chars, 0, length));
+				int value = 0;
+				for (; i < length; i++) {
+					c = chars[i];
+					if (c < '0' || c > '9' || value > 1000) return parseDouble(length);
+					value = value * 10 + (c - '0');
+				}
+				exponent += negativeExponent ? -value : value;
+				break;
+			} else
+				return parseDouble(length);
+		}
+		if (!digit || exponent < -22 || exponent > 22) return parseDouble(length);
+		double value = exponent < 0 ? mantissa / POW10[-exponent] : mantissa * POW10[exponent];
+		return negative ? -value : value;
+	}
+
+	private double parseDouble (int length) throws IOException {
+		String text = new String(chars, 0, length);
+		try {
+			return Double.parseDouble(text);
+		} catch (NumberFormatException ex) {
+			throw error("Invalid number: " + text);
+		}
+	}
+
+	/** Reads an array of numbers.
+	 * @param scale Each number is multiplied by this. */
+	public float[] nextFloatArray (float scale) throws IOException {
+		float[] floats = this.floats;
+		int size = 0;
+		beginArray();
+		while (hasNext()) {
+			if (size == floats.length) {
+				float[] newFloats = new float[size * 2];
+				System.arraycopy(floats, 0, newFloats, 0, size);
+				this.floats = floats = newFloats;
+			}
+			floats[size++] = nextFloat();
+		}
+		endArray();
+		float[] array = new float[size];
+		if (scale == 1)
+			System.arraycopy(floats, 0, array, 0, size);
+		else {
+			for (int i = 0; i < size; i++)
+				array[i] = floats[i] * scale;
+		}
+		return array;
+	}
+
+	public int[] nextIntArray () throws IOException {
+		int size = readInts();
+		int[] array = new int[size];
+		System.arraycopy(ints, 0, array, 0, size);
+		return array;
+	}
+
+	public short[] nextShortArray () throws IOException {
+		int size = readInts();
+		int[] ints = this.ints;
+		short[] array = new short[size];
+		for (int i = 0; i < size; i++)
+			array[i] = (short)ints[i];
+		return array;
+	}
+
+	private int readInts () throws IOException {
+		int[] ints = this.ints;
+		int size = 0;
+		beginArray();
+		while (hasNext()) {
+			if (size == ints.length) {
+				int[] newInts = new int[size * 2];
+				System.arraycopy(ints, 0, newInts, 0, size);
+				this.ints = ints = newInts;
+			}
+			ints[size++] = nextInt();
+		}
+		endArray();
+		return size;
+	}
+
+	/** Skips the next value, including everything in it if it is an object or array. */
+	public void skipValue () throws IOException {
+		int c = peek();
+		switch (c) {
+		case '{':
+			beginObject();
+			while (hasNext()) {
+				nextName();
+				skipValue();
+			}
+			endObject();
+			break;
+		case '[':
+			beginArray();
+			while (hasNext())
+				skipValue();
+			endArray();
+			break;
+		case '"':
+			nextString();
+			break;
+		case 't':
+		case 'f':
+			nextBoolean();
+			break;
+		case 'n':
+			literal("null");
+			break;
+		default:
+			nextDouble();
+		}
+	}
+
+	private void expect (char expected) throws IOException {
+		if (peek() != expected) throw error("Expected '" + expected + "'");
+		position++;
+	}
+
+	private void literal (String literal) throws IOException {
+		for (int i = 0, n = literal.length(); i < n; i++) {
+			if (position == limit && !fill()) throw error("Expected " + literal);
+			if (buffer[position++] != literal.charAt(i)) throw error("Expected " + literal);
+		}
+	}
+
+	private char escape () throws IOException {
+		if (position == limit && !fill()) throw error("Unterminated string");
+		char c = buffer[position++];
+		switch (c) {
+		case 'b':
+			return '\b';
+		case 'f':
+			return '\f';
+		case 'n':
+			return '\n';
+		case 'r':
+			return '\r';
+		case 't':
+			return '\t';
+		case 'u':
+			int value = 0;
+			for (int i = 0; i < 4; i++) {
+				if (position == limit && !fill()) throw error("Unterminated string");
+				int digit = Character.digit(buffer[position++], 16);
+				if (digit == -1) throw error("Invalid unicode escape");
+				value = value << 4 | digit;
+			}
+			return (char)value;
+		}
+		return c; // Quote, backslash or slash.
+	}
+
+	private boolean fill () throws IOException {
+		int count = reader.read(buffer, 0, buffer.length);
+		if (count <= 0) return false;
+		position = 0;
+		limit = count;
+		return true;
+	}
+
+	private IOException error (String message) {
+		return new IOException(message + " on line " + line + ".");
+	}
+}
@@ -31,12 +31,24 @@
 package com.esotericsoftware.spine;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import com.esotericsoftware.spine.attachments.Attachment;
 
 public class Skeleton {
 	final SkeletonData data;
 	final ArrayList<Bone> bones;
+	final float[] local, world;
+	final BoneData[] boneData;
+	final int[] parents;
+	final float[] lastLocal; // The local transforms used by the last updateWorldTransform.
+	final boolean[] changed;
+	boolean worldValid, lastFlipX, lastFlipY;
+	boolean worldPosed; // The world transforms were set by an animation, so the next updateWorldTransform keeps them.
+	DetailLevel detailLevel = DetailLevel.full;
+	boolean[] activeBones; // Bones posed by timelines and updated by updateWorldTransform.
+	private final boolean[] allBones;
+	boolean skipFfd, skipColor;
 	final ArrayList<Slot> slots;
 	ArrayList<Slot> drawOrder;
 	Skin skin;
@@ -48,17 +60,32 @@ public class Skeleton {
 	public Skeleton (SkeletonData data) {
 		if (data == null) throw new IllegalArgumentException("data cannot be null.");
 		this.data = data;
-
-		bones = new ArrayList<Bone>(data.bones.size());
-		for (BoneData boneData : data.bones) {
-			Bone parent = boneData.parent == null ? null : bones.get(data.bones.indexOf(boneData.parent));
-			bones.add(new Bone(boneData, parent));
+		data.index();
+
+		int boneCount = data.bones.size();
+		bones = new ArrayList<Bone>(boneCount);
+		local = new float[boneCount * Bone.LOCAL_STRIDE];
+		world = new float[boneCount * Bone.WORLD_STRIDE];
+		boneData = new BoneData[boneCount];
+		parents = new int[boneCount];
+		lastLocal = new float[local.length];
+		changed = new boolean[boneCount];
+		allBones = new boolean[boneCount];
+		Arrays.fill(allBones, true);
+		activeBones = allBones;
+		for (int i = 0; i < boneCount; i++) {
+			BoneData boneData = data.bones.get(i);
+			int parentIndex = boneData.parent == null ? -1 : boneData.parent.index;
+			Bone parent = parentIndex == -1 ? null : bones.get(parentIndex);
+			bones.add(new Bone(boneData, parent, local, world, i));
+			this.boneData[i] = boneData;
+			parents[i] = parentIndex;
 		}
 
 		slots = new ArrayList<Slot>(data.slots.size());
 		drawOrder = new ArrayList<Slot>(data.slots.size());
 		for (SlotData slotData : data.slots) {
-			Bone bone = bones.get(data.bones.indexOf(slotData.boneData));
+			Bone bone = bones.get(slotData.boneData.index);
 			Slot slot = new Slot(slotData, this, bone);
 			slots.add(slot);
 			drawOrder.add(slot);
@@ -75,22 +102,35 @@ public class Skeleton {
 		if (skeleton == null) throw new IllegalArgumentException("skeleton cannot be null.");
 		data = skeleton.data;
 
-		bones = new ArrayList<Bone>(skeleton.bones.size());
-		for (Bone bone : skeleton.bones) {
-			Bone parent = bone.parent == null ? null : bones.get(skeleton.bones.indexOf(bone.parent));
-			bones.add(new Bone(bone, parent));
+		int boneCount = skeleton.bones.size();
+		bones = new ArrayList<Bone>(boneCount);
+		local = skeleton.local.clone();
+		world = skeleton.world.clone();
+		boneData = skeleton.boneData;
+		parents = skeleton.parents;
+		lastLocal = new float[local.length];
+		changed = new boolean[boneCount];
+		allBones = skeleton.allBones;
+		activeBones = skeleton.activeBones;
+		detailLevel = skeleton.detailLevel;
+		skipFfd = skeleton.skipFfd;
+		skipColor = skeleton.skipColor;
+		worldPosed = skeleton.worldPosed;
+		for (int i = 0; i < boneCount; i++) {
+			int parentIndex = parents[i];
+			bones.add(new Bone(skeleton.bones.get(i), parentIndex == -1 ? null : bones.get(parentIndex), local, world, i));
 		}
 
 		slots = new ArrayList<Slot>(skeleton.slots.size());
 		for (Slot slot : skeleton.slots) {
-			Bone bone = bones.get(skeleton.bones.indexOf(slot.bone));
+			Bone bone = bones.get(slot.bone.data.index);
 			Slot newSlot = new Slot(slot, this, bone);
 			slots.add(newSlot);
 		}
 
 		drawOrder = new ArrayList<Slot>(slots.size());
 		for (Slot slot : skeleton.drawOrder)
-			drawOrder.add(slots.get(skeleton.slots.indexOf(slot)));
+			drawOrder.add(slots.get(slot.data.index));
 
 		skin = skeleton.skin;
 		r = skeleton.r;
@@ -100,14 +140,87 @@ public class Skeleton {
 		time = skeleton.time;
 	}
 
-	/** Updates the world transform for each bone. */
+	/** Updates the world transform for each bone whose local transform, or an ancestor's, changed since the last update. Other
+	 * bones keep their world transform, which would be computed the same. If an animation baked in
+	 * {@link BakedAnimation.Space#world world} space was applied since the last update, the world transforms it set are kept.
+	 * @see #invalidateWorldTransform() */
 	public void updateWorldTransform () {
+		if (worldPosed) {
+			worldPosed = false;
+			return;
+		}
 		boolean flipX = this.flipX;
 		boolean flipY = this.flipY;
-		ArrayList<Bone> bones = this.bones;
-		int bsize = bones.size();
-		for (int i = 0, n = bsize; i < n; i++)
-			bones.get(i).updateWorldTransform(flipX, flipY);
+		float[] local = this.local, world = this.world, lastLocal = this.lastLocal;
+		BoneData[] boneData = this.boneData;
+		int[] parents = this.parents;
+		boolean[] changed = this.changed, activeBones = this.activeBones;
+		boolean all = !worldValid || flipX != lastFlipX || flipY != lastFlipY;
+		for (int i = 0, l = 0, w = 0, n = parents.length; i < n; i++, l += Bone.LOCAL_STRIDE, w += Bone.WORLD_STRIDE) {
+			if (!activeBones[i]) {
+				changed[i] = false;
+				continue;
+			}
+			int parent = parents[i];
+			if (!all && (parent == -1 || !changed[parent]) //
+				&& local[l] == lastLocal[l] //
+				&& local[l + 1] == lastLocal[l + 1] //
+				&& local[l + 2] == lastLocal[l + 2] //
+				&& local[l + 3] == lastLocal[l + 3] //
+				&& local[l + 4] == lastLocal[l + 4]) {
+				changed[i] = false;
+				continue;
+			}
+			changed[i] = true;
+			System.arraycopy(local, l, lastLocal, l, Bone.LOCAL_STRIDE);
+			if (parent == -1)
+				Bone.updateWorldTransform(boneData[i], local, l, world, w, null, 0, flipX, flipY);
+			else
+				Bone.updateWorldTransform(boneData[i], local, l, world, w, world, parent * Bone.WORLD_STRIDE, flipX, flipY);
+		}
+		worldValid = true;
+		lastFlipX = flipX;
+		lastFlipY = flipY;
+	}
+
+	/** Causes the next {@link #updateWorldTransform()} to compute the world transform of every bone. This is needed after the
+	 * world transforms are changed other than by updateWorldTransform, eg by {@link Bone#updateWorldTransform(boolean, boolean)},
+	 * or after a {@link BoneData} is changed. */
+	public void invalidateWorldTransform () {
+		worldValid = false;
+	}
+
+	public DetailLevel getDetailLevel () {
+		return detailLevel;
+	}
+
+	/** Sets how much of the pose is evaluated. The bones needed at each level are computed once per {@link SkeletonData}, so
+	 * changing the level is cheap. Bones that were not updated at a lower level are updated by the next
+	 * {@link #updateWorldTransform()}, once they are posed again. */
+	public void setDetailLevel (DetailLevel detailLevel) {
+		if (detailLevel == null) throw new IllegalArgumentException("detailLevel cannot be null.");
+		if (detailLevel == this.detailLevel) return;
+		this.detailLevel = detailLevel;
+		boolean reduced = detailLevel != DetailLevel.full;
+		skipFfd = reduced;
+		skipColor = reduced;
+		if (reduced) {
+			// FFD timelines are no longer applied, so meshes use their setup vertices.
+			ArrayList<Slot> slots = this.slots;
+			for (int i = 0, n = slots.size(); i < n; i++)
+				slots.get(i).attachmentVerticesCount = 0;
+		}
+		boolean[] activeBones;
+		if (detailLevel == DetailLevel.headless)
+			activeBones = data.getBoundingBoxBones();
+		else if (detailLevel.ordinal() >= DetailLevel.low.ordinal())
+			activeBones = data.getVisibleBones();
+		else
+			activeBones = allBones;
+		if (activeBones != this.activeBones) {
+			this.activeBones = activeBones;
+			worldValid = false;
+		}
 	}
 
 	/** Sets the bones and slots to their setup pose values. */
@@ -140,6 +253,18 @@ public class Skeleton {
 		return bones;
 	}
 
+	/** Returns the local transforms of all bones, {@link Bone#LOCAL_STRIDE} values per bone in bone index order. The array can be
+	 * modified or copied directly, eg to snapshot and restore a pose. */
+	public float[] getLocalTransforms () {
+		return local;
+	}
+
+	/** Returns the world transforms of all bones, {@link Bone#WORLD_STRIDE} values per bone in bone index order, as computed by
+	 * {@link #updateWorldTransform()}. */
+	public float[] getWorldTransforms () {
+		return world;
+	}
+
 	/** @return May return null. */
 	public Bone getRootBone () {
 		if (bones.size() == 0) return null;
@@ -148,24 +273,25 @@ public class Skeleton {
 
 	/** @return May be null. */
 	public Bone findBone (String boneName) {
-		if (boneName == null) throw new IllegalArgumentException("boneName cannot be null.");
+		int index = data.findBoneIndex(boneName);
+		if (index == -1) return null;
 		ArrayList<Bone> bones = this.bones;
-		int bsize = bones.size();
-		for (int i = 0, n = bsize; i < n; i++) {
+		if (index < bones.size()) {
+			Bone bone = bones.get(index);
+			if (bone.data.name.equals(boneName)) return bone;
+		}
+		// The bones were changed through getBones(), so the index doesn't apply.
+		for (int i = 0, n = bones.size(); i < n; i++) {
 			Bone bone = bones.get(i);
 			if (bone.data.name.equals(boneName)) return bone;
 		}
 		return null;
 	}
 
-	/** @return -1 if the bone was not found. */
+	/** @return -1 if the bone was not found.
+	 * @see SkeletonData#findBoneIndex(String) */
 	public int findBoneIndex (String boneName) {
-		if (boneName == null) throw new IllegalArgumentException("boneName cannot be null.");
-		ArrayList<Bone> bones = this.bones;
-		int bsize = bones.size();
-		for (int i = 0, n = bsize; i < n; i++)
-			if (bones.get(i).data.name.equals(boneName)) return i;
-		return -1;
+		return data.findBoneIndex(boneName);
 	}
 
 	public ArrayList<Slot> getSlots () {
@@ -174,24 +300,25 @@ public class Skeleton {
 
 	/** @return May be null. */
 	public Slot findSlot (String slotName) {
-		if (slotName == null) throw new IllegalArgumentException("slotName cannot be null.");
+		int index = data.findSlotIndex(slotName);
+		if (index == -1) return null;
 		ArrayList<Slot> slots = this.slots;
-		int ssize = slots.size();
-		for (int i = 0, n = ssize; i < n; i++) {
+		if (index < slots.size()) {
+			Slot slot = slots.get(index);
+			if (slot.data.name.equals(slotName)) return slot;
+		}
+		// The slots were changed through getSlots(), so the index doesn't apply.
+		for (int i = 0, n = slots.size(); i < n; i++) {
 			Slot slot = slots.get(i);
 			if (slot.data.name.equals(slotName)) return slot;
 		}
 		return null;
 	}
 
-	/** @return -1 if the bone was not found. */
+	/** @return -1 if the slot was not found.
+	 * @see SkeletonData#findSlotIndex(String) */
 	public int findSlotIndex (String slotName) {
-		if (slotName == null) throw new IllegalArgumentException("slotName cannot be null.");
-		ArrayList<Slot> slots = this.slots;
-		int ssize = slots.size();
-		for (int i = 0, n = ssize; i < n; i++)
-			if (slots.get(i).data.name.equals(slotName)) return i;
-		return -1;
+		return data.findSlotIndex(slotName);
 	}
 
 	/** Returns the slots in the order they will be drawn. The returned array may be modified to change the draw order. */
@@ -29,9 +29,20 @@
 package com.esotericsoftware.spine;
 
 import java.io.DataInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 import com.esotericsoftware.spine.Animation.AttachmentTimeline;
 import com.esotericsoftware.spine.Animation.ColorTimeline;
@@ -65,9 +76,16 @@ public class SkeletonBinary {
 	static public final int CURVE_LINEAR = 0;
 	static public final int CURVE_STEPPED = 1;
 	static public final int CURVE_BEZIER = 2;
+	static public final int CURVE_BEZIER_QUANTIZED = 3;
+
+	/** Set in the first byte of skeleton data in the compact encoding written by {@link CompactSkeletonWriter}. */
+	static public final int COMPACT = 0x80;
 
 	private final AttachmentLoader attachmentLoader;
 	private float scale = 1;
+	private int curveLookupSize;
+	private boolean lazyAnimations, headless;
+	private Executor executor;
 
 	public SkeletonBinary (Atlas atlas) {
 		attachmentLoader = new AtlasAttachmentLoader(atlas);
@@ -85,19 +103,123 @@ public class SkeletonBinary {
 		this.scale = scale;
 	}
 
+	public int getCurveLookupSize () {
+		return curveLookupSize;
+	}
+
+	/** Sets the size of the lookup table precomputed for each bezier curve, or 0 to evaluate curves by forward differencing.
+	 * Default is 0.
+	 * @see CurveTimeline#setLookupSize(int) */
+	public void setCurveLookupSize (int curveLookupSize) {
+		if (curveLookupSize < 0) throw new IllegalArgumentException("curveLookupSize must be >= 0.");
+		this.curveLookupSize = curveLookupSize;
+	}
+
+	public boolean getLazyAnimations () {
+		return lazyAnimations;
+	}
+
+	/** When true, the timelines of each animation are not decoded until the animation is first used, and the bytes the skeleton
+	 * data was read from are kept until then. This saves time and memory when only some of the animations are used. Default is
+	 * false.
+	 * @see Animation#load()
+	 * @see Animation#unload() */
+	public void setLazyAnimations (boolean lazyAnimations) {
+		this.lazyAnimations = lazyAnimations;
+	}
+
+	public boolean getHeadless () {
+		return headless;
+	}
+
+	/** When true, color and draw order timelines are read but not kept, because the skeleton is never rendered. They still count
+	 * toward each animation's duration. Attachment timelines are kept, since they switch bounding boxes. Default is false.
+	 * @see DetailLevel#headless
+	 * @see com.esotericsoftware.spine.attachments.BoundingBoxAttachmentLoader */
+	public void setHeadless (boolean headless) {
+		this.headless = headless;
+	}
+
+	/** @return May be null. */
+	public Executor getExecutor () {
+		return executor;
+	}
+
+	/** When set, the animations are decoded in parallel by tasks run on the executor, such as a thread pool, and are added to the
+	 * skeleton data in file order once all are done. Bones, slots, skins and events are still decoded by the calling thread.
+	 * Ignored when animations are {@link #setLazyAnimations(boolean) lazy}. Default is null.
+	 * @param executor May be null. */
+	public void setExecutor (Executor executor) {
+		this.executor = executor;
+	}
+
+	/** Reads the whole stream into memory, then decodes it. The stream is closed. */
 	public SkeletonData readSkeletonData (String sname, InputStream inputStream) {
 		if (sname == null) throw new IllegalArgumentException("sname cannot be null.");
 		if (inputStream == null) throw new IllegalArgumentException("inputStream cannot be null.");
 
+		byte[] bytes;
+		int length = 0;
+		try {
+			bytes = new byte[Math.max(inputStream.available(), 4096)];
+			while (true) {
+				int count = inputStream.read(bytes, length, bytes.length - length);
+				if (count == -1) break;
+				length += count;
+				if (length == bytes.length) {
+					byte[] newBytes = new byte[bytes.length * 2];
+					System.arraycopy(bytes, 0, newBytes, 0, length);
+					bytes = newBytes;
+				}
+			}
+		} catch (IOException ex) {
+			throw new RuntimeException("Error reading skeleton file.", ex);
+		} finally {
+			try {
+				inputStream.close();
+			} catch (IOException ignored) {
+			}
+		}
+		return readSkeletonData(sname, ByteBuffer.wrap(bytes, 0, length));
+	}
+
+	/** Maps the file into memory and decodes it from there. */
+	public SkeletonData readSkeletonData (String sname, File file) {
+		if (sname == null) throw new IllegalArgumentException("sname cannot be null.");
+		if (file == null) throw new IllegalArgumentException("file cannot be null.");
+
+		ByteBuffer buffer;
+		try {
+			RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+			try {
+				FileChannel channel = randomAccessFile.getChannel();
+				buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+			} finally {
+				randomAccessFile.close(); // The mapping remains valid.
+			}
+		} catch (IOException ex) {
+			throw new RuntimeException("Error reading skeleton file: " + file, ex);
+		}
+		return readSkeletonData(sname, buffer);
+	}
+
+	/** Decodes the bytes from the buffer's position to its limit, which may be in a heap buffer, a direct buffer or a mapped
+	 * file. The buffer's position and byte order are not changed. */
+	public SkeletonData readSkeletonData (String sname, ByteBuffer buffer) {
+		if (sname == null) throw new IllegalArgumentException("sname cannot be null.");
+		if (buffer == null) throw new IllegalArgumentException("buffer cannot be null.");
+
 		float scale = this.scale;
 
 		SkeletonData skeletonData = new SkeletonData();
 		skeletonData.name = sname;
 
-		DataInput input = new DataInput(inputStream);
+		BufferInput input = new BufferInput(buffer);
 
 		try {
-			boolean nonessential = input.readBoolean();
+			int flags = input.readByte();
+			boolean nonessential = (flags & 1) != 0;
+			if ((flags & COMPACT) != 0) input.readCompactHeader();
 			
 			// Bones.
 			for (int i = 0, n = input.readInt(true); i < n; i++) {
@@ -160,16 +282,37 @@ public class SkeletonBinary {
 			}
 
 			// Animations.
-			for (int i = 0, n = input.readInt(true); i < n; i++)
-				readAnimation(input.readString(), input, skeletonData);
+			if (lazyAnimations) {
+				// Decoding uses the settings at the time the skeleton data was read.
+				SkeletonBinary binary = new SkeletonBinary(attachmentLoader);
+				binary.scale = scale;
+				binary.curveLookupSize = curveLookupSize;
+				binary.headless = headless;
+				for (int i = 0, n = input.readInt(true); i < n; i++) {
+					String name = input.readString();
+					BufferInput animationInput = new BufferInput(input);
+					float duration = skipAnimation(input);
+					skeletonData.addAnimation(new Animation(name, duration, new LazyTimelines(binary, animationInput, skeletonData)));
+				}
+			} else if (executor != null) {
+				// Each task decodes one animation, found by skipping the ones before it.
+				ArrayList<FutureTask<Animation>> tasks = new ArrayList<FutureTask<Animation>>();
+				for (int i = 0, n = input.readInt(true); i < n; i++) {
+					FutureTask<Animation> task = new FutureTask<Animation>(new AnimationTask(this, input.readString(),
+						new BufferInput(input), skeletonData));
+					skipAnimation(input);
+					executor.execute(task);
+					tasks.add(task);
+				}
+				for (int i = 0, n = tasks.size(); i < n; i++)
+					skeletonData.addAnimation(waitForAnimation(tasks.get(i)));
+			} else {
+				for (int i = 0, n = input.readInt(true); i < n; i++)
+					readAnimation(input.readString(), input, skeletonData);
+			}
 
-		} catch (IOException ex) {
+		} catch (BufferUnderflowException ex) {
 			throw new RuntimeException("Error reading skeleton file.", ex);
-		} finally {
-			try {
-				input.close();
-			} catch (IOException ignored) {
-			}
 		}
 
 		skeletonData.bones.trimToSize();
@@ -178,7 +321,7 @@ public class SkeletonBinary {
 		return skeletonData;
 	}
 
-	private Skin readSkin (DataInput input, String skinName, boolean nonessential) throws IOException {
+	private Skin readSkin (BufferInput input, String skinName, boolean nonessential) {
 		int slotCount = input.readInt(true);
 		if (slotCount == 0) return null;
 		Skin skin = new Skin(skinName);
@@ -186,13 +329,14 @@ public class SkeletonBinary {
 			int slotIndex = input.readInt(true);
 			for (int ii = 0, nn = input.readInt(true); ii < nn; ii++) {
 				String name = input.readString();
-				skin.addAttachment(slotIndex, name, readAttachment(input, skin, name, nonessential));
+				Attachment attachment = readAttachment(input, skin, name, nonessential);
+				if (attachment != null) skin.addAttachment(slotIndex, name, attachment);
 			}
 		}
 		return skin;
 	}
 
-	private Attachment readAttachment (DataInput input, Skin skin, String attachmentName, boolean nonessential) throws IOException {
+	private Attachment readAttachment (BufferInput input, Skin skin, String attachmentName, boolean nonessential) {
 		float scale = this.scale;
 
 		String name = input.readString();
@@ -203,7 +347,10 @@ public class SkeletonBinary {
 			String path = input.readString();
 			if (path == null) path = name;
 			RegionAttachment region = attachmentLoader.newRegionAttachment(skin, name, path);
-			if (region == null) return null;
+			if (region == null) {
+				input.skipBytes(4 * 8); // x, y, scaleX, scaleY, rotation, width, height, color.
+				return null;
+			}
 			region.setX(input.readFloat() * scale);
 			region.setY(input.readFloat() * scale);
 			region.setScaleX(input.readFloat());
@@ -221,8 +368,9 @@ public class SkeletonBinary {
 		}
 		case boundingbox: {
 			BoundingBoxAttachment box = attachmentLoader.newBoundingBoxAttachment(skin, name);
+			float[] vertices = readFloatArray(input, scale);
 			if (box == null) return null;
-			box.setVertices(readFloatArray(input, scale));
+			box.setVertices(vertices);
 			return box;
 		}
 		case mesh: {
@@ -232,6 +380,10 @@ public class SkeletonBinary {
 			float[] uvs = readFloatArray(input, 1);
 			short[] triangles = readShortArray(input);
 			float[] vertices = readFloatArray(input, scale);
+			if (mesh == null) {
+				skipMeshEnd(input, nonessential);
+				return null;
+			}
 			mesh.setVertices(vertices);
 			mesh.setTriangles(triangles);
 			mesh.setRegionUVs(uvs);
@@ -256,30 +408,26 @@ public class SkeletonBinary {
 			float[] uvs = readFloatArray(input, 1);
 			short[] triangles = readShortArray(input);
 
-			int vertexCount = input.readInt(true);
-			ArrayList<Float> weights = new ArrayList<Float>(uvs.length * 3 * 3);
-			ArrayList<Integer> bones = new ArrayList<Integer>(uvs.length * 3);
-			for (int i = 0, n = vertexCount; i < n; ) {
-				int boneCount = (int) input.readFloat();
-				bones.add(boneCount);
-				for (int nn = i + boneCount * 4; i < nn; ) {
-					bones.add((int)input.readFloat());
-					weights.add(input.readFloat() * scale);
-					weights.add(input.readFloat() * scale);
-					weights.add(input.readFloat());
-					i += 4;
+			// Each vertex has a bone count followed by 4 values per bone, so the array sizes are known up front.
+			int boneCount = input.readInt(true) / 4;
+			int[] bones = new int[uvs.length / 2 + boneCount];
+			float[] weights = new float[boneCount * 3];
+			for (int b = 0, w = 0, n = weights.length; w < n;) {
+				int vertexBoneCount = (int)input.readFloat();
+				bones[b++] = vertexBoneCount;
+				for (int nn = b + vertexBoneCount; b < nn; b++) {
+					bones[b] = (int)input.readFloat();
+					weights[w++] = input.readFloat() * scale;
+					weights[w++] = input.readFloat() * scale;
+					weights[w++] = input.readFloat();
 				}
 			}
-			int[] ibones = new int[bones.size()];
-			for (int i = 0; i < ibones.length; i++) {
-				ibones[i] = bones.get(i);
-			}
-			mesh.setBones(ibones);
-			float[] fweights = new float[weights.size()];
-			for (int i = 0; i < fweights.length; i++) {
-				fweights[i] = weights.get(i);
+			if (mesh == null) {
+				skipMeshEnd(input, nonessential);
+				return null;
 			}
-			mesh.setWeights(fweights);
+			mesh.setBones(bones);
+			mesh.setWeights(weights);
 			mesh.setTriangles(triangles);
 			mesh.setRegionUVs(uvs);
 			mesh.updateUVs();
@@ -300,7 +448,18 @@ public class SkeletonBinary {
 		return null;
 	}
 
-	private float[] readFloatArray (DataInput input, float scale) throws IOException {
+	/** Reads the color and nonessential data of a mesh the attachment loader didn't load. */
+	private void skipMeshEnd (BufferInput input, boolean nonessential) {
+		input.readInt();
+		if (nonessential) {
+			readIntArray(input);
+			input.readInt(true);
+			input.readFloat();
+			input.readFloat();
+		}
+	}
+
+	private float[] readFloatArray (BufferInput input, float scale) {
 		int n = input.readInt(true);
 		float[] array = new float[n];
 		if (scale == 1) {
@@ -313,7 +472,7 @@ public class SkeletonBinary {
 		return array;
 	}
 
-	private short[] readShortArray (DataInput input) throws IOException {
+	private short[] readShortArray (BufferInput input) {
 		int n = input.readInt(true);
 		short[] array = new short[n];
 		for (int i = 0; i < n; i++)
@@ -321,7 +480,7 @@ public class SkeletonBinary {
 		return array;
 	}
 
-	private int[] readIntArray (DataInput input) throws IOException {
+	private int[] readIntArray (BufferInput input) {
 		int n = input.readInt(true);
 		int[] array = new int[n];
 		for (int i = 0; i < n; i++)
@@ -329,8 +488,28 @@ public class SkeletonBinary {
 		return array;
 	}
 
-	private void readAnimation (String name, DataInput input, SkeletonData skeletonData) {
+	private Animation waitForAnimation (FutureTask<Animation> task) {
+		try {
+			return task.get();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while reading skeleton file.", ex);
+		} catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof RuntimeException) throw (RuntimeException)cause;
+			if (cause instanceof Error) throw (Error)cause;
+			throw new RuntimeException("Error reading skeleton file.", cause);
+		}
+	}
+
+	private void readAnimation (String name, BufferInput input, SkeletonData skeletonData) {
 		ArrayList<Timeline> timelines = new ArrayList<Timeline>();
+		float duration = readTimelines(input, skeletonData, timelines);
+		skeletonData.addAnimation(new Animation(name, timelines, duration));
+	}
+
+	/** @return The animation's duration. */
+	float readTimelines (BufferInput input, SkeletonData skeletonData, ArrayList<Timeline> timelines) {
 		float scale = this.scale;
 		float duration = 0;
 
@@ -343,10 +522,20 @@ public class SkeletonBinary {
 					int frameCount = input.readInt(true);
 					switch (timelineType) {
 					case TIMELINE_COLOR: {
+						if (headless) {
+							float time = 0;
+							for (int frameIndex = 0; frameIndex < frameCount; frameIndex++) {
+								time = input.readTime();
+								input.skipBytes(4);
+								if (frameIndex < frameCount - 1) skipCurve(input);
+							}
+							duration = Math.max(duration, time);
+							break;
+						}
 						ColorTimeline timeline = new ColorTimeline(frameCount);
 						timeline.slotIndex = slotIndex;
 						for (int frameIndex = 0; frameIndex < frameCount; frameIndex++) {
-							float time = input.readFloat();
+							float time = input.readTime();
 							int color = input.readInt();
 							float r = ((color) >>> 24) / 255f;
 							float g = ((color & 0x00ff0000) >>> 16) / 255f;
@@ -363,7 +552,7 @@ public class SkeletonBinary {
 						AttachmentTimeline timeline = new AttachmentTimeline(frameCount);
 						timeline.slotIndex = slotIndex;
 						for (int frameIndex = 0; frameIndex < frameCount; frameIndex++)
-							timeline.setFrame(frameIndex, input.readFloat(), input.readString());
+							timeline.setFrame(frameIndex, input.readTime(), input.readString());
 						timelines.add(timeline);
 						duration = Math.max(duration, timeline.getFrames()[frameCount - 1]);
 						break;
@@ -381,8 +570,9 @@ public class SkeletonBinary {
 					case TIMELINE_ROTATE: {
 						RotateTimeline timeline = new RotateTimeline(frameCount);
 						timeline.boneIndex = boneIndex;
+						input.readValueRange();
 						for (int frameIndex = 0; frameIndex < frameCount; frameIndex++) {
-							timeline.setFrame(frameIndex, input.readFloat(), input.readFloat());
+							timeline.setFrame(frameIndex, input.readTime(), input.readValue());
 							if (frameIndex < frameCount - 1) readCurve(input, frameIndex, timeline);
 						}
 						timelines.add(timeline);
@@ -400,8 +590,9 @@ public class SkeletonBinary {
 							timelineScale = scale;
 						}
 						timeline.boneIndex = boneIndex;
+						input.readValueRange();
 						for (int frameIndex = 0; frameIndex < frameCount; frameIndex++) {
-							timeline.setFrame(frameIndex, input.readFloat(), input.readFloat() * timelineScale, input.readFloat()
+							timeline.setFrame(frameIndex, input.readTime(), input.readValue() * timelineScale, input.readValue()
 								* timelineScale);
 							if (frameIndex < frameCount - 1) readCurve(input, frameIndex, timeline);
 						}
@@ -424,7 +615,19 @@ public class SkeletonBinary {
 						timeline.slotIndex = slotIndex;
 						timeline.attachment = attachment;
 						for (int frameIndex = 0; frameIndex < frameCount; frameIndex++) {
-							float time = input.readFloat();
+							float time = input.readTime();
+
+							if (attachment == null) { // Not loaded by the attachment loader, so the timeline is skipped.
+								int end = input.readInt(true);
+								if (end != 0) {
+									input.readInt(true);
+									for (int v = 0; v < end; v++)
+										input.readFloat();
+								}
+								timeline.setFrame(frameIndex, time, null);
+								if (frameIndex < frameCount - 1) readCurve(input, frameIndex, timeline);
+								continue;
+							}
 
 							float[] vertices;
 							int vertexCount;
@@ -460,7 +663,7 @@ public class SkeletonBinary {
 							timeline.setFrame(frameIndex, time, vertices);
 							if (frameIndex < frameCount - 1) readCurve(input, frameIndex, timeline);
 						}
-						timelines.add(timeline);
+						if (attachment != null) timelines.add(timeline);
 						duration = Math.max(duration, timeline.getFrames()[frameCount - 1]);
 					}
 				}
@@ -468,7 +671,15 @@ public class SkeletonBinary {
 
 			// Draw order timeline.
 			int drawOrderCount = input.readInt(true);
-			if (drawOrderCount > 0) {
+			if (drawOrderCount > 0 && headless) {
+				float time = 0;
+				for (int i = 0; i < drawOrderCount; i++) {
+					for (int ii = 0, nn = input.readInt(true) * 2; ii < nn; ii++)
+						input.readInt(true);
+					time = input.readTime();
+				}
+				duration = Math.max(duration, time);
+			} else if (drawOrderCount > 0) {
 				DrawOrderTimeline timeline = new DrawOrderTimeline(drawOrderCount);
 				int slotCount = skeletonData.slots.size();
 				for (int i = 0; i < drawOrderCount; i++) {
@@ -492,7 +703,7 @@ public class SkeletonBinary {
 					// Fill in unchanged items.
 					for (int ii = slotCount - 1; ii >= 0; ii--)
 						if (drawOrder[ii] == -1) drawOrder[ii] = unchanged[--unchangedIndex];
-					timeline.setFrame(i, input.readFloat(), drawOrder);
+					timeline.setFrame(i, input.readTime(), drawOrder);
 				}
 				timelines.add(timeline);
 				duration = Math.max(duration, timeline.getFrames()[drawOrderCount - 1]);
@@ -503,7 +714,7 @@ public class SkeletonBinary {
 			if (eventCount > 0) {
 				EventTimeline timeline = new EventTimeline(eventCount);
 				for (int i = 0; i < eventCount; i++) {
-					float time = input.readFloat();
+					float time = input.readTime();
 					EventData eventData = skeletonData.events.get(input.readInt(true));
 					Event event = new Event(eventData);
 					event.intValue = input.readInt(false);
@@ -514,15 +725,117 @@ public class SkeletonBinary {
 				timelines.add(timeline);
 				duration = Math.max(duration, timeline.getFrames()[eventCount - 1]);
 			}
-		} catch (IOException ex) {
+		} catch (BufferUnderflowException ex) {
 			throw new RuntimeException("Error reading skeleton file.", ex);
 		}
 
 		timelines.trimToSize();
-		skeletonData.addAnimation(new Animation(name, timelines, duration));
+		return duration;
 	}
 
-	private void readCurve (DataInput input, int frameIndex, CurveTimeline timeline) throws IOException {
+	/** Reads past an animation without creating its timelines.
+	 * @return The animation's duration. */
+	private float skipAnimation (BufferInput input) {
+		float duration = 0;
+		// Slot timelines.
+		for (int i = 0, n = input.readInt(true); i < n; i++) {
+			input.readInt(true);
+			for (int ii = 0, nn = input.readInt(true); ii < nn; ii++) {
+				int timelineType = input.readByte();
+				int frameCount = input.readInt(true);
+				float time = 0;
+				switch (timelineType) {
+				case TIMELINE_COLOR:
+					for (int frameIndex = 0; frameIndex < frameCount; frameIndex++) {
+						time = input.readTime();
+						input.skipBytes(4);
+						if (frameIndex < frameCount - 1) skipCurve(input);
+					}
+					break;
+				case TIMELINE_ATTACHMENT:
+					for (int frameIndex = 0; frameIndex < frameCount; frameIndex++) {
+						time = input.readTime();
+						input.skipString();
+					}
+					break;
+				}
+				duration = Math.max(duration, time);
+			}
+		}
+
+		// Bone timelines.
+		for (int i = 0, n = input.readInt(true); i < n; i++) {
+			input.readInt(true);
+			for (int ii = 0, nn = input.readInt(true); ii < nn; ii++) {
+				int valueCount = input.readByte() == TIMELINE_ROTATE ? 1 : 2;
+				int frameCount = input.readInt(true);
+				float time = 0;
+				input.readValueRange();
+				for (int frameIndex = 0; frameIndex < frameCount; frameIndex++) {
+					time = input.readTime();
+					input.skipValues(valueCount);
+					if (frameIndex < frameCount - 1) skipCurve(input);
+				}
+				duration = Math.max(duration, time);
+			}
+		}
+
+		// FFD timelines.
+		for (int i = 0, n = input.readInt(true); i < n; i++) {
+			input.readInt(true);
+			for (int ii = 0, nn = input.readInt(true); ii < nn; ii++) {
+				input.readInt(true);
+				for (int iii = 0, nnn = input.readInt(true); iii < nnn; iii++) {
+					input.skipString();
+					int frameCount = input.readInt(true);
+					float time = 0;
+					for (int frameIndex = 0; frameIndex < frameCount; frameIndex++) {
+						time = input.readTime();
+						int end = input.readInt(true);
+						if (end != 0) {
+							input.readInt(true);
+							input.skipBytes(end * 4);
+						}
+						if (frameIndex < frameCount - 1) skipCurve(input);
+					}
+					duration = Math.max(duration, time);
+				}
+			}
+		}
+
+		// Draw order timeline.
+		float time = 0;
+		for (int i = 0, n = input.readInt(true); i < n; i++) {
+			for (int ii = 0, nn = input.readInt(true) * 2; ii < nn; ii++)
+				input.readInt(true);
+			time = input.readTime();
+		}
+		duration = Math.max(duration, time);
+
+		// Event timeline.
+		time = 0;
+		for (int i = 0, n = input.readInt(true); i < n; i++) {
+			time = input.readTime();
+			input.readInt(true);
+			input.readInt(false);
+			input.skipBytes(4);
+			if (input.readBoolean()) input.skipString();
+		}
+		return Math.max(duration, time);
+	}
+
+	private void skipCurve (BufferInput input) {
+		switch (input.readByte()) {
+		case CURVE_BEZIER:
+			input.skipBytes(4 * 4);
+			break;
+		case CURVE_BEZIER_QUANTIZED:
+			input.skipBytes(4);
+			break;
+		}
+	}
+
+	private void readCurve (BufferInput input, int frameIndex, CurveTimeline timeline) {
 		switch (input.readByte()) {
 		case CURVE_STEPPED:
 			timeline.setStepped(frameIndex);
@@ -530,13 +843,255 @@ public class SkeletonBinary {
 		case CURVE_BEZIER:
 			setCurve(timeline, frameIndex, input.readFloat(), input.readFloat(), input.readFloat(), input.readFloat());
 			break;
+		case CURVE_BEZIER_QUANTIZED:
+			setCurve(timeline, frameIndex, (input.readByte() & 0xff) / 255f, (input.readByte() & 0xff) / 255f,
+				(input.readByte() & 0xff) / 255f, (input.readByte() & 0xff) / 255f);
+			break;
 		}
 	}
 
 	void setCurve (CurveTimeline timeline, int frameIndex, float cx1, float cy1, float cx2, float cy2) {
+		timeline.setLookupSize(curveLookupSize);
 		timeline.setCurve(frameIndex, cx1, cy1, cx2, cy2);
 	}
 	
+	/** Decodes the timelines of a lazily loaded animation from the bytes the skeleton data was read from. */
+	static private class LazyTimelines implements Animation.TimelineSource {
+		private final SkeletonBinary binary;
+		private final BufferInput input; // Positioned at the animation's timelines.
+		private final SkeletonData skeletonData;
+
+		LazyTimelines (SkeletonBinary binary, BufferInput input, SkeletonData skeletonData) {
+			this.binary = binary;
+			this.input = input;
+			this.skeletonData = skeletonData;
+		}
+
+		public ArrayList<Timeline> readTimelines () {
+			BufferInput input = new BufferInput(this.input);
+			ArrayList<Timeline> timelines = new ArrayList<Timeline>();
+			binary.readTimelines(input, skeletonData, timelines);
+			return timelines;
+		}
+	}
+
+	/** Decodes one animation on an executor thread, from its own view of the bytes the skeleton data is being read from. */
+	static private class AnimationTask implements Callable<Animation> {
+		private final SkeletonBinary binary;
+		private final String name;
+		private final BufferInput input;
+		private final SkeletonData skeletonData;
+
+		AnimationTask (SkeletonBinary binary, String name, BufferInput input, SkeletonData skeletonData) {
+			this.binary = binary;
+			this.name = name;
+			this.input = input;
+			this.skeletonData = skeletonData;
+		}
+
+		public Animation call () {
+			ArrayList<Timeline> timelines = new ArrayList<Timeline>();
+			float duration = binary.readTimelines(input, skeletonData, timelines);
+			return new Animation(name, timelines, duration);
+		}
+	}
+
+	/** Decodes directly from a {@link ByteBuffer}, rather than one byte at a time through a stream. Reads past the limit throw
+	 * {@link BufferUnderflowException}. */
+	static class BufferInput {
+		private final ByteBuffer buffer;
+		private char[] chars = new char[32];
+
+		// Compact encoding.
+		private boolean compact;
+		private float frameRate;
+		private String[] strings;
+		private boolean quantized;
+		private float min, step;
+
+		BufferInput (ByteBuffer buffer) {
+			this.buffer = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+		}
+
+		/** Creates an input at the same position and with the same encoding, which can be used independently. */
+		BufferInput (BufferInput input) {
+			buffer = input.buffer.duplicate(); // Duplicates are big endian.
+			compact = input.compact;
+			frameRate = input.frameRate;
+			strings = input.strings;
+		}
+
+		/** Reads the frame rate and the string table of the compact encoding. Subsequent strings are read as indices into the
+		 * table, times as frame numbers and bone timeline values may be quantized. */
+		void readCompactHeader () {
+			frameRate = readFloat();
+			String[] strings = new String[readInt(true)];
+			for (int i = 0; i < strings.length; i++)
+				strings[i] = readString();
+			this.strings = strings;
+			compact = true;
+		}
+
+		/** Reads a keyframe time. The compact encoding stores an even number for a time that is a whole frame, else an odd number
+		 * followed by the time. */
+		public float readTime () {
+			if (!compact) return buffer.getFloat();
+			int frame = readInt(true);
+			if ((frame & 1) != 0) return buffer.getFloat();
+			return (frame >>> 1) / frameRate;
+		}
+
+		/** Reads how the values of a timeline are stored, which the compact encoding may quantize to 16 bits within the range of
+		 * the timeline's values. */
+		public void readValueRange () {
+			quantized = compact && readBoolean();
+			if (quantized) {
+				min = buffer.getFloat();
+				step = buffer.getFloat();
+			}
+		}
+
+		public float readValue () {
+			if (quantized) return min + (buffer.getShort() & 0xffff) * step;
+			return buffer.getFloat();
+		}
+
+		public void skipValues (int count) {
+			skipBytes(count * (quantized ? 2 : 4));
+		}
+
+		public byte readByte () {
+			return buffer.get();
+		}
+
+		public boolean readBoolean () {
+			return buffer.get() != 0;
+		}
+
+		public short readShort () {
+			return buffer.getShort();
+		}
+
+		public int readInt () {
+			return buffer.getInt();
+		}
+
+		public float readFloat () {
+			return buffer.getFloat();
+		}
+
+		public void skipBytes (int count) {
+			ByteBuffer buffer = this.buffer;
+			if (count > buffer.remaining()) throw new BufferUnderflowException();
+			buffer.position(buffer.position() + count);
+		}
+
+		/** Reads a 1-5 byte int. */
+		public int readInt (boolean optimizePositive) {
+			ByteBuffer buffer = this.buffer;
+			int b = buffer.get();
+			int result = b & 0x7F;
+			if ((b & 0x80) != 0) {
+				b = buffer.get();
+				result |= (b & 0x7F) << 7;
+				if ((b & 0x80) != 0) {
+					b = buffer.get();
+					result |= (b & 0x7F) << 14;
+					if ((b & 0x80) != 0) {
+						b = buffer.get();
+						result |= (b & 0x7F) << 21;
+						if ((b & 0x80) != 0) {
+							b = buffer.get();
+							result |= (b & 0x7F) << 28;
+						}
+					}
+				}
+			}
+			return optimizePositive ? result : ((result >>> 1) ^ -(result & 1));
+		}
+
+		public void skipString () {
+			if (strings != null) {
+				readInt(true);
+				return;
+			}
+			int charCount = readInt(true) - 1;
+			ByteBuffer buffer = this.buffer;
+			for (int i = 0; i < charCount; i++) {
+				switch ((buffer.get() & 0xFF) >> 4) {
+				case 12:
+				case 13:
+					buffer.get();
+					break;
+				case 14:
+					buffer.get();
+					buffer.get();
+					break;
+				}
+			}
+		}
+
+		/** Reads the length and string of UTF8 characters, or null. The compact encoding stores an index into the string table
+		 * instead.
+		 * @return May be null. */
+		public String readString () {
+			if (strings != null) {
+				int index = readInt(true);
+				return index == 0 ? null : strings[index - 1];
+			}
+			int charCount = readInt(true);
+			switch (charCount) {
+			case 0:
+				return null;
+			case 1:
+				return "";
+			}
+			charCount--;
+			if (chars.length < charCount) chars = new char[charCount];
+			char[] chars = this.chars;
+			ByteBuffer buffer = this.buffer;
+			// Try to read 7 bit ASCII chars.
+			int charIndex = 0;
+			int b = 0;
+			while (charIndex < charCount) {
+				b = buffer.get() & 0xFF;
+				if (b > 127) break;
+				chars[charIndex++] = (char)b;
+			}
+			// If a char was not ASCII, finish with slow path.
+			if (charIndex < charCount) readUtf8_slow(charCount, charIndex, b);
+			return new String(chars, 0, charCount);
+		}
+
+		private void readUtf8_slow (int charCount, int charIndex, int b) {
+			char[] chars = this.chars;
+			ByteBuffer buffer = this.buffer;
+			while (true) {
+				switch (b >> 4) {
+				case 0:
+				case 1:
+				case 2:
+				case 3:
+				case 4:
+				case 5:
+				case 6:
+				case 7:
+					chars[charIndex] = (char)b;
+					break;
+				case 12:
+				case 13:
+					chars[charIndex] = (char)((b & 0x1F) << 6 | buffer.get() & 0x3F);
+					break;
+				case 14:
+					chars[charIndex] = (char)((b & 0x0F) << 12 | (buffer.get() & 0x3F) << 6 | buffer.get() & 0x3F);
+					break;
+				}
+				if (++charIndex >= charCount) break;
+				b = buffer.get() & 0xFF;
+			}
+		}
+	}
+
 	/** Taken from LibGDX.
 	 * Extends {@link DataInputStream} with additional convenience methods.
 	 * @author Nathan Sweet */
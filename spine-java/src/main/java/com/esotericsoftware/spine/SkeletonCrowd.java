@@ -0,0 +1,271 @@
+/******************************************************************************
+ * Spine Runtimes Software License
+ * Version 2.1
+ * 
+ * Copyright (c) 2013, Esoteric Software
+ * All rights reserved.
+ * 
+ * You are granted a perpetual, non-exclusive, non-sublicensable and
+ * non-transferable license to install, execute and perform the Spine Runtimes
+ * Software (the "Software") solely for internal use. Without the written
+ * permission of Esoteric Software (typically granted by licensing Spine), you
+ * may not (a) modify, translate, adapt or otherwise create derivative works,
+ * improvements of the Software or develop new applications using the Software
+ * or (b) remove, delete, alter or obscure any trademarks or any copyright,
+ * trademark, patent or other intellectual property or proprietary rights
+ * notices on or in the Software, including any copy thereof. Redistributions
+ * in binary or source form must include this license and terms.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY ESOTERIC SOFTWARE "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO
+ * EVENT SHALL ESOTERIC SOFTARE BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+ * OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *****************************************************************************/
+package com.esotericsoftware.spine;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.esotericsoftware.spine.AnimationState.AnimationStateListener;
+
+/** Updates many skeleton and animation state pairs that share the same {@link SkeletonData}, in parallel chunks on a
+ * {@link ForkJoinPool}. Each {@link #update(float)} applies {@link AnimationState#update(float)},
+ * {@link AnimationState#apply(Skeleton)} and {@link Skeleton#updateWorldTransform()} to every instance.
+ * <p>
+ * Each animation state records its listener notifications in an {@link EventQueue} while updating. They are delivered on the
+ * thread calling update, after all instances have been updated, both to the listeners of the animation state and its track
+ * entries and to the {@link CrowdListener crowd listeners}. Notifications are delivered in instance order and, for each
+ * instance, in the order they occurred. */
+public class SkeletonCrowd {
+	static private ForkJoinPool defaultPool;
+
+	final SkeletonData data;
+	final ForkJoinPool pool;
+	final ArrayList<Skeleton> skeletons = new ArrayList<Skeleton>();
+	final ArrayList<AnimationState> states = new ArrayList<AnimationState>();
+	final ArrayList<InstanceListener> instanceListeners = new ArrayList<InstanceListener>();
+	private final ArrayList<CrowdListener> listeners = new ArrayList<CrowdListener>();
+	private int chunkSize = 32;
+
+	/** Uses a pool shared by all crowds, with one thread per available processor. */
+	public SkeletonCrowd (SkeletonData data) {
+		this(data, getDefaultPool());
+	}
+
+	public SkeletonCrowd (SkeletonData data, ForkJoinPool pool) {
+		if (data == null) throw new IllegalArgumentException("data cannot be null.");
+		if (pool == null) throw new IllegalArgumentException("pool cannot be null.");
+		this.data = data;
+		this.pool = pool;
+	}
+
+	static synchronized private ForkJoinPool getDefaultPool () {
+		if (defaultPool == null) defaultPool = new ForkJoinPool();
+		return defaultPool;
+	}
+
+	/** Adds a new skeleton in the setup pose with a new animation state.
+	 * @return The index of the instance. */
+	public int add (AnimationStateData stateData) {
+		Skeleton skeleton = new Skeleton(data);
+		skeleton.updateWorldTransform();
+		return add(skeleton, new AnimationState(stateData));
+	}
+
+	/** Sets a new {@link EventQueue} on the animation state, replacing any it had.
+	 * @return The index of the instance. */
+	public int add (Skeleton skeleton, AnimationState state) {
+		if (skeleton == null) throw new IllegalArgumentException("skeleton cannot be null.");
+		if (state == null) throw new IllegalArgumentException("state cannot be null.");
+		if (skeleton.data != data) throw new IllegalArgumentException("skeleton must use the crowd's skeleton data.");
+		InstanceListener listener = new InstanceListener(skeletons.size());
+		state.setEventQueue(new EventQueue());
+		state.addListener(listener);
+		skeletons.add(skeleton);
+		states.add(state);
+		instanceListeners.add(listener);
+		return skeletons.size() - 1;
+	}
+
+	/** Removes the instance at the specified index. The indices of subsequent instances are decremented. Any notifications
+	 * recorded for the instance and not yet delivered are discarded, and its animation state notifies its listeners immediately
+	 * again. */
+	public void remove (int index) {
+		skeletons.remove(index);
+		release(states.remove(index), instanceListeners.remove(index));
+		for (int i = index, n = instanceListeners.size(); i < n; i++)
+			instanceListeners.get(i).instance = i;
+	}
+
+	public void clear () {
+		for (int i = 0, n = states.size(); i < n; i++)
+			release(states.get(i), instanceListeners.get(i));
+		skeletons.clear();
+		states.clear();
+		instanceListeners.clear();
+	}
+
+	private void release (AnimationState state, InstanceListener listener) {
+		state.getEventQueue().clear();
+		state.setEventQueue(null);
+		state.removeListener(listener);
+	}
+
+	/** Updates all instances, then delivers the events they fired to the crowd listeners on the calling thread. */
+	public void update (float delta) {
+		int size = skeletons.size();
+		if (size > chunkSize && pool.getParallelism() > 1)
+			pool.invoke(new UpdateTask(delta, 0, size));
+		else
+			update(delta, 0, size);
+		deliverEvents();
+	}
+
+	void update (float delta, int start, int end) {
+		ArrayList<Skeleton> skeletons = this.skeletons;
+		ArrayList<AnimationState> states = this.states;
+		for (int i = start; i < end; i++) {
+			AnimationState state = states.get(i);
+			Skeleton skeleton = skeletons.get(i);
+			state.update(delta);
+			state.apply(skeleton);
+			skeleton.updateWorldTransform();
+		}
+	}
+
+	/** Delivers the notifications recorded since the last update, eg the start and end notifications from setting an animation.
+	 * This is done automatically at the end of {@link #update(float)}. */
+	public void deliverEvents () {
+		ArrayList<AnimationState> states = this.states;
+		for (int i = 0, n = states.size(); i < n; i++)
+			states.get(i).drainEvents();
+	}
+
+	/** Adds a listener to receive the events of all instances on the thread calling {@link #update(float)}. */
+	public void addListener (CrowdListener listener) {
+		if (listener == null) throw new IllegalArgumentException("listener cannot be null.");
+		listeners.add(listener);
+	}
+
+	public void removeListener (CrowdListener listener) {
+		listeners.remove(listener);
+	}
+
+	public SkeletonData getData () {
+		return data;
+	}
+
+	public ForkJoinPool getPool () {
+		return pool;
+	}
+
+	public int size () {
+		return skeletons.size();
+	}
+
+	public Skeleton getSkeleton (int index) {
+		return skeletons.get(index);
+	}
+
+	public AnimationState getState (int index) {
+		return states.get(index);
+	}
+
+	public int getChunkSize () {
+		return chunkSize;
+	}
+
+	/** Sets the maximum number of instances updated by a single task. Default is 32. */
+	public void setChunkSize (int chunkSize) {
+		if (chunkSize < 1) throw new IllegalArgumentException("chunkSize must be > 0.");
+		this.chunkSize = chunkSize;
+	}
+
+	private class UpdateTask extends RecursiveAction {
+		private static final long serialVersionUID = 1;
+
+		private final float delta;
+		private final int start, end;
+
+		UpdateTask (float delta, int start, int end) {
+			this.delta = delta;
+			this.start = start;
+			this.end = end;
+		}
+
+		protected void compute () {
+			if (end - start <= chunkSize) {
+				update(delta, start, end);
+				return;
+			}
+			int middle = (start + end) >>> 1;
+			invokeAll(new UpdateTask(delta, start, middle), new UpdateTask(delta, middle, end));
+		}
+	}
+
+	/** Passes the notifications of one instance's animation state to the crowd listeners. */
+	class InstanceListener implements AnimationStateListener {
+		int instance;
+
+		InstanceListener (int instance) {
+			this.instance = instance;
+		}
+
+		public void event (int trackIndex, Event event) {
+			ArrayList<CrowdListener> listeners = SkeletonCrowd.this.listeners;
+			for (int i = 0, n = listeners.size(); i < n; i++)
+				listeners.get(i).event(instance, trackIndex, event);
+		}
+
+		public void complete (int trackIndex, int loopCount) {
+			ArrayList<CrowdListener> listeners = SkeletonCrowd.this.listeners;
+			for (int i = 0, n = listeners.size(); i < n; i++)
+				listeners.get(i).complete(instance, trackIndex, loopCount);
+		}
+
+		public void start (int trackIndex) {
+			ArrayList<CrowdListener> listeners = SkeletonCrowd.this.listeners;
+			for (int i = 0, n = listeners.size(); i < n; i++)
+				listeners.get(i).start(instance, trackIndex);
+		}
+
+		public void end (int trackIndex) {
+			ArrayList<CrowdListener> listeners = SkeletonCrowd.this.listeners;
+			for (int i = 0, n = listeners.size(); i < n; i++)
+				listeners.get(i).end(instance, trackIndex);
+		}
+	}
+
+	/** Receives the events of the instances in a crowd. The instance is the index of the skeleton and animation state pair.
+	 * @see AnimationStateListener */
+	static public interface CrowdListener {
+		public void event (int instance, int trackIndex, Event event);
+
+		public void complete (int instance, int trackIndex, int loopCount);
+
+		public void start (int instance, int trackIndex);
+
+		public void end (int instance, int trackIndex);
+	}
+
+	static public abstract class CrowdAdapter implements CrowdListener {
+		public void event (int instance, int trackIndex, Event event) {
+		}
+
+		public void complete (int instance, int trackIndex, int loopCount) {
+		}
+
+		public void start (int instance, int trackIndex) {
+		}
+
+		public void end (int instance, int trackIndex) {
+		}
+	}
+}
@@ -31,6 +31,11 @@
 package com.esotericsoftware.spine;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+
+import com.esotericsoftware.spine.attachments.Attachment;
+import com.esotericsoftware.spine.attachments.BoundingBoxAttachment;
+import com.esotericsoftware.spine.attachments.SkinnedMeshAttachment;
 
 public class SkeletonData {
 	String name;
@@ -40,6 +45,16 @@ public class SkeletonData {
 	Skin defaultSkin;
 	final ArrayList<EventData> events = new ArrayList<EventData>();
 	final ArrayList<Animation> animations = new ArrayList<Animation>();
+	private boolean[] visibleBones, boundingBoxBones;
+
+	// Name lookups, maintained by the add methods. The first item added with a name wins, as with a linear search. The lists can
+	// also be changed through their getters, so a lookup that misses, or finds an item no longer at its index, scans the list
+	// and then rebuilds the lookups and indices.
+	private final HashMap<String, BoneData> boneNames = new HashMap<String, BoneData>();
+	private final HashMap<String, SlotData> slotNames = new HashMap<String, SlotData>();
+	private final HashMap<String, Skin> skinNames = new HashMap<String, Skin>();
+	private final HashMap<String, EventData> eventNames = new HashMap<String, EventData>();
+	private final HashMap<String, Animation> animationNames = new HashMap<String, Animation>();
 
 	public void clear () {
 		bones.clear();
@@ -48,15 +63,28 @@ public class SkeletonData {
 		defaultSkin = null;
 		events.clear();
 		animations.clear();
+		visibleBones = null;
+		boundingBoxBones = null;
+		boneNames.clear();
+		slotNames.clear();
+		skinNames.clear();
+		eventNames.clear();
+		animationNames.clear();
 	}
 
 	// --- Bones.
 
 	public void addBone (BoneData bone) {
 		if (bone == null) throw new IllegalArgumentException("bone cannot be null.");
+		bone.index = bones.size();
 		bones.add(bone);
+		if (!boneNames.containsKey(bone.name)) boneNames.put(bone.name, bone);
+		visibleBones = null;
+		boundingBoxBones = null;
 	}
 
+	/** Returns the bones, ordered parents first. The list may be changed directly, in which case the bone indices are updated
+	 * when next needed. */
 	public ArrayList<BoneData> getBones () {
 		return bones;
 	}
@@ -64,32 +92,41 @@ public class SkeletonData {
 	/** @return May be null. */
 	public BoneData findBone (String boneName) {
 		if (boneName == null) throw new IllegalArgumentException("boneName cannot be null.");
+		BoneData bone = boneNames.get(boneName);
+		if (bone != null && isIndexed(bones, bone, bone.index)) return bone;
 		ArrayList<BoneData> bones = this.bones;
-		int bsize = bones.size();
-		for (int i = 0, n = bsize; i < n; i++) {
-			BoneData bone = bones.get(i);
-			if (bone.name.equals(boneName)) return bone;
+		for (int i = 0, n = bones.size(); i < n; i++) {
+			BoneData other = bones.get(i);
+			if (other.name.equals(boneName)) {
+				reindex();
+				return other;
+			}
 		}
+		if (bone != null) reindex();
 		return null;
 	}
 
-	/** @return -1 if the bone was not found. */
+	/** Returns the bone's index, which can be kept to get the bone from {@link Skeleton#getBones()} of any skeleton using this
+	 * skeleton data without looking it up by name again.
+	 * @return -1 if the bone was not found. */
 	public int findBoneIndex (String boneName) {
-		if (boneName == null) throw new IllegalArgumentException("boneName cannot be null.");
-		ArrayList<BoneData> bones = this.bones;
-		int bsize = bones.size();
-		for (int i = 0, n = bsize; i < n; i++)
-			if (bones.get(i).name.equals(boneName)) return i;
-		return -1;
+		BoneData bone = findBone(boneName);
+		return bone == null ? -1 : bone.index;
 	}
 
 	// --- Slots.
 
 	public void addSlot (SlotData slot) {
 		if (slot == null) throw new IllegalArgumentException("slot cannot be null.");
+		slot.index = slots.size();
 		slots.add(slot);
+		if (!slotNames.containsKey(slot.name)) slotNames.put(slot.name, slot);
+		visibleBones = null;
+		boundingBoxBones = null;
 	}
 
+	/** Returns the slots in the setup pose draw order. The list may be changed directly, in which case the slot indices are
+	 * updated when next needed. */
 	public ArrayList<SlotData> getSlots () {
 		return slots;
 	}
@@ -97,23 +134,26 @@ public class SkeletonData {
 	/** @return May be null. */
 	public SlotData findSlot (String slotName) {
 		if (slotName == null) throw new IllegalArgumentException("slotName cannot be null.");
+		SlotData slot = slotNames.get(slotName);
+		if (slot != null && isIndexed(slots, slot, slot.index)) return slot;
 		ArrayList<SlotData> slots = this.slots;
-		int ssize = slots.size();
-		for (int i = 0, n = ssize; i < n; i++) {
-			SlotData slot = slots.get(i);
-			if (slot.name.equals(slotName)) return slot;
+		for (int i = 0, n = slots.size(); i < n; i++) {
+			SlotData other = slots.get(i);
+			if (other.name.equals(slotName)) {
+				reindex();
+				return other;
+			}
 		}
+		if (slot != null) reindex();
 		return null;
 	}
 
-	/** @return -1 if the bone was not found. */
+	/** Returns the slot's index, which can be kept to get the slot from {@link Skeleton#getSlots()} of any skeleton using this
+	 * skeleton data without looking it up by name again.
+	 * @return -1 if the slot was not found. */
 	public int findSlotIndex (String slotName) {
-		if (slotName == null) throw new IllegalArgumentException("slotName cannot be null.");
-		ArrayList<SlotData> slots = this.slots;
-		int ssize = slots.size();
-		for (int i = 0, n = ssize; i < n; i++)
-			if (slots.get(i).name.equals(slotName)) return i;
-		return -1;
+		SlotData slot = findSlot(slotName);
+		return slot == null ? -1 : slot.index;
 	}
 
 	// --- Skins.
@@ -126,18 +166,33 @@ public class SkeletonData {
 	/** @param defaultSkin May be null. */
 	public void setDefaultSkin (Skin defaultSkin) {
 		this.defaultSkin = defaultSkin;
+		visibleBones = null;
+		boundingBoxBones = null;
 	}
 
 	public void addSkin (Skin skin) {
 		if (skin == null) throw new IllegalArgumentException("skin cannot be null.");
+		skin.index = skins.size();
 		skins.add(skin);
+		if (!skinNames.containsKey(skin.name)) skinNames.put(skin.name, skin);
+		visibleBones = null;
+		boundingBoxBones = null;
 	}
 
 	/** @return May be null. */
 	public Skin findSkin (String skinName) {
 		if (skinName == null) throw new IllegalArgumentException("skinName cannot be null.");
-		for (Skin skin : skins)
-			if (skin.name.equals(skinName)) return skin;
+		Skin skin = skinNames.get(skinName);
+		if (skin != null && isIndexed(skins, skin, skin.index)) return skin;
+		ArrayList<Skin> skins = this.skins;
+		for (int i = 0, n = skins.size(); i < n; i++) {
+			Skin other = skins.get(i);
+			if (other.name.equals(skinName)) {
+				reindex();
+				return other;
+			}
+		}
+		if (skin != null) reindex();
 		return null;
 	}
 
@@ -146,18 +201,107 @@ public class SkeletonData {
 		return skins;
 	}
 
+	// --- Level of detail.
+
+	/** Returns whether each bone is needed to pose an attachment that is visible, in any skin. A bone is needed if a slot for it
+	 * has an attachment other than a bounding box, if a skinned mesh uses it, or if a descendant is needed. Also computes the
+	 * {@link SkinnedMeshAttachment#updateRigidBinding() rigid binding} of each skinned mesh. This is computed once, when first
+	 * needed, so {@link #invalidateDetailLevels()} must be called if attachments are added to a skin afterward.
+	 * @see DetailLevel#low */
+	synchronized boolean[] getVisibleBones () {
+		index();
+		if (visibleBones != null) return visibleBones;
+		ArrayList<BoneData> bones = this.bones;
+		boolean[] visible = new boolean[bones.size()];
+		ArrayList<Attachment> attachments = new ArrayList<Attachment>();
+		for (int i = 0, n = slots.size(); i < n; i++) {
+			attachments.clear();
+			for (Skin skin : skins)
+				skin.findAttachmentsForSlot(i, attachments);
+			if (defaultSkin != null && !skins.contains(defaultSkin)) defaultSkin.findAttachmentsForSlot(i, attachments);
+			for (Attachment attachment : attachments) {
+				if (attachment instanceof BoundingBoxAttachment) continue;
+				visible[slots.get(i).boneData.index] = true;
+				if (attachment instanceof SkinnedMeshAttachment) {
+					SkinnedMeshAttachment mesh = (SkinnedMeshAttachment)attachment;
+					int[] meshBones = mesh.getBones();
+					for (int v = 0, nn = meshBones.length; v < nn;) {
+						for (int boneEnd = meshBones[v++] + v; v < boneEnd; v++)
+							visible[meshBones[v]] = true;
+					}
+					mesh.updateRigidBinding();
+				}
+			}
+		}
+		markAncestors(visible);
+		visibleBones = visible;
+		return visible;
+	}
+
+	/** Returns whether each bone is needed to pose a bounding box attachment, in any skin: if a slot for it has a bounding box or
+	 * if a descendant is needed. Like {@link #getVisibleBones()}, this is computed once.
+	 * @see DetailLevel#headless */
+	synchronized boolean[] getBoundingBoxBones () {
+		index();
+		if (boundingBoxBones != null) return boundingBoxBones;
+		boolean[] needed = new boolean[bones.size()];
+		for (int i = 0, n = slots.size(); i < n; i++)
+			if (hasBoundingBox(i)) needed[slots.get(i).boneData.index] = true;
+		markAncestors(needed);
+		boundingBoxBones = needed;
+		return needed;
+	}
+
+	/** Returns true if the slot has a bounding box attachment in any skin. */
+	boolean hasBoundingBox (int slotIndex) {
+		ArrayList<Attachment> attachments = new ArrayList<Attachment>();
+		for (Skin skin : skins)
+			skin.findAttachmentsForSlot(slotIndex, attachments);
+		if (defaultSkin != null && !skins.contains(defaultSkin)) defaultSkin.findAttachmentsForSlot(slotIndex, attachments);
+		for (Attachment attachment : attachments)
+			if (attachment instanceof BoundingBoxAttachment) return true;
+		return false;
+	}
+
+	/** Marks the parent of each marked bone. */
+	private void markAncestors (boolean[] marked) {
+		// Bones are ordered parents first, so a parent is marked before its own parent is checked.
+		for (int i = marked.length - 1; i > 0; i--) {
+			if (!marked[i]) continue;
+			BoneData parent = bones.get(i).parent;
+			if (parent != null) marked[parent.index] = true;
+		}
+	}
+
+	/** Causes the bones needed at each {@link DetailLevel} to be computed again the next time a skeleton's detail level is set. */
+	public synchronized void invalidateDetailLevels () {
+		visibleBones = null;
+		boundingBoxBones = null;
+	}
+
 	// --- Events.
 
 	public void addEvent (EventData eventData) {
 		if (eventData == null) throw new IllegalArgumentException("eventData cannot be null.");
+		eventData.index = events.size();
 		events.add(eventData);
+		if (!eventNames.containsKey(eventData.name)) eventNames.put(eventData.name, eventData);
 	}
 
 	/** @return May be null. */
 	public EventData findEvent (String eventDataName) {
 		if (eventDataName == null) throw new IllegalArgumentException("eventDataName cannot be null.");
-		for (EventData eventData : events)
-			if (eventData.name.equals(eventDataName)) return eventData;
+		EventData eventData = eventNames.get(eventDataName);
+		if (eventData != null && isIndexed(events, eventData, eventData.index)) return eventData;
+		ArrayList<EventData> events = this.events;
+		for (int i = 0, n = events.size(); i < n; i++) {
+			EventData other = events.get(i);
+			if (other.name.equals(eventDataName)) {
+				reindex();
+				return other;
+			}
+		}
+		if (eventData != null) reindex();
 		return null;
 	}
 
@@ -169,9 +313,13 @@ public class SkeletonData {
 
 	public void addAnimation (Animation animation) {
 		if (animation == null) throw new IllegalArgumentException("animation cannot be null.");
+		animation.index = animations.size();
 		animations.add(animation);
+		if (!animationNames.containsKey(animation.name)) animationNames.put(animation.name, animation);
 	}
 
+	/** Returns the animations. The list may be changed directly, but mix durations already set in an
+	 * {@link AnimationStateData} for animations that were moved or removed must then be set again. */
 	public ArrayList<Animation> getAnimations () {
 		return animations;
 	}
@@ -179,15 +327,89 @@ public class SkeletonData {
 	/** @return May be null. */
 	public Animation findAnimation (String animationName) {
 		if (animationName == null) throw new IllegalArgumentException("animationName cannot be null.");
+		Animation animation = animationNames.get(animationName);
+		if (animation != null && isIndexed(animations, animation, animation.index)) return animation;
 		ArrayList<Animation> animations = this.animations;
-		int asize = animations.size();
-		for (int i = 0, n = asize; i < n; i++) {
-			Animation animation = animations.get(i);
-			if (animation.name.equals(animationName)) return animation;
+		for (int i = 0, n = animations.size(); i < n; i++) {
+			Animation other = animations.get(i);
+			if (other.name.equals(animationName)) {
+				reindex();
+				return other;
+			}
 		}
+		if (animation != null) reindex();
 		return null;
 	}
 
+	/** Discards the timelines of every animation that was loaded lazily, eg under memory pressure. They are decoded again when
+	 * next needed.
+	 * @see Animation#unload() */
+	public void unloadAnimations () {
+		for (int i = 0, n = animations.size(); i < n; i++)
+			animations.get(i).unload();
+	}
+
+	// --- Indices.
+
+	/** Updates the bone and slot indices if the bones or slots were changed through {@link #getBones()} or {@link #getSlots()}. */
+	void index () {
+		ArrayList<BoneData> bones = this.bones;
+		for (int i = 0, n = bones.size(); i < n; i++) {
+			if (bones.get(i).index != i) {
+				reindex();
+				return;
+			}
+		}
+		ArrayList<SlotData> slots = this.slots;
+		for (int i = 0, n = slots.size(); i < n; i++) {
+			if (slots.get(i).index != i) {
+				reindex();
+				return;
+			}
+		}
+	}
+
+	/** Sets the index of every item and rebuilds the name lookups, after the lists were changed directly. */
+	private synchronized void reindex () {
+		boneNames.clear();
+		for (int i = 0, n = bones.size(); i < n; i++) {
+			BoneData bone = bones.get(i);
+			bone.index = i;
+			if (!boneNames.containsKey(bone.name)) boneNames.put(bone.name, bone);
+		}
+		slotNames.clear();
+		for (int i = 0, n = slots.size(); i < n; i++) {
+			SlotData slot = slots.get(i);
+			slot.index = i;
+			if (!slotNames.containsKey(slot.name)) slotNames.put(slot.name, slot);
+		}
+		skinNames.clear();
+		for (int i = 0, n = skins.size(); i < n; i++) {
+			Skin skin = skins.get(i);
+			skin.index = i;
+			if (!skinNames.containsKey(skin.name)) skinNames.put(skin.name, skin);
+		}
+		eventNames.clear();
+		for (int i = 0, n = events.size(); i < n; i++) {
+			EventData eventData = events.get(i);
+			eventData.index = i;
+			if (!eventNames.containsKey(eventData.name)) eventNames.put(eventData.name, eventData);
+		}
+		animationNames.clear();
+		for (int i = 0, n = animations.size(); i < n; i++) {
+			Animation animation = animations.get(i);
+			animation.index = i;
+			if (!animationNames.containsKey(animation.name)) animationNames.put(animation.name, animation);
+		}
+		visibleBones = null;
+		boundingBoxBones = null;
+	}
+
+	/** Returns true if the item is still in the list at the index it was given. */
+	static private boolean isIndexed (ArrayList<?> items, Object item, int index) {
+		return index >= 0 && index < items.size() && items.get(index) == item;
+	}
+
 	// ---
 
 	/** @return May be null. */
@@ -0,0 +1,385 @@
+/******************************************************************************
+ * Spine Runtimes Software License
+ * Version 2.1
+ * 
+ * Copyright (c) 2013, Esoteric Software
+ * All rights reserved.
+ * 
+ * You are granted a perpetual, non-exclusive, non-sublicensable and
+ * non-transferable license to install, execute and perform the Spine Runtimes
+ * Software (the "Software") solely for internal use. Without the written
+ * permission of Esoteric Software (typically granted by licensing Spine), you
+ * may not (a) modify, translate, adapt or otherwise create derivative works,
+ * improvements of the Software or develop new applications using the Software
+ * or (b) remove, delete, alter or obscure any trademarks or any copyright,
+ * trademark, patent or other intellectual property or proprietary rights
+ * notices on or in the Software, including any copy thereof. Redistributions
+ * in binary or source form must include this license and terms.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY ESOTERIC SOFTWARE "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO
+ * EVENT SHALL ESOTERIC SOFTARE BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+ * OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *****************************************************************************/
+
+package com.esotericsoftware.spine;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import com.esotericsoftware.spine.Animation.AttachmentTimeline;
+import com.esotericsoftware.spine.Animation.ColorTimeline;
+import com.esotericsoftware.spine.Animation.CurveTimeline;
+import com.esotericsoftware.spine.Animation.DrawOrderTimeline;
+import com.esotericsoftware.spine.Animation.EventTimeline;
+import com.esotericsoftware.spine.Animation.FfdTimeline;
+import com.esotericsoftware.spine.Animation.RotateTimeline;
+import com.esotericsoftware.spine.Animation.Timeline;
+import com.esotericsoftware.spine.Animation.TranslateTimeline;
+import com.esotericsoftware.spine.attachments.Attachment;
+import com.esotericsoftware.spine.attachments.BoundingBoxAttachment;
+import com.esotericsoftware.spine.attachments.MeshAttachment;
+import com.esotericsoftware.spine.attachments.RegionAttachment;
+import com.esotericsoftware.spine.attachments.SkinnedMeshAttachment;
+
+/** Shares skeleton data and atlases, so a file is loaded once no matter how many skeletons use it. Skeleton data is keyed by
+ * the skeleton file path, the scale and the atlas instance it was loaded with. Atlases are keyed by the atlas file path.
+ * <p>
+ * To get skeleton data, call {@link #acquire(String, float, Atlas)}. If it returns null, load the skeleton data and call
+ * {@link #add(String, float, Atlas, SkeletonData)}. Both count a reference, which must be removed with
+ * {@link #release(SkeletonData)} once no skeleton uses the data anymore. Skeleton data with no references is kept until the
+ * total size of the skeleton data with no references exceeds the budget, then the least recently used is evicted first. An
+ * atlas is {@link Atlas#dispose() disposed} once it is released and no cached skeleton data was loaded with it.
+ * <p>
+ * All methods are synchronized, so the cache can be used by loaders on multiple threads. */
+public class SkeletonDataCache {
+	private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true); // Least recently used first.
+	private final HashMap<String, Entry> atlases = new HashMap<String, Entry>();
+	private final IdentityHashMap<Object, Entry> values = new IdentityHashMap<Object, Entry>();
+	private long budget, size, unusedSize;
+	private int hits, misses, evictions;
+
+	/** @param budget See {@link #setBudget(long)}. */
+	public SkeletonDataCache (long budget) {
+		setBudget(budget);
+	}
+
+	/** Returns the cached skeleton data for the file loaded with the scale and atlas and adds a reference to it.
+	 * @param atlas May be null.
+	 * @return May be null if the skeleton data is not cached. */
+	public synchronized SkeletonData acquire (String path, float scale, Atlas atlas) {
+		if (path == null) throw new IllegalArgumentException("path cannot be null.");
+		Entry entry = entries.get(new Key(path, scale, atlas));
+		if (entry == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		addReference(entry);
+		return (SkeletonData)entry.value;
+	}
+
+	/** Adds skeleton data with one reference, using its {@link #estimateSize(SkeletonData) estimated size}. The size is estimated
+	 * again each time the skeleton data is released by its last reference, to count animations that were decoded meanwhile.
+	 * @see #add(String, float, Atlas, SkeletonData, long) */
+	public SkeletonData add (String path, float scale, Atlas atlas, SkeletonData skeletonData) {
+		if (skeletonData == null) throw new IllegalArgumentException("skeletonData cannot be null.");
+		SkeletonData added = add(path, scale, atlas, skeletonData, estimateSize(skeletonData));
+		if (added == skeletonData) values.get(skeletonData).estimated = true;
+		return added;
+	}
+
+	/** Adds skeleton data with one reference. If skeleton data with the same key was added in the meantime, eg by another thread,
+	 * a reference to that is added instead and it is returned.
+	 * @param atlas May be null. If the atlas is cached, it is kept until the skeleton data is evicted.
+	 * @param size The amount counted against the budget.
+	 * @return The skeleton data that should be used. */
+	public synchronized SkeletonData add (String path, float scale, Atlas atlas, SkeletonData skeletonData, long size) {
+		if (path == null) throw new IllegalArgumentException("path cannot be null.");
+		if (skeletonData == null) throw new IllegalArgumentException("skeletonData cannot be null.");
+		if (size < 0) throw new IllegalArgumentException("size must be >= 0.");
+		Key key = new Key(path, scale, atlas);
+		Entry entry = entries.get(key);
+		if (entry != null) {
+			addReference(entry);
+			return (SkeletonData)entry.value;
+		}
+		if (values.containsKey(skeletonData)) throw new IllegalArgumentException("skeletonData is already cached.");
+		entry = new Entry(key, skeletonData, size);
+		if (atlas != null) {
+			entry.atlas = values.get(atlas);
+			if (entry.atlas != null) entry.atlas.references++;
+		}
+		entries.put(key, entry);
+		values.put(skeletonData, entry);
+		this.size += size;
+		trim();
+		return skeletonData;
+	}
+
+	/** Removes a reference added by {@link #acquire(String, float, Atlas)} or {@link #add(String, float, Atlas, SkeletonData)}.
+	 * The skeleton data may then be evicted. */
+	public synchronized void release (SkeletonData skeletonData) {
+		if (skeletonData == null) throw new IllegalArgumentException("skeletonData cannot be null.");
+		Entry entry = values.get(skeletonData);
+		if (entry == null) throw new IllegalArgumentException("skeletonData is not cached.");
+		if (entry.references == 0) throw new IllegalStateException("skeletonData has already been released.");
+		if (--entry.references > 0) return;
+		if (entry.estimated) {
+			long newSize = estimateSize(skeletonData);
+			size += newSize - entry.size;
+			entry.size = newSize;
+		}
+		unusedSize += entry.size;
+		trim();
+	}
+
+	private void addReference (Entry entry) {
+		if (entry.references++ == 0) unusedSize -= entry.size;
+	}
+
+	/** Returns the cached atlas for the file and adds a reference to it.
+	 * @return May be null if the atlas is not cached. */
+	public synchronized Atlas acquireAtlas (String path) {
+		if (path == null) throw new IllegalArgumentException("path cannot be null.");
+		Entry entry = atlases.get(path);
+		if (entry == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		entry.references++;
+		return (Atlas)entry.value;
+	}
+
+	/** Adds an atlas with one reference. If an atlas with the same path was added in the meantime, a reference to that is added
+	 * instead and it is returned. The specified atlas is then not used by the cache and should be disposed by the caller.
+	 * @return The atlas that should be used. */
+	public synchronized Atlas addAtlas (String path, Atlas atlas) {
+		if (path == null) throw new IllegalArgumentException("path cannot be null.");
+		if (atlas == null) throw new IllegalArgumentException("atlas cannot be null.");
+		Entry entry = atlases.get(path);
+		if (entry != null) {
+			entry.references++;
+			return (Atlas)entry.value;
+		}
+		if (values.containsKey(atlas)) throw new IllegalArgumentException("atlas is already cached.");
+		entry = new Entry(path, atlas, 0);
+		atlases.put(path, entry);
+		values.put(atlas, entry);
+		return atlas;
+	}
+
+	/** Removes a reference added by {@link #acquireAtlas(String)} or {@link #addAtlas(String, Atlas)}. The atlas is disposed if
+	 * no cached skeleton data was loaded with it. */
+	public synchronized void release (Atlas atlas) {
+		if (atlas == null) throw new IllegalArgumentException("atlas cannot be null.");
+		Entry entry = values.get(atlas);
+		if (entry == null) throw new IllegalArgumentException("atlas is not cached.");
+		if (entry.references == 0) throw new IllegalStateException("atlas has already been released.");
+		releaseAtlas(entry);
+	}
+
+	/** Evicts all skeleton data that has no references, regardless of the budget. */
+	public synchronized void evictUnused () {
+		for (Iterator<Entry> iter = entries.values().iterator(); iter.hasNext();) {
+			Entry entry = iter.next();
+			if (entry.references == 0) evict(entry, iter);
+		}
+	}
+
+	/** Evicts skeleton data with no references, least recently used first, until their size is within the budget. */
+	private void trim () {
+		if (unusedSize <= budget) return;
+		for (Iterator<Entry> iter = entries.values().iterator(); iter.hasNext() && unusedSize > budget;) {
+			Entry entry = iter.next();
+			if (entry.references == 0) evict(entry, iter);
+		}
+	}
+
+	private void evict (Entry entry, Iterator<Entry> iter) {
+		iter.remove();
+		values.remove(entry.value);
+		size -= entry.size;
+		unusedSize -= entry.size;
+		evictions++;
+		if (entry.atlas != null) releaseAtlas(entry.atlas);
+	}
+
+	private void releaseAtlas (Entry entry) {
+		if (--entry.references > 0) return;
+		atlases.remove(entry.key);
+		values.remove(entry.value);
+		evictions++;
+		((Atlas)entry.value).dispose();
+	}
+
+	public synchronized long getBudget () {
+		return budget;
+	}
+
+	/** Sets the total size of skeleton data with no references that is kept. Skeleton data that is referenced is never evicted,
+	 * so the size may exceed the budget. */
+	public synchronized void setBudget (long budget) {
+		if (budget < 0) throw new IllegalArgumentException("budget must be >= 0.");
+		this.budget = budget;
+		trim();
+	}
+
+	/** Returns the total size of the cached skeleton data, including skeleton data that has references. */
+	public synchronized long getSize () {
+		return size;
+	}
+
+	/** Returns the total size of the cached skeleton data that has no references, which is kept within the budget. */
+	public synchronized long getUnusedSize () {
+		return unusedSize;
+	}
+
+	/** Returns the number of times acquiring skeleton data or an atlas found it in the cache. */
+	public synchronized int getHits () {
+		return hits;
+	}
+
+	/** Returns the number of times acquiring skeleton data or an atlas did not find it in the cache. */
+	public synchronized int getMisses () {
+		return misses;
+	}
+
+	/** Returns the number of skeleton data and atlases that have been evicted. */
+	public synchronized int getEvictions () {
+		return evictions;
+	}
+
+	public synchronized void resetCounters () {
+		hits = 0;
+		misses = 0;
+		evictions = 0;
+	}
+
+	/** Returns the approximate number of bytes used by the arrays of the skeleton data's attachments and decoded timelines, which
+	 * make up most of its memory. */
+	static public long estimateSize (SkeletonData skeletonData) {
+		long size = 0;
+		for (Skin skin : skeletonData.skins) {
+			for (HashMap<String, Attachment> slotAttachments : skin.attachments) {
+				if (slotAttachments == null) continue;
+				for (Attachment attachment : slotAttachments.values())
+					size += estimateSize(attachment);
+			}
+		}
+		for (Animation animation : skeletonData.animations) {
+			if (!animation.isLoaded()) continue;
+			for (Timeline timeline : animation.getTimelines())
+				size += estimateSize(timeline);
+		}
+		return size;
+	}
+
+	static private long estimateSize (Attachment attachment) {
+		if (attachment instanceof RegionAttachment) {
+			RegionAttachment region = (RegionAttachment)attachment;
+			return sizeOf(region.getOffset()) + sizeOf(region.getUvs());
+		}
+		if (attachment instanceof MeshAttachment) {
+			MeshAttachment mesh = (MeshAttachment)attachment;
+			return sizeOf(mesh.getVertices()) + sizeOf(mesh.getUvs()) + sizeOf(mesh.getRegionUVs()) + sizeOf(mesh.getTriangles())
+				+ sizeOf(mesh.getEdges());
+		}
+		if (attachment instanceof SkinnedMeshAttachment) {
+			SkinnedMeshAttachment mesh = (SkinnedMeshAttachment)attachment;
+			return sizeOf(mesh.getBones()) + sizeOf(mesh.getWeights()) + sizeOf(mesh.getUvs()) + sizeOf(mesh.getRegionUVs())
+				+ sizeOf(mesh.getTriangles()) + sizeOf(mesh.getEdges());
+		}
+		if (attachment instanceof BoundingBoxAttachment) return sizeOf(((BoundingBoxAttachment)attachment).getVertices());
+		return 0;
+	}
+
+	static private long estimateSize (Timeline timeline) {
+		long size = 0;
+		if (timeline instanceof CurveTimeline) {
+			CurveTimeline curveTimeline = (CurveTimeline)timeline;
+			size += sizeOf(curveTimeline.curves) + sizeOf(curveTimeline.lookup);
+		}
+		if (timeline instanceof RotateTimeline)
+			size += sizeOf(((RotateTimeline)timeline).getFrames());
+		else if (timeline instanceof TranslateTimeline) // Includes scale.
+			size += sizeOf(((TranslateTimeline)timeline).getFrames());
+		else if (timeline instanceof ColorTimeline)
+			size += sizeOf(((ColorTimeline)timeline).getFrames());
+		else if (timeline instanceof AttachmentTimeline) {
+			AttachmentTimeline attachmentTimeline = (AttachmentTimeline)timeline;
+			size += sizeOf(attachmentTimeline.getFrames()) + 16 + attachmentTimeline.getAttachmentNames().length * 4;
+		} else if (timeline instanceof EventTimeline) {
+			EventTimeline eventTimeline = (EventTimeline)timeline;
+			size += sizeOf(eventTimeline.getFrames()) + 16 + eventTimeline.getEvents().length * 32;
+		} else if (timeline instanceof DrawOrderTimeline) {
+			DrawOrderTimeline drawOrderTimeline = (DrawOrderTimeline)timeline;
+			size += sizeOf(drawOrderTimeline.getFrames());
+			for (int[] drawOrder : drawOrderTimeline.getDrawOrders())
+				size += sizeOf(drawOrder);
+		} else if (timeline instanceof FfdTimeline) {
+			FfdTimeline ffdTimeline = (FfdTimeline)timeline;
+			size += sizeOf(ffdTimeline.getFrames());
+			for (float[] vertices : ffdTimeline.getVertices())
+				size += sizeOf(vertices);
+		}
+		return size;
+	}
+
+	static private long sizeOf (float[] array) {
+		return array == null ? 0 : 16 + array.length * 4;
+	}
+
+	static private long sizeOf (int[] array) {
+		return array == null ? 0 : 16 + array.length * 4;
+	}
+
+	static private long sizeOf (short[] array) {
+		return array == null ? 0 : 16 + array.length * 2;
+	}
+
+	static private class Key {
+		final String path;
+		final float scale;
+		final Atlas atlas;
+
+		Key (String path, float scale, Atlas atlas) {
+			this.path = path;
+			this.scale = scale;
+			this.atlas = atlas;
+		}
+
+		public int hashCode () {
+			return (path.hashCode() * 31 + Float.floatToIntBits(scale)) * 31 + System.identityHashCode(atlas);
+		}
+
+		public boolean equals (Object object) {
+			if (!(object instanceof Key)) return false;
+			Key other = (Key)object;
+			return path.equals(other.path) && Float.floatToIntBits(scale) == Float.floatToIntBits(other.scale) && atlas == other.atlas;
+		}
+	}
+
+	static private class Entry {
+		final Object key, value;
+		long size;
+		boolean estimated; // The size is estimated again when the last reference is released.
+		int references = 1;
+		Entry atlas; // The cached atlas the skeleton data was loaded with, or null.
+
+		Entry (Object key, Object value, long size) {
+			this.key = key;
+			this.value = value;
+			this.size = size;
+		}
+	}
+}
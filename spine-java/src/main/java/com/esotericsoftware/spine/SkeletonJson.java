@@ -30,6 +30,11 @@
 
 package com.esotericsoftware.spine;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -58,6 +63,8 @@ import com.esotericsoftware.spine.attachments.SkinnedMeshAttachment;
 public class SkeletonJson {
 	private AttachmentLoader attachmentLoader;
 	float scale;
+	int curveLookupSize;
+	boolean headless;
 
 	public SkeletonJson(Atlas atlas) {
 		this(new AtlasAttachmentLoader(atlas));
@@ -166,6 +173,61 @@ public class SkeletonJson {
 		return skeletonData;
 	}
 
+	/** Reads UTF-8 JSON from the stream, as {@link #readSkeletonData(String, Reader)} does. The stream is closed. */
+	public SkeletonData readSkeletonData(String name, InputStream input) {
+		if (input == null) throw new IllegalArgumentException("input cannot be null.");
+		return readSkeletonData(name, new InputStreamReader(input, Charset.forName("UTF-8")));
+	}
+
+	/** Builds the skeleton data while the JSON is parsed, without first building a tree of maps, lists and boxed numbers. The
+	 * top level sections must be in the order Spine writes them: bones, slots, skins, events and animations. The reader is
+	 * closed. */
+	public SkeletonData readSkeletonData(String name, Reader reader) {
+		if (name == null) throw new IllegalArgumentException("name cannot be null.");
+		if (reader == null) throw new IllegalArgumentException("reader cannot be null.");
+
+		SkeletonData skeletonData = new SkeletonData();
+		skeletonData.name = name;
+
+		JsonPullParser parser = new JsonPullParser(reader);
+		try {
+			parser.beginObject();
+			while (parser.hasNext()) {
+				String key = parser.nextName();
+				if (key.equals("bones"))
+					readBones(parser, skeletonData);
+				else if (key.equals("slots"))
+					readSlots(parser, skeletonData);
+				else if (key.equals("skins"))
+					readSkins(parser, skeletonData);
+				else if (key.equals("events"))
+					readEvents(parser, skeletonData);
+				else if (key.equals("animations")) {
+					Frames frames = new Frames();
+					parser.beginObject();
+					while (parser.hasNext())
+						readAnimation(parser.nextName(), parser, skeletonData, frames);
+					parser.endObject();
+				} else
+					parser.skipValue();
+			}
+			parser.endObject();
+		} catch (IOException ex) {
+			throw new RuntimeException("Error reading skeleton file.", ex);
+		} finally {
+			try {
+				reader.close();
+			} catch (IOException ignored) {
+			}
+		}
+
+		skeletonData.bones.trimToSize();
+		skeletonData.slots.trimToSize();
+		skeletonData.skins.trimToSize();
+		skeletonData.animations.trimToSize();
+		return skeletonData;
+	}
+
 	private Attachment readAttachment(Skin skin, String name, Map<String, Object> map) {
 		if (map.containsKey("name"))
 			name = (String) map.get("name");
@@ -233,30 +295,7 @@ public class SkeletonJson {
 				mesh.setPath(path);
 				float[] uvs = getFloatArray(map, "uvs", 1);
 				float[] vertices = getFloatArray(map, "vertices", 1);
-				ArrayList<Float> weights = new ArrayList<Float>(uvs.length * 3 * 3);
-				ArrayList<Integer> bones = new ArrayList<Integer>(uvs.length * 3);
-				float scale = this.scale;
-				for (int i = 0, n = vertices.length; i < n; ) {
-					int boneCount = (int) vertices[i++];
-					bones.add(boneCount);
-					for (int nn = i + boneCount * 4; i < nn; ) {
-						bones.add((int)vertices[i]);
-						weights.add(vertices[i + 1] * scale);
-						weights.add(vertices[i + 2] * scale);
-						weights.add(vertices[i + 3]);
-						i += 4;
-					}
-				}
-				int[] ibones = new int[bones.size()];
-				for (int i = 0; i < ibones.length; i++) {
-					ibones[i] = bones.get(i);
-				}
-				mesh.setBones(ibones);
-				float[] fweights = new float[weights.size()];
-				for (int i = 0; i < fweights.length; i++) {
-					fweights[i] = weights.get(i);
-				}
-				mesh.setWeights(fweights);
+				setSkinnedVertices(mesh, uvs, vertices);
 				mesh.setTriangles(getShortArray(map, "triangles"));
 				mesh.setRegionUVs(uvs);
 				mesh.updateUVs();
@@ -285,6 +324,26 @@ public class SkeletonJson {
 		return null;
 	}
 	
+	private void setSkinnedVertices(SkinnedMeshAttachment mesh, float[] uvs, float[] vertices) {
+		// Each vertex has a bone count followed by 4 values per bone, so the array sizes are known up front.
+		int boneCount = (vertices.length - uvs.length / 2) / 4;
+		int[] bones = new int[uvs.length / 2 + boneCount];
+		float[] weights = new float[boneCount * 3];
+		float scale = this.scale;
+		for (int i = 0, b = 0, w = 0, n = vertices.length; i < n; ) {
+			int vertexBoneCount = (int) vertices[i++];
+			bones[b++] = vertexBoneCount;
+			for (int nn = i + vertexBoneCount * 4; i < nn; i += 4) {
+				bones[b++] = (int)vertices[i];
+				weights[w++] = vertices[i + 1] * scale;
+				weights[w++] = vertices[i + 2] * scale;
+				weights[w++] = vertices[i + 3];
+			}
+		}
+		mesh.setBones(bones);
+		mesh.setWeights(weights);
+	}
+
 	private float[] getFloatArray(Map<String, Object> map, String name, float scale) {
 		List<Number> list = (List<Number>) map.get(name);
 		int fsize = list.size();
@@ -373,7 +432,7 @@ public class SkeletonJson {
 							readCurve(timeline, frameIndex, valueMap);
 							frameIndex++;
 						}
-						timelines.add(timeline);
+						if (!headless) timelines.add(timeline);
 						duration = Math.max(duration, timeline.getFrames()[timeline.getFrameCount() * 5 - 5]);
 
 					} else if (timelineName.equals("attachment")) {
@@ -457,7 +516,11 @@ public class SkeletonJson {
 						List<Map<String, Object>> values = (List<Map<String, Object>>) meshMap.getValue();
 						FfdTimeline timeline = new FfdTimeline(values.size());
 						Attachment attachment = skin.getAttachment(slotIndex, meshMap.getKey());
-						if (attachment == null) throw new RuntimeException("FFD attachment not found: " + meshMap.getKey());
+						if (attachment == null) {
+							// Not loaded by the attachment loader, so the timeline is skipped.
+							duration = Math.max(duration, ((Number)values.get(values.size() - 1).get("time")).floatValue());
+							continue;
+						}
 						timeline.slotIndex = slotIndex;
 						timeline.attachment = attachment;
 
@@ -537,7 +600,7 @@ public class SkeletonJson {
 				}
 				timeline.setFrame(frameIndex++, ((Number) drawOrderMap.get("time")).floatValue(), drawOrder);
 			}
-			timelines.add(timeline);
+			if (!headless) timelines.add(timeline);
 			duration = Math.max(duration, timeline.getFrames()[timeline.getFrameCount() - 1]);
 		}
 
@@ -570,10 +633,736 @@ public class SkeletonJson {
 			timeline.setStepped(frameIndex);
 		else if (curveObject instanceof List) {
 			List<Number> curve = (List<Number>)curveObject;
+			timeline.setLookupSize(curveLookupSize);
 			timeline.setCurve(frameIndex, curve.get(0).floatValue(), curve.get(1).floatValue(), curve.get(2).floatValue(), curve.get(3).floatValue());
 		}
 	}
 
+	private void readBones(JsonPullParser parser, SkeletonData skeletonData) throws IOException {
+		float scale = this.scale;
+		parser.beginArray();
+		while (parser.hasNext()) {
+			String boneName = null, parentName = null;
+			float length = 0, x = 0, y = 0, rotation = 0, scaleX = 1, scaleY = 1;
+			boolean inheritScale = true, inheritRotation = true;
+			parser.beginObject();
+			while (parser.hasNext()) {
+				String key = parser.nextName();
+				if (key.equals("name"))
+					boneName = parser.nextString();
+				else if (key.equals("parent"))
+					parentName = parser.nextString();
+				else if (key.equals("length"))
+					length = parser.nextFloat();
+				else if (key.equals("x"))
+					x = parser.nextFloat();
+				else if (key.equals("y"))
+					y = parser.nextFloat();
+				else if (key.equals("rotation"))
+					rotation = parser.nextFloat();
+				else if (key.equals("scaleX"))
+					scaleX = parser.nextFloat();
+				else if (key.equals("scaleY"))
+					scaleY = parser.nextFloat();
+				else if (key.equals("inheritScale"))
+					inheritScale = parser.nextBoolean();
+				else if (key.equals("inheritRotation"))
+					inheritRotation = parser.nextBoolean();
+				else
+					parser.skipValue();
+			}
+			parser.endObject();
+
+			BoneData parent = null;
+			if (parentName != null) {
+				parent = skeletonData.findBone(parentName);
+				if (parent == null)
+					throw new RuntimeException("Parent bone not found: " + parentName);
+			}
+			BoneData boneData = new BoneData(boneName, parent);
+			boneData.length = length * scale;
+			boneData.x = x * scale;
+			boneData.y = y * scale;
+			boneData.rotation = rotation;
+			boneData.scaleX = scaleX;
+			boneData.scaleY = scaleY;
+			boneData.inheritScale = inheritScale;
+			boneData.inheritRotation = inheritRotation;
+			skeletonData.addBone(boneData);
+		}
+		parser.endArray();
+	}
+
+	private void readSlots(JsonPullParser parser, SkeletonData skeletonData) throws IOException {
+		parser.beginArray();
+		while (parser.hasNext()) {
+			String slotName = null, boneName = null, color = null, attachmentName = null;
+			boolean additive = false;
+			parser.beginObject();
+			while (parser.hasNext()) {
+				String key = parser.nextName();
+				if (key.equals("name"))
+					slotName = parser.nextString();
+				else if (key.equals("bone"))
+					boneName = parser.nextString();
+				else if (key.equals("color"))
+					color = parser.nextString();
+				else if (key.equals("attachment"))
+					attachmentName = parser.nextString();
+				else if (key.equals("additive"))
+					additive = parser.nextBoolean();
+				else
+					parser.skipValue();
+			}
+			parser.endObject();
+
+			BoneData boneData = skeletonData.findBone(boneName);
+			if (boneData == null)
+				throw new RuntimeException("Slot bone not found: " + boneName);
+			SlotData slotData = new SlotData(slotName, boneData);
+			if (color != null) {
+				slotData.r = toColor(color, 0);
+				slotData.g = toColor(color, 1);
+				slotData.b = toColor(color, 2);
+				slotData.a = toColor(color, 3);
+			}
+			slotData.attachmentName = attachmentName;
+			slotData.additiveBlending = additive;
+			skeletonData.addSlot(slotData);
+		}
+		parser.endArray();
+	}
+
+	private void readSkins(JsonPullParser parser, SkeletonData skeletonData) throws IOException {
+		parser.beginObject();
+		while (parser.hasNext()) {
+			Skin skin = new Skin(parser.nextName());
+			parser.beginObject();
+			while (parser.hasNext()) {
+				int slotIndex = skeletonData.findSlotIndex(parser.nextName());
+				parser.beginObject();
+				while (parser.hasNext()) {
+					String attachmentName = parser.nextName();
+					Attachment attachment = readAttachment(parser, skin, attachmentName);
+					if (attachment != null) skin.addAttachment(slotIndex, attachmentName, attachment);
+				}
+				parser.endObject();
+			}
+			parser.endObject();
+			skeletonData.addSkin(skin);
+			if (skin.name.equals("default"))
+				skeletonData.defaultSkin = skin;
+		}
+		parser.endObject();
+	}
+
+	private Attachment readAttachment(JsonPullParser parser, Skin skin, String name) throws IOException {
+		AttachmentType type = AttachmentType.region;
+		String path = null, color = null;
+		float x = 0, y = 0, scaleX = 1, scaleY = 1, rotation = 0;
+		double width = Double.NaN, height = Double.NaN;
+		float[] uvs = null, vertices = null;
+		short[] triangles = null;
+		int[] edges = null;
+		int hull = 0;
+		parser.beginObject();
+		while (parser.hasNext()) {
+			String key = parser.nextName();
+			if (key.equals("name"))
+				name = parser.nextString();
+			else if (key.equals("type"))
+				type = AttachmentType.valueOf(parser.nextString());
+			else if (key.equals("path"))
+				path = parser.nextString();
+			else if (key.equals("x"))
+				x = parser.nextFloat();
+			else if (key.equals("y"))
+				y = parser.nextFloat();
+			else if (key.equals("scaleX"))
+				scaleX = parser.nextFloat();
+			else if (key.equals("scaleY"))
+				scaleY = parser.nextFloat();
+			else if (key.equals("rotation"))
+				rotation = parser.nextFloat();
+			else if (key.equals("width"))
+				width = parser.nextDouble();
+			else if (key.equals("height"))
+				height = parser.nextDouble();
+			else if (key.equals("color"))
+				color = parser.nextString();
+			else if (key.equals("uvs"))
+				uvs = parser.nextFloatArray(1);
+			else if (key.equals("vertices"))
+				vertices = parser.nextFloatArray(1);
+			else if (key.equals("triangles"))
+				triangles = parser.nextShortArray();
+			else if (key.equals("edges"))
+				edges = parser.nextIntArray();
+			else if (key.equals("hull"))
+				hull = parser.nextInt();
+			else
+				parser.skipValue();
+		}
+		parser.endObject();
+		if (path == null) path = name;
+
+		float scale = this.scale;
+		switch (type) {
+		case region: {
+			RegionAttachment region = attachmentLoader.newRegionAttachment(skin, name, path);
+			if (region == null) return null;
+			region.setPath(path);
+			region.setX(x * scale);
+			region.setY(y * scale);
+			region.setScaleX(scaleX);
+			region.setScaleY(scaleY);
+			region.setRotation(rotation);
+			region.setWidth((Double.isNaN(width) ? 32 : (float)width) * scale);
+			region.setHeight((Double.isNaN(height) ? 32 : (float)height) * scale);
+			region.updateOffset();
+			if (color != null) {
+				region.setR(toColor(color, 0));
+				region.setG(toColor(color, 1));
+				region.setB(toColor(color, 2));
+				region.setA(toColor(color, 3));
+			}
+			return region;
+		}
+		case mesh: {
+			MeshAttachment mesh = attachmentLoader.newMeshAttachment(skin, name, path);
+			if (mesh == null) return null;
+			mesh.setPath(path);
+			if (scale != 1) {
+				for (int i = 0, n = vertices.length; i < n; i++)
+					vertices[i] *= scale;
+			}
+			mesh.setVertices(vertices);
+			mesh.setTriangles(triangles);
+			mesh.setRegionUVs(uvs);
+			mesh.updateUVs();
+			if (color != null) {
+				mesh.setR(toColor(color, 0));
+				mesh.setG(toColor(color, 1));
+				mesh.setB(toColor(color, 2));
+				mesh.setA(toColor(color, 3));
+			}
+			mesh.setHullLength(hull * 2);
+			if (edges != null) mesh.setEdges(edges);
+			mesh.setWidth((Double.isNaN(width) ? 0 : (int)width) * scale);
+			mesh.setHeight((Double.isNaN(height) ? 0 : (int)height) * scale);
+			return mesh;
+		}
+		case skinnedmesh: {
+			SkinnedMeshAttachment mesh = attachmentLoader.newSkinnedMeshAttachment(skin, name, path);
+			if (mesh == null) return null;
+			mesh.setPath(path);
+			setSkinnedVertices(mesh, uvs, vertices);
+			mesh.setTriangles(triangles);
+			mesh.setRegionUVs(uvs);
+			mesh.updateUVs();
+			if (color != null) {
+				mesh.setR(toColor(color, 0));
+				mesh.setG(toColor(color, 1));
+				mesh.setB(toColor(color, 2));
+				mesh.setA(toColor(color, 3));
+			}
+			mesh.setHullLength(hull * 2);
+			if (edges != null) mesh.setEdges(edges);
+			mesh.setWidth((Double.isNaN(width) ? 0 : (int)width) * scale);
+			mesh.setHeight((Double.isNaN(height) ? 0 : (int)height) * scale);
+			return mesh;
+		}
+		case boundingbox: {
+			BoundingBoxAttachment box = attachmentLoader.newBoundingBoxAttachment(skin, name);
+			if (box == null) return null;
+			if (scale != 1) {
+				for (int i = 0, n = vertices.length; i < n; i++)
+					vertices[i] *= scale;
+			}
+			box.setVertices(vertices);
+			return box;
+		}
+		}
+		return null;
+	}
+
+	private void readEvents(JsonPullParser parser, SkeletonData skeletonData) throws IOException {
+		parser.beginObject();
+		while (parser.hasNext()) {
+			EventData eventData = new EventData(parser.nextName());
+			parser.beginObject();
+			while (parser.hasNext()) {
+				String key = parser.nextName();
+				if (key.equals("int"))
+					eventData.setInt(parser.nextInt());
+				else if (key.equals("float"))
+					eventData.setFloat(parser.nextFloat());
+				else if (key.equals("string"))
+					eventData.setString(parser.nextString());
+				else
+					parser.skipValue();
+			}
+			parser.endObject();
+			skeletonData.addEvent(eventData);
+		}
+		parser.endObject();
+	}
+
+	private void readAnimation(String name, JsonPullParser parser, SkeletonData skeletonData, Frames frames) throws IOException {
+		// The timelines are ordered the same as when reading from a map, regardless of the order of the sections.
+		ArrayList<Timeline> slotTimelines = new ArrayList<Timeline>();
+		ArrayList<Timeline> boneTimelines = new ArrayList<Timeline>();
+		ArrayList<Timeline> ffdTimelines = new ArrayList<Timeline>();
+		ArrayList<Timeline> drawOrderTimelines = new ArrayList<Timeline>();
+		ArrayList<Timeline> eventTimelines = new ArrayList<Timeline>();
+		float duration = 0;
+
+		parser.beginObject();
+		while (parser.hasNext()) {
+			String key = parser.nextName();
+			if (key.equals("slots"))
+				duration = Math.max(duration, readSlotTimelines(parser, skeletonData, frames, slotTimelines));
+			else if (key.equals("bones"))
+				duration = Math.max(duration, readBoneTimelines(parser, skeletonData, frames, boneTimelines));
+			else if (key.equals("ffd"))
+				duration = Math.max(duration, readFfdTimelines(parser, skeletonData, frames, ffdTimelines));
+			else if (key.equals("draworder"))
+				duration = Math.max(duration, readDrawOrderTimeline(parser, skeletonData, frames, drawOrderTimelines));
+			else if (key.equals("events"))
+				duration = Math.max(duration, readEventTimeline(parser, skeletonData, frames, eventTimelines));
+			else
+				parser.skipValue();
+		}
+		parser.endObject();
+
+		ArrayList<Timeline> timelines = new ArrayList<Timeline>(slotTimelines.size() + boneTimelines.size() + ffdTimelines.size()
+			+ drawOrderTimelines.size() + eventTimelines.size());
+		timelines.addAll(slotTimelines);
+		timelines.addAll(boneTimelines);
+		timelines.addAll(ffdTimelines);
+		timelines.addAll(drawOrderTimelines);
+		timelines.addAll(eventTimelines);
+		skeletonData.addAnimation(new Animation(name, timelines, duration));
+	}
+
+	private float readSlotTimelines(JsonPullParser parser, SkeletonData skeletonData, Frames frames, ArrayList<Timeline> timelines)
+		throws IOException {
+		float duration = 0;
+		parser.beginObject();
+		while (parser.hasNext()) {
+			String slotName = parser.nextName();
+			int slotIndex = skeletonData.findSlotIndex(slotName);
+			parser.beginObject();
+			while (parser.hasNext()) {
+				String timelineName = parser.nextName();
+				frames.clear();
+				if (timelineName.equals("color")) {
+					parser.beginArray();
+					while (parser.hasNext()) {
+						float time = 0;
+						String color = null;
+						parser.beginObject();
+						while (parser.hasNext()) {
+							String key = parser.nextName();
+							if (key.equals("time"))
+								time = parser.nextFloat();
+							else if (key.equals("color"))
+								color = parser.nextString();
+							else if (key.equals("curve"))
+								readCurve(parser, frames);
+							else
+								parser.skipValue();
+						}
+						parser.endObject();
+						frames.add(time);
+						frames.add(toColor(color, 0));
+						frames.add(toColor(color, 1));
+						frames.add(toColor(color, 2));
+						frames.add(toColor(color, 3));
+						frames.next(null);
+					}
+					parser.endArray();
+
+					ColorTimeline timeline = new ColorTimeline(frames.count);
+					timeline.slotIndex = slotIndex;
+					float[] values = frames.values;
+					for (int i = 0, v = 0; i < frames.count; i++, v += 5) {
+						timeline.setFrame(i, values[v], values[v + 1], values[v + 2], values[v + 3], values[v + 4]);
+						setCurve(timeline, i, frames);
+					}
+					if (!headless) timelines.add(timeline);
+					duration = Math.max(duration, timeline.getFrames()[timeline.getFrameCount() * 5 - 5]);
+
+				} else if (timelineName.equals("attachment")) {
+					parser.beginArray();
+					while (parser.hasNext()) {
+						float time = 0;
+						String attachmentName = null;
+						parser.beginObject();
+						while (parser.hasNext()) {
+							String key = parser.nextName();
+							if (key.equals("time"))
+								time = parser.nextFloat();
+							else if (key.equals("name"))
+								attachmentName = parser.nextString();
+							else
+								parser.skipValue();
+						}
+						parser.endObject();
+						frames.add(time);
+						frames.next(attachmentName);
+					}
+					parser.endArray();
+
+					AttachmentTimeline timeline = new AttachmentTimeline(frames.count);
+					timeline.slotIndex = slotIndex;
+					for (int i = 0; i < frames.count; i++)
+						timeline.setFrame(i, frames.values[i], (String)frames.objects[i]);
+					timelines.add(timeline);
+					duration = Math.max(duration, timeline.getFrames()[timeline.getFrameCount() - 1]);
+
+				} else
+					throw new RuntimeException("Invalid timeline type for a slot: " + timelineName + " (" + slotName + ")");
+			}
+			parser.endObject();
+		}
+		parser.endObject();
+		return duration;
+	}
+
+	private float readBoneTimelines(JsonPullParser parser, SkeletonData skeletonData, Frames frames, ArrayList<Timeline> timelines)
+		throws IOException {
+		float duration = 0;
+		parser.beginObject();
+		while (parser.hasNext()) {
+			String boneName = parser.nextName();
+			int boneIndex = skeletonData.findBoneIndex(boneName);
+			if (boneIndex == -1)
+				throw new RuntimeException("Bone not found: " + boneName);
+			parser.beginObject();
+			while (parser.hasNext()) {
+				String timelineName = parser.nextName();
+				frames.clear();
+				if (timelineName.equals("rotate")) {
+					parser.beginArray();
+					while (parser.hasNext()) {
+						float time = 0, angle = 0;
+						parser.beginObject();
+						while (parser.hasNext()) {
+							String key = parser.nextName();
+							if (key.equals("time"))
+								time = parser.nextFloat();
+							else if (key.equals("angle"))
+								angle = parser.nextFloat();
+							else if (key.equals("curve"))
+								readCurve(parser, frames);
+							else
+								parser.skipValue();
+						}
+						parser.endObject();
+						frames.add(time);
+						frames.add(angle);
+						frames.next(null);
+					}
+					parser.endArray();
+
+					RotateTimeline timeline = new RotateTimeline(frames.count);
+					timeline.boneIndex = boneIndex;
+					float[] values = frames.values;
+					for (int i = 0, v = 0; i < frames.count; i++, v += 2) {
+						timeline.setFrame(i, values[v], values[v + 1]);
+						setCurve(timeline, i, frames);
+					}
+					timelines.add(timeline);
+					duration = Math.max(duration, timeline.getFrames()[timeline.getFrameCount() * 2 - 2]);
+
+				} else if (timelineName.equals("translate") || timelineName.equals("scale")) {
+					parser.beginArray();
+					while (parser.hasNext()) {
+						float time = 0, x = 0, y = 0;
+						parser.beginObject();
+						while (parser.hasNext()) {
+							String key = parser.nextName();
+							if (key.equals("time"))
+								time = parser.nextFloat();
+							else if (key.equals("x"))
+								x = parser.nextFloat();
+							else if (key.equals("y"))
+								y = parser.nextFloat();
+							else if (key.equals("curve"))
+								readCurve(parser, frames);
+							else
+								parser.skipValue();
+						}
+						parser.endObject();
+						frames.add(time);
+						frames.add(x);
+						frames.add(y);
+						frames.next(null);
+					}
+					parser.endArray();
+
+					TranslateTimeline timeline;
+					float timelineScale = 1;
+					if (timelineName.equals("scale"))
+						timeline = new ScaleTimeline(frames.count);
+					else {
+						timeline = new TranslateTimeline(frames.count);
+						timelineScale = scale;
+					}
+					timeline.boneIndex = boneIndex;
+					float[] values = frames.values;
+					for (int i = 0, v = 0; i < frames.count; i++, v += 3) {
+						timeline.setFrame(i, values[v], values[v + 1] * timelineScale, values[v + 2] * timelineScale);
+						setCurve(timeline, i, frames);
+					}
+					timelines.add(timeline);
+					duration = Math.max(duration, timeline.getFrames()[timeline.getFrameCount() * 3 - 3]);
+
+				} else
+					throw new RuntimeException("Invalid timeline type for a bone: " + timelineName + " (" + boneName + ")");
+			}
+			parser.endObject();
+		}
+		parser.endObject();
+		return duration;
+	}
+
+	private float readFfdTimelines(JsonPullParser parser, SkeletonData skeletonData, Frames frames, ArrayList<Timeline> timelines)
+		throws IOException {
+		float scale = this.scale;
+		float duration = 0;
+		parser.beginObject();
+		while (parser.hasNext()) {
+			Skin skin = skeletonData.findSkin(parser.nextName());
+			parser.beginObject();
+			while (parser.hasNext()) {
+				int slotIndex = skeletonData.findSlotIndex(parser.nextName());
+				parser.beginObject();
+				while (parser.hasNext()) {
+					// When the attachment was not loaded by the attachment loader, the timeline is skipped.
+					Attachment attachment = skin.getAttachment(slotIndex, parser.nextName());
+					int vertexCount = 0;
+					if (attachment instanceof MeshAttachment)
+						vertexCount = ((MeshAttachment)attachment).getVertices().length;
+					else if (attachment != null)
+						vertexCount = ((SkinnedMeshAttachment)attachment).getWeights().length / 3 * 2;
+
+					frames.clear();
+					parser.beginArray();
+					while (parser.hasNext()) {
+						float time = 0;
+						float[] offsetVertices = null;
+						int start = 0;
+						parser.beginObject();
+						while (parser.hasNext()) {
+							String key = parser.nextName();
+							if (key.equals("time"))
+								time = parser.nextFloat();
+							else if (key.equals("vertices"))
+								offsetVertices = parser.nextFloatArray(scale);
+							else if (key.equals("offset"))
+								start = parser.nextInt();
+							else if (key.equals("curve"))
+								readCurve(parser, frames);
+							else
+								parser.skipValue();
+						}
+						parser.endObject();
+
+						float[] vertices = null;
+						if (attachment != null) {
+							if (offsetVertices == null) {
+								if (attachment instanceof MeshAttachment)
+									vertices = ((MeshAttachment)attachment).getVertices();
+								else
+									vertices = new float[vertexCount];
+							} else {
+								vertices = new float[vertexCount];
+								System.arraycopy(offsetVertices, 0, vertices, start, offsetVertices.length);
+								if (attachment instanceof MeshAttachment) {
+									float[] meshVertices = ((MeshAttachment)attachment).getVertices();
+									for (int i = 0, n = vertices.length; i < n; i++)
+										vertices[i] += meshVertices[i];
+								}
+							}
+						}
+						frames.add(time);
+						frames.next(vertices);
+					}
+					parser.endArray();
+
+					if (attachment == null) {
+						duration = Math.max(duration, frames.values[frames.count - 1]);
+						continue;
+					}
+					FfdTimeline timeline = new FfdTimeline(frames.count);
+					timeline.slotIndex = slotIndex;
+					timeline.attachment = attachment;
+					for (int i = 0; i < frames.count; i++) {
+						timeline.setFrame(i, frames.values[i], (float[])frames.objects[i]);
+						setCurve(timeline, i, frames);
+					}
+					timelines.add(timeline);
+					duration = Math.max(duration, timeline.getFrames()[timeline.getFrameCount() - 1]);
+				}
+				parser.endObject();
+			}
+			parser.endObject();
+		}
+		parser.endObject();
+		return duration;
+	}
+
+	private float readDrawOrderTimeline(JsonPullParser parser, SkeletonData skeletonData, Frames frames,
+		ArrayList<Timeline> timelines) throws IOException {
+		frames.clear();
+		parser.beginArray();
+		while (parser.hasNext()) {
+			float time = 0;
+			int[] drawOrder = null;
+			parser.beginObject();
+			while (parser.hasNext()) {
+				String key = parser.nextName();
+				if (key.equals("time"))
+					time = parser.nextFloat();
+				else if (key.equals("offsets"))
+					drawOrder = readDrawOrder(parser, skeletonData);
+				else
+					parser.skipValue();
+			}
+			parser.endObject();
+			frames.add(time);
+			frames.next(drawOrder);
+		}
+		parser.endArray();
+
+		DrawOrderTimeline timeline = new DrawOrderTimeline(frames.count);
+		for (int i = 0; i < frames.count; i++)
+			timeline.setFrame(i, frames.values[i], (int[])frames.objects[i]);
+		if (!headless) timelines.add(timeline);
+		return timeline.getFrames()[timeline.getFrameCount() - 1];
+	}
+
+	private int[] readDrawOrder(JsonPullParser parser, SkeletonData skeletonData) throws IOException {
+		int slotCount = skeletonData.slots.size();
+		int[] drawOrder = new int[slotCount];
+		for (int i = slotCount - 1; i >= 0; i--)
+			drawOrder[i] = -1;
+		int[] unchanged = new int[slotCount];
+		int originalIndex = 0, unchangedIndex = 0;
+		parser.beginArray();
+		while (parser.hasNext()) {
+			String slotName = null;
+			int offset = 0;
+			parser.beginObject();
+			while (parser.hasNext()) {
+				String key = parser.nextName();
+				if (key.equals("slot"))
+					slotName = parser.nextString();
+				else if (key.equals("offset"))
+					offset = parser.nextInt();
+				else
+					parser.skipValue();
+			}
+			parser.endObject();
+			int slotIndex = skeletonData.findSlotIndex(slotName);
+			if (slotIndex == -1) throw new RuntimeException("Slot not found: " + slotName);
+			// Collect unchanged items.
+			while (originalIndex != slotIndex)
+				unchanged[unchangedIndex++] = originalIndex++;
+			// Set changed items.
+			drawOrder[originalIndex + offset] = originalIndex++;
+		}
+		parser.endArray();
+		// Collect remaining unchanged items.
+		while (originalIndex < slotCount)
+			unchanged[unchangedIndex++] = originalIndex++;
+		// Fill in unchanged items.
+		for (int i = slotCount - 1; i >= 0; i--)
+			if (drawOrder[i] == -1) drawOrder[i] = unchanged[--unchangedIndex];
+		return drawOrder;
+	}
+
+	private float readEventTimeline(JsonPullParser parser, SkeletonData skeletonData, Frames frames, ArrayList<Timeline> timelines)
+		throws IOException {
+		frames.clear();
+		parser.beginArray();
+		while (parser.hasNext()) {
+			float time = 0;
+			String eventName = null;
+			boolean hasInt = false, hasFloat = false, hasString = false;
+			int intValue = 0;
+			float floatValue = 0;
+			String stringValue = null;
+			parser.beginObject();
+			while (parser.hasNext()) {
+				String key = parser.nextName();
+				if (key.equals("time"))
+					time = parser.nextFloat();
+				else if (key.equals("name"))
+					eventName = parser.nextString();
+				else if (key.equals("int")) {
+					intValue = parser.nextInt();
+					hasInt = true;
+				} else if (key.equals("float")) {
+					floatValue = parser.nextFloat();
+					hasFloat = true;
+				} else if (key.equals("string")) {
+					stringValue = parser.nextString();
+					hasString = true;
+				} else
+					parser.skipValue();
+			}
+			parser.endObject();
+
+			EventData eventData = skeletonData.findEvent(eventName);
+			if (eventData == null) throw new RuntimeException("Event not found: " + eventName);
+			Event e = new Event(eventData);
+			e.setInt(hasInt ? intValue : eventData.getInt());
+			e.setFloat(hasFloat ? floatValue : eventData.getFloat());
+			e.setString(hasString ? stringValue : eventData.getString());
+			frames.add(time);
+			frames.next(e);
+		}
+		parser.endArray();
+
+		EventTimeline timeline = new EventTimeline(frames.count);
+		for (int i = 0; i < frames.count; i++)
+			timeline.setFrame(i, frames.values[i], (Event)frames.objects[i]);
+		timelines.add(timeline);
+		return timeline.getFrames()[timeline.getFrameCount() - 1];
+	}
+
+	private void readCurve(JsonPullParser parser, Frames frames) throws IOException {
+		int c = parser.peek();
+		if (c == '"') {
+			if (parser.nextString().equals("stepped")) frames.curveType = CurveTimeline.STEPPED;
+		} else if (c == '[') {
+			parser.beginArray();
+			frames.curveType = CurveTimeline.BEZIER;
+			frames.cx1 = parser.nextFloat();
+			frames.cy1 = parser.nextFloat();
+			frames.cx2 = parser.nextFloat();
+			frames.cy2 = parser.nextFloat();
+			while (parser.hasNext())
+				parser.skipValue();
+			parser.endArray();
+		} else
+			parser.skipValue();
+	}
+
+	private void setCurve(CurveTimeline timeline, int frameIndex, Frames frames) {
+		float[] curves = frames.curves;
+		int i = frameIndex * 5;
+		if (curves[i] == CurveTimeline.STEPPED)
+			timeline.setStepped(frameIndex);
+		else if (curves[i] == CurveTimeline.BEZIER) {
+			timeline.setLookupSize(curveLookupSize);
+			timeline.setCurve(frameIndex, curves[i + 1], curves[i + 2], curves[i + 3], curves[i + 4]);
+		}
+	}
+
 	public float getScale() {
 		return scale;
 	}
@@ -582,4 +1371,67 @@ public class SkeletonJson {
 		this.scale = scale;
 	}
 
+	public int getCurveLookupSize() {
+		return curveLookupSize;
+	}
+
+	/** Sets the size of the lookup table precomputed for each bezier curve, or 0 to evaluate curves by forward differencing.
+	 * Default is 0.
+	 * @see CurveTimeline#setLookupSize(int) */
+	public void setCurveLookupSize(int curveLookupSize) {
+		if (curveLookupSize < 0) throw new IllegalArgumentException("curveLookupSize must be >= 0.");
+		this.curveLookupSize = curveLookupSize;
+	}
+
+	public boolean getHeadless() {
+		return headless;
+	}
+
+	/** When true, color and draw order timelines are read but not kept, because the skeleton is never rendered. They still count
+	 * toward each animation's duration. Attachment timelines are kept, since they switch bounding boxes. Default is false.
+	 * @see DetailLevel#headless
+	 * @see com.esotericsoftware.spine.attachments.BoundingBoxAttachmentLoader */
+	public void setHeadless(boolean headless) {
+		this.headless = headless;
+	}
+
+	/** The values of a timeline's frames, collected while parsing because a timeline's frame count is needed to create it. */
+	static private class Frames {
+		int count;
+		float[] values = new float[64];
+		int valueCount;
+		Object[] objects = new Object[16];
+		float[] curves = new float[80]; // Curve type and bezier control points for each frame.
+
+		// The curve for the frame being read.
+		float curveType, cx1, cy1, cx2, cy2;
+
+		void clear() {
+			count = 0;
+			valueCount = 0;
+			curveType = CurveTimeline.LINEAR;
+		}
+
+		void add(float value) {
+			if (valueCount == values.length) values = Arrays.copyOf(values, valueCount * 2);
+			values[valueCount++] = value;
+		}
+
+		/** Ends the current frame. */
+		void next(Object object) {
+			if (count == objects.length) {
+				objects = Arrays.copyOf(objects, count * 2);
+				curves = Arrays.copyOf(curves, count * 2 * 5);
+			}
+			objects[count] = object;
+			int i = count * 5;
+			curves[i] = curveType;
+			curves[i + 1] = cx1;
+			curves[i + 2] = cy1;
+			curves[i + 3] = cx2;
+			curves[i + 4] = cy2;
+			curveType = CurveTimeline.LINEAR;
+			count++;
+		}
+	}
 }
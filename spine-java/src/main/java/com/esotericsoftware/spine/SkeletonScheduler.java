@@ -0,0 +1,163 @@
+/******************************************************************************
+ * Spine Runtimes Software License
+ * Version 2.1
+ * 
+ * Copyright (c) 2013, Esoteric Software
+ * All rights reserved.
+ * 
+ * You are granted a perpetual, non-exclusive, non-sublicensable and
+ * non-transferable license to install, execute and perform the Spine Runtimes
+ * Software (the "Software") solely for internal use. Without the written
+ * permission of Esoteric Software (typically granted by licensing Spine), you
+ * may not (a) modify, translate, adapt or otherwise create derivative works,
+ * improvements of the Software or develop new applications using the Software
+ * or (b) remove, delete, alter or obscure any trademarks or any copyright,
+ * trademark, patent or other intellectual property or proprietary rights
+ * notices on or in the Software, including any copy thereof. Redistributions
+ * in binary or source form must include this license and terms.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY ESOTERIC SOFTWARE "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO
+ * EVENT SHALL ESOTERIC SOFTARE BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+ * OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *****************************************************************************/
+package com.esotericsoftware.spine;
+
+import java.util.ArrayList;
+
+/** Updates skeleton and animation state pairs at different rates, within a time budget per frame. Each instance has an update
+ * interval: instances with an interval of 0, eg those on screen, are updated every frame. Others, eg those off screen or far
+ * away, are updated once their interval has passed, as many as fit in the remaining budget. An instance that is skipped keeps
+ * its pose and accumulates the delta time, which it is then updated by all at once. The events in the skipped time are fired by
+ * that update, as {@link Animation#apply(Skeleton, float, float, boolean, ArrayList)} fires the events between the last time and
+ * the time, including those of any whole loops in between.
+ * <p>
+ * Instances waiting for the budget are updated in turn, starting with the first one skipped the previous frame, so none is
+ * starved. At least one is updated each frame. */
+public class SkeletonScheduler {
+	final ArrayList<Instance> instances = new ArrayList<Instance>();
+	private long budget;
+	private int next;
+
+	/** Adds an instance updated every frame.
+	 * @return The index of the instance. */
+	public int add (Skeleton skeleton, AnimationState state) {
+		return add(skeleton, state, 0);
+	}
+
+	/** @param interval See {@link #setInterval(int, float)}.
+	 * @return The index of the instance. */
+	public int add (Skeleton skeleton, AnimationState state, float interval) {
+		if (skeleton == null) throw new IllegalArgumentException("skeleton cannot be null.");
+		if (state == null) throw new IllegalArgumentException("state cannot be null.");
+		if (interval < 0) throw new IllegalArgumentException("interval must be >= 0.");
+		Instance instance = new Instance();
+		instance.skeleton = skeleton;
+		instance.state = state;
+		instance.interval = interval;
+		instances.add(instance);
+		return instances.size() - 1;
+	}
+
+	/** Removes the instance at the specified index. The indices of subsequent instances are decremented. */
+	public void remove (int index) {
+		instances.remove(index);
+		if (next > index) next--;
+		if (next >= instances.size()) next = 0;
+	}
+
+	public void clear () {
+		instances.clear();
+		next = 0;
+	}
+
+	/** Updates the instances that are due: {@link AnimationState#update(float)} by the time since the instance was last updated,
+	 * {@link AnimationState#apply(Skeleton)} and {@link Skeleton#updateWorldTransform()}. */
+	public void update (float delta) {
+		ArrayList<Instance> instances = this.instances;
+		int n = instances.size();
+		if (n == 0) return;
+		long start = System.nanoTime();
+		for (int i = 0; i < n; i++) {
+			Instance instance = instances.get(i);
+			instance.pending += delta;
+			if (instance.interval == 0) instance.update();
+		}
+
+		long budget = this.budget;
+		boolean updated = false;
+		int index = next;
+		for (int checked = 0; checked < n; checked++) {
+			Instance instance = instances.get(index);
+			if (instance.interval > 0 && instance.pending >= instance.interval) {
+				if (updated && budget > 0 && System.nanoTime() - start >= budget) break;
+				instance.update();
+				updated = true;
+			}
+			if (++index == n) index = 0;
+		}
+		next = index;
+	}
+
+	/** Returns the update interval of the instance, in seconds. */
+	public float getInterval (int index) {
+		return instances.get(index).interval;
+	}
+
+	/** Sets how much time must pass before the instance is updated again, eg based on whether it is visible or its distance to
+	 * the camera. It may be updated later than that if the budget is exceeded.
+	 * @param interval 0 to update the instance every frame, regardless of the budget. */
+	public void setInterval (int index, float interval) {
+		if (interval < 0) throw new IllegalArgumentException("interval must be >= 0.");
+		instances.get(index).interval = interval;
+	}
+
+	/** Returns the time the instance has not been updated by yet, in seconds. */
+	public float getPending (int index) {
+		return instances.get(index).pending;
+	}
+
+	/** Returns the time in nanoseconds that {@link #update(float)} may spend before it stops updating instances with an
+	 * interval, or 0 if there is no limit. */
+	public long getBudget () {
+		return budget;
+	}
+
+	/** @param budget The time in nanoseconds that {@link #update(float)} may spend, including updating the instances with no
+	 *           interval, before it stops updating instances with an interval. 0 for no limit (the default). */
+	public void setBudget (long budget) {
+		if (budget < 0) throw new IllegalArgumentException("budget must be >= 0.");
+		this.budget = budget;
+	}
+
+	public int size () {
+		return instances.size();
+	}
+
+	public Skeleton getSkeleton (int index) {
+		return instances.get(index).skeleton;
+	}
+
+	public AnimationState getState (int index) {
+		return instances.get(index).state;
+	}
+
+	static class Instance {
+		Skeleton skeleton;
+		AnimationState state;
+		float interval, pending;
+
+		void update () {
+			state.update(pending);
+			state.apply(skeleton);
+			skeleton.updateWorldTransform();
+			pending = 0;
+		}
+	}
+}
@@ -30,18 +30,19 @@
 
 package com.esotericsoftware.spine;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map.Entry;
 
 import com.esotericsoftware.spine.attachments.Attachment;
 
-/** Stores attachments by slot index and attachment name. */
+/** Stores attachments by slot index and attachment name. Lookups do not modify the skin, so a skin can be shared by skeletons
+ * that are updated on different threads. */
 public class Skin {
-	static private final Key lookup = new Key();
-
 	final String name;
-	final HashMap<Key, Attachment> attachments = new HashMap<Key, Attachment>();
+	int index = -1; // In SkeletonData#getSkins(), maintained by the skeleton data.
+	final ArrayList<HashMap<String, Attachment>> attachments = new ArrayList<HashMap<String, Attachment>>();
 
 	public Skin (String name) {
 		if (name == null) throw new IllegalArgumentException("name cannot be null.");
@@ -51,30 +52,41 @@ public class Skin {
 	public void addAttachment (int slotIndex, String name, Attachment attachment) {
 		if (attachment == null) throw new IllegalArgumentException("attachment cannot be null.");
 		if (slotIndex < 0) throw new IllegalArgumentException("slotIndex must be >= 0.");
-		Key key = new Key();
-		key.set(slotIndex, name);
-		attachments.put(key, attachment);
+		if (name == null) throw new IllegalArgumentException("name cannot be null.");
+		while (slotIndex >= attachments.size())
+			attachments.add(null);
+		HashMap<String, Attachment> slotAttachments = attachments.get(slotIndex);
+		if (slotAttachments == null) {
+			slotAttachments = new HashMap<String, Attachment>();
+			attachments.set(slotIndex, slotAttachments);
+		}
+		slotAttachments.put(name, attachment);
 	}
 
 	/** @return May be null. */
 	public Attachment getAttachment (int slotIndex, String name) {
 		if (slotIndex < 0) throw new IllegalArgumentException("slotIndex must be >= 0.");
-		lookup.set(slotIndex, name);
-		return attachments.get(lookup);
+		if (name == null) throw new IllegalArgumentException("name cannot be null.");
+		if (slotIndex >= attachments.size()) return null;
+		HashMap<String, Attachment> slotAttachments = attachments.get(slotIndex);
+		if (slotAttachments == null) return null;
+		return slotAttachments.get(name);
 	}
 
 	public void findNamesForSlot (int slotIndex, Collection<String> names) {
 		if (names == null) throw new IllegalArgumentException("names cannot be null.");
 		if (slotIndex < 0) throw new IllegalArgumentException("slotIndex must be >= 0.");
-		for (Key key : attachments.keySet())
-			if (key.slotIndex == slotIndex) names.add(key.name);
+		if (slotIndex >= attachments.size()) return;
+		HashMap<String, Attachment> slotAttachments = attachments.get(slotIndex);
+		if (slotAttachments != null) names.addAll(slotAttachments.keySet());
 	}
 
 	public void findAttachmentsForSlot (int slotIndex, Collection<Attachment> attachments) {
 		if (attachments == null) throw new IllegalArgumentException("attachments cannot be null.");
 		if (slotIndex < 0) throw new IllegalArgumentException("slotIndex must be >= 0.");
-		for (Entry<Key, Attachment> entry : this.attachments.entrySet())
-			if (entry.getKey().slotIndex == slotIndex) attachments.add(entry.getValue());
+		if (slotIndex >= this.attachments.size()) return;
+		HashMap<String, Attachment> slotAttachments = this.attachments.get(slotIndex);
+		if (slotAttachments != null) attachments.addAll(slotAttachments.values());
 	}
 
 	public void clear () {
@@ -91,42 +103,17 @@ public class Skin {
 
 	/** Attach each attachment in this skin if the corresponding attachment in the old skin is currently attached. */
 	void attachAll (Skeleton skeleton, Skin oldSkin) {
-		for (Entry<Key, Attachment> entry : oldSkin.attachments.entrySet()) {
-			int slotIndex = entry.getKey().slotIndex;
+		ArrayList<HashMap<String, Attachment>> oldAttachments = oldSkin.attachments;
+		for (int slotIndex = 0, n = oldAttachments.size(); slotIndex < n; slotIndex++) {
+			HashMap<String, Attachment> slotAttachments = oldAttachments.get(slotIndex);
+			if (slotAttachments == null) continue;
 			Slot slot = skeleton.slots.get(slotIndex);
-			if (slot.attachment == entry.getValue()) {
-				Attachment attachment = getAttachment(slotIndex, entry.getKey().name);
-				if (attachment != null) slot.setAttachment(attachment);
+			for (Entry<String, Attachment> entry : slotAttachments.entrySet()) {
+				if (slot.attachment == entry.getValue()) {
+					Attachment attachment = getAttachment(slotIndex, entry.getKey());
+					if (attachment != null) slot.setAttachment(attachment);
+				}
 			}
 		}
 	}
-
-	static class Key {
-		int slotIndex;
-		String name;
-		int hashCode;
-
-		public void set (int slotName, String name) {
-			if (name == null) throw new IllegalArgumentException("name cannot be null.");
-			this.slotIndex = slotName;
-			this.name = name;
-			hashCode = 31 * (31 + name.hashCode()) + slotIndex;
-		}
-
-		public int hashCode () {
-			return hashCode;
-		}
-
-		public boolean equals (Object object) {
-			if (object == null) return false;
-			Key other = (Key)object;
-			if (slotIndex != other.slotIndex) return false;
-			if (!name.equals(other.name)) return false;
-			return true;
-		}
-
-		public String toString () {
-			return slotIndex + ":" + name;
-		}
-	}
 }
@@ -166,7 +166,7 @@ public class Slot {
 	}
 
 	public void setToSetupPose () {
-		setToSetupPose(skeleton.data.slots.indexOf(data));
+		setToSetupPose(data.index);
 	}
 
 	public String toString () {
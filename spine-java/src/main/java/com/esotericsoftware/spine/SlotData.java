@@ -33,6 +33,7 @@ package com.esotericsoftware.spine;
 public class SlotData {
 	final String name;
 	final BoneData boneData;
+	int index = -1;
 	float r = 1f, g = 1f, b = 1f, a = 1f;
 	
 	String attachmentName;
@@ -58,6 +59,12 @@ public class SlotData {
 		return boneData;
 	}
 
+	/** Returns the index of this slot in {@link SkeletonData#getSlots()}, which is also the index of its slot in
+	 * {@link Skeleton#getSlots()} for every skeleton using that skeleton data. -1 if the slot has not been added to a skeleton data. */
+	public int getIndex () {
+		return index;
+	}
+
 	/** @param attachmentName May be null. */
 	public void setAttachmentName (String attachmentName) {
 		this.attachmentName = attachmentName;
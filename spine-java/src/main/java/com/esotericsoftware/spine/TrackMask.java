@@ -0,0 +1,165 @@
+/******************************************************************************
+ * Spine Runtimes Software License
+ * Version 2.1
+ * 
+ * Copyright (c) 2013, Esoteric Software
+ * All rights reserved.
+ * 
+ * You are granted a perpetual, non-exclusive, non-sublicensable and
+ * non-transferable license to install, execute and perform the Spine Runtimes
+ * Software (the "Software") solely for internal use. Without the written
+ * permission of Esoteric Software (typically granted by licensing Spine), you
+ * may not (a) modify, translate, adapt or otherwise create derivative works,
+ * improvements of the Software or develop new applications using the Software
+ * or (b) remove, delete, alter or obscure any trademarks or any copyright,
+ * trademark, patent or other intellectual property or proprietary rights
+ * notices on or in the Software, including any copy thereof. Redistributions
+ * in binary or source form must include this license and terms.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY ESOTERIC SOFTWARE "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO
+ * EVENT SHALL ESOTERIC SOFTARE BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+ * OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *****************************************************************************/
+package com.esotericsoftware.spine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import com.esotericsoftware.spine.Animation.AttachmentTimeline;
+import com.esotericsoftware.spine.Animation.ColorTimeline;
+import com.esotericsoftware.spine.Animation.FfdTimeline;
+import com.esotericsoftware.spine.Animation.RotateTimeline;
+import com.esotericsoftware.spine.Animation.Timeline;
+import com.esotericsoftware.spine.Animation.TranslateTimeline;
+import com.esotericsoftware.spine.AnimationState.TrackEntry;
+
+/** Selects the bones and slots that a {@link TrackEntry} poses, eg only the upper body for an animation layered over another
+ * track. Timelines for excluded bones and slots are not applied at all, rather than being applied and then overwritten by a
+ * higher track. Event and draw order timelines are always applied.
+ * <p>
+ * For each animation the mask is used with, the included timelines are compiled once into an {@link AnimationProgram}, so
+ * masking costs nothing per frame. A mask can be shared by many animation states, on any thread, once its bones and slots are
+ * set. */
+public class TrackMask {
+	final SkeletonData data;
+	final boolean[] bones, slots;
+	private AnimationProgram[] programs = new AnimationProgram[0]; // Indexed by animation index.
+	private final HashMap<Animation, AnimationProgram> otherPrograms = new HashMap<Animation, AnimationProgram>();
+
+	/** Creates a mask that excludes every bone and slot. */
+	public TrackMask (SkeletonData data) {
+		if (data == null) throw new IllegalArgumentException("data cannot be null.");
+		this.data = data;
+		data.index();
+		bones = new boolean[data.bones.size()];
+		slots = new boolean[data.slots.size()];
+	}
+
+	public SkeletonData getData () {
+		return data;
+	}
+
+	public synchronized void setBone (int boneIndex, boolean included) {
+		bones[boneIndex] = included;
+		clearPrograms();
+	}
+
+	public boolean isBoneIncluded (int boneIndex) {
+		return bones[boneIndex];
+	}
+
+	public synchronized void setSlot (int slotIndex, boolean included) {
+		slots[slotIndex] = included;
+		clearPrograms();
+	}
+
+	public boolean isSlotIncluded (int slotIndex) {
+		return slots[slotIndex];
+	}
+
+	/** Includes or excludes the bone, all of its descendants and the slots attached to any of them. */
+	public synchronized void setBoneTree (String boneName, boolean included) {
+		int boneIndex = data.findBoneIndex(boneName);
+		if (boneIndex == -1) throw new IllegalArgumentException("Bone not found: " + boneName);
+		ArrayList<BoneData> bones = data.bones;
+		boolean[] tree = new boolean[bones.size()];
+		tree[boneIndex] = true;
+		// Bones are ordered parents first, so a bone's parent is checked before the bone.
+		for (int i = boneIndex + 1, n = bones.size(); i < n; i++) {
+			BoneData parent = bones.get(i).parent;
+			if (parent != null && tree[parent.index]) tree[i] = true;
+		}
+		for (int i = 0, n = tree.length; i < n; i++)
+			if (tree[i]) this.bones[i] = included;
+		ArrayList<SlotData> slots = data.slots;
+		for (int i = 0, n = slots.size(); i < n; i++)
+			if (tree[slots.get(i).boneData.index]) this.slots[i] = included;
+		clearPrograms();
+	}
+
+	/** Returns false if the timeline poses a bone or slot that is excluded. */
+	boolean includes (Timeline timeline) {
+		if (timeline instanceof RotateTimeline) return bones[((RotateTimeline)timeline).boneIndex];
+		if (timeline instanceof TranslateTimeline) return bones[((TranslateTimeline)timeline).boneIndex];
+		if (timeline instanceof ColorTimeline) return slots[((ColorTimeline)timeline).slotIndex];
+		if (timeline instanceof AttachmentTimeline) return slots[((AttachmentTimeline)timeline).slotIndex];
+		if (timeline instanceof FfdTimeline) return slots[((FfdTimeline)timeline).slotIndex];
+		return true;
+	}
+
+	/** Returns the included timelines of the animation, compiling them the first time. The frames are copied, so
+	 * {@link #invalidate()} must be called after the animation's timelines or their frames are changed. */
+	AnimationProgram program (Animation animation) {
+		int index = animation.index;
+		AnimationProgram[] programs = this.programs;
+		if (index >= 0 && index < programs.length) {
+			// The program's fields are final, so a program seen here was fully constructed by the thread that compiled it.
+			AnimationProgram program = programs[index];
+			if (program != null && data.animations.get(index) == animation) return program;
+		}
+		return compile(animation);
+	}
+
+	private synchronized AnimationProgram compile (Animation animation) {
+		int index = animation.index;
+		ArrayList<Animation> animations = data.animations;
+		if (index < 0 || index >= animations.size() || animations.get(index) != animation) {
+			AnimationProgram program = otherPrograms.get(animation);
+			if (program == null) {
+				program = new AnimationProgram(animation.getTimelines(), this);
+				otherPrograms.put(animation, program);
+			}
+			return program;
+		}
+		AnimationProgram[] programs = this.programs;
+		if (index >= programs.length) {
+			AnimationProgram[] newPrograms = new AnimationProgram[animations.size()];
+			System.arraycopy(programs, 0, newPrograms, 0, programs.length);
+			programs = newPrograms;
+		}
+		AnimationProgram program = programs[index];
+		if (program == null) {
+			program = new AnimationProgram(animation.getTimelines(), this);
+			programs[index] = program;
+		}
+		this.programs = programs;
+		return program;
+	}
+
+	/** Discards the compiled timelines, so they are compiled again the next time each animation is applied with this mask. */
+	public synchronized void invalidate () {
+		clearPrograms();
+	}
+
+	private void clearPrograms () {
+		programs = new AnimationProgram[0];
+		otherPrograms.clear();
+	}
+}
@@ -30,9 +30,8 @@
 
 package com.esotericsoftware.spine.attachments;
 
-import java.util.ArrayList;
-
 import com.esotericsoftware.spine.Bone;
+import com.esotericsoftware.spine.DetailLevel;
 import com.esotericsoftware.spine.Slot;
 
 /** Attachment that displays a texture region. */
@@ -40,6 +39,8 @@ public class SkinnedMeshAttachment extends Attachment {
 
 	int[] bones;
 	float[] weights, uvs, regionUVs;
+	int[] rigidBones; // The bone with the highest weight for each vertex.
+	float[] rigidVertices; // The vertex position relative to that bone.
 	short[] triangles;
 	float regionOffsetX, regionOffsetY, regionWidth, regionHeight, regionOriginalWidth, regionOriginalHeight;
 	float regionU, regionV, regionU2, regionV2;
@@ -77,8 +78,44 @@ public class SkinnedMeshAttachment extends Attachment {
 		}
 	}
 	
+	/** Computes the bone with the highest weight for each vertex, used instead of all the vertex's bones at
+	 * {@link DetailLevel#lowest}. */
+	public void updateRigidBinding() {
+		int[] bones = this.bones;
+		float[] weights = this.weights;
+		int vertexCount = 0;
+		for (int v = 0, n = bones.length; v < n; v += bones[v] + 1)
+			vertexCount++;
+		int[] rigidBones = new int[vertexCount];
+		float[] rigidVertices = new float[vertexCount * 2];
+		for (int r = 0, v = 0, b = 0, n = bones.length; v < n; r++) {
+			float maxWeight = -1;
+			int nn = bones[v++] + v;
+			for (; v < nn; v++, b += 3) {
+				if (weights[b + 2] <= maxWeight) continue;
+				maxWeight = weights[b + 2];
+				rigidBones[r] = bones[v];
+				rigidVertices[r * 2] = weights[b];
+				rigidVertices[r * 2 + 1] = weights[b + 1];
+			}
+		}
+		this.rigidVertices = rigidVertices;
+		this.rigidBones = rigidBones;
+	}
+
 	public void computeWorldVertices (float x, float y, Slot slot, float[] worldVertices) {
-		ArrayList<Bone> skeletonBones = slot.getSkeleton().getBones();
+		float[] world = slot.getSkeleton().getWorldTransforms();
+		if (rigidBones != null && slot.getSkeleton().getDetailLevel() == DetailLevel.lowest) {
+			int[] rigidBones = this.rigidBones;
+			float[] rigidVertices = this.rigidVertices;
+			for (int r = 0, w = 0, n = rigidBones.length; r < n; r++, w += 2) {
+				int m = rigidBones[r] * Bone.WORLD_STRIDE;
+				float vx = rigidVertices[w], vy = rigidVertices[w + 1];
+				worldVertices[w] = vx * world[m + Bone.M00] + vy * world[m + Bone.M01] + world[m + Bone.WORLD_X] + x;
+				worldVertices[w + 1] = vx * world[m + Bone.M10] + vy * world[m + Bone.M11] + world[m + Bone.WORLD_Y] + y;
+			}
+			return;
+		}
 		float[] weights = this.weights;
 		int[] bones = this.bones;
 		if (slot.getAttachmentVerticesCount() == 0) {
@@ -86,10 +123,10 @@ public class SkinnedMeshAttachment extends Attachment {
 				float wx = 0, wy = 0;
 				int nn = bones[v++] + v;
 				for (; v < nn; v++, b += 3) {
-					Bone bone = (Bone)skeletonBones.get(bones[v]);
+					int m = bones[v] * Bone.WORLD_STRIDE;
 					float vx = weights[b], vy = weights[b + 1], weight = weights[b + 2];
-					wx += (vx * bone.getM00() + vy * bone.getM01() + bone.getWorldX()) * weight;
-					wy += (vx * bone.getM10() + vy * bone.getM11() + bone.getWorldY()) * weight;
+					wx += (vx * world[m + Bone.M00] + vy * world[m + Bone.M01] + world[m + Bone.WORLD_X]) * weight;
+					wy += (vx * world[m + Bone.M10] + vy * world[m + Bone.M11] + world[m + Bone.WORLD_Y]) * weight;
 				}
 				worldVertices[w] = wx + x;
 				worldVertices[w + 1] = wy + y;
@@ -100,10 +137,10 @@ public class SkinnedMeshAttachment extends Attachment {
 				float wx = 0, wy = 0;
 				int nn = bones[v++] + v;
 				for (; v < nn; v++, b += 3, f += 2) {
-					Bone bone = (Bone)skeletonBones.get(bones[v]);
+					int m = bones[v] * Bone.WORLD_STRIDE;
 					float vx = weights[b] + ffd[f], vy = weights[b + 1] + ffd[f + 1], weight = weights[b + 2];
-					wx += (vx * bone.getM00() + vy * bone.getM01() + bone.getWorldX()) * weight;
-					wy += (vx * bone.getM10() + vy * bone.getM11() + bone.getWorldY()) * weight;
+					wx += (vx * world[m + Bone.M00] + vy * world[m + Bone.M01] + world[m + Bone.WORLD_X]) * weight;
+					wy += (vx * world[m + Bone.M10] + vy * world[m + Bone.M11] + world[m + Bone.WORLD_Y]) * weight;
 				}
 				worldVertices[w] = wx + x;
 				worldVertices[w + 1] = wy + y;
@@ -117,6 +154,7 @@ public class SkinnedMeshAttachment extends Attachment {
 
 	public void setBones(int[] bones) {
 		this.bones = bones;
+		rigidBones = null;
 	}
 
 	public float[] getWeights() {
@@ -125,6 +163,7 @@ public class SkinnedMeshAttachment extends Attachment {
 
 	public void setWeights(float[] weights) {
 		this.weights = weights;
+		rigidBones = null;
 	}
 
 	public float[] getRegionUVs() {
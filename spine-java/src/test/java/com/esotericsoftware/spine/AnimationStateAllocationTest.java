@@ -0,0 +1,129 @@
+/******************************************************************************
+ * Spine Runtimes Software License
+ * Version 2.1
+ * 
+ * Copyright (c) 2013, Esoteric Software
+ * All rights reserved.
+ * 
+ * You are granted a perpetual, non-exclusive, non-sublicensable and
+ * non-transferable license to install, execute and perform the Spine Runtimes
+ * Software (the "Software") solely for internal use. Without the written
+ * permission of Esoteric Software (typically granted by licensing Spine), you
+ * may not (a) modify, translate, adapt or otherwise create derivative works,
+ * improvements of the Software or develop new applications using the Software
+ * or (b) remove, delete, alter or obscure any trademarks or any copyright,
+ * trademark, patent or other intellectual property or proprietary rights
+ * notices on or in the Software, including any copy thereof. Redistributions
+ * in binary or source form must include this license and terms.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY ESOTERIC SOFTWARE "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO
+ * EVENT SHALL ESOTERIC SOFTARE BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+ * OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *****************************************************************************/
+
+package com.esotericsoftware.spine;
+
+import java.io.FileInputStream;
+import java.lang.management.ManagementFactory;
+import java.util.IdentityHashMap;
+
+import com.esotericsoftware.spine.AnimationState.AnimationStateAdapter;
+import com.esotericsoftware.spine.AnimationState.TrackEntry;
+import com.esotericsoftware.spine.Atlas.AtlasPage;
+import com.esotericsoftware.spine.Atlas.TextureLoader;
+
+/** Checks that {@link AnimationState} reuses its {@link TrackEntry track entries} and that updating and applying it allocates
+ * nothing once it has warmed up. Run from the spine-java directory. */
+public class AnimationStateAllocationTest {
+	private final SkeletonData skeletonData;
+	private final Skeleton skeleton;
+	private final AnimationState state;
+	private int events;
+
+	public AnimationStateAllocationTest () throws Exception {
+		String path = "assets/spineboy/";
+		Atlas atlas = new Atlas(new FileInputStream(path + "spineboy.atlas"), path, new TextureLoader() {
+			public void load (AtlasPage page, String path) {
+			}
+
+			public void unload (Object texture) {
+			}
+		});
+		skeletonData = new SkeletonBinary(atlas).readSkeletonData("spineboy", new FileInputStream(path + "spineboy.skel"));
+		skeleton = new Skeleton(skeletonData);
+		skeleton.setToSetupPose();
+
+		AnimationStateData stateData = new AnimationStateData(skeletonData);
+		stateData.setDefaultMix(0.2f);
+		state = new AnimationState(stateData);
+		state.addListener(new AnimationStateAdapter() {
+			public void event (int trackIndex, Event event) {
+				events++;
+			}
+		});
+
+		testEntriesReused();
+		testNoAllocation();
+
+		System.out.println("All tests passed.");
+	}
+
+	private void testEntriesReused () {
+		IdentityHashMap<TrackEntry, Boolean> entries = new IdentityHashMap<TrackEntry, Boolean>();
+		String[] names = {"walk", "run", "jump", "shoot"};
+		for (int i = 0; i < 200; i++) {
+			entries.put(state.setAnimation(0, names[i % names.length], true), Boolean.TRUE);
+			entries.put(state.addAnimation(0, names[(i + 1) % names.length], true, 0), Boolean.TRUE);
+			entries.put(state.setAnimation(1, names[(i + 2) % names.length], false), Boolean.TRUE);
+			if (i % 3 == 0) state.clearTrack(1);
+			frames(20);
+		}
+		// Entries are reused after an update, so only those freed within a frame and those in use are distinct.
+		if (entries.size() > 12) fail("Track entries are not reused: " + entries.size());
+	}
+
+	private void testNoAllocation () {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+		if (!threads.isThreadAllocatedMemorySupported()) {
+			System.out.println("Allocation test skipped, the VM does not report allocated memory.");
+			return;
+		}
+		long threadId = Thread.currentThread().getId();
+
+		state.setAnimation(0, "run", true); // Has events.
+		state.setAnimation(1, "shoot", true);
+		state.setAnimation(1, "shoot", true); // Mix the shoot animation with itself.
+		frames(1000); // Warm up.
+
+		long bytes = threads.getThreadAllocatedBytes(threadId);
+		bytes = threads.getThreadAllocatedBytes(threadId) - bytes; // The cost of the call itself.
+		long start = threads.getThreadAllocatedBytes(threadId);
+		frames(1000);
+		long allocated = threads.getThreadAllocatedBytes(threadId) - start - bytes;
+		if (allocated > 0) fail("Update and apply allocated " + allocated + " bytes in 1000 frames.");
+		if (events == 0) fail("No events were fired.");
+	}
+
+	private void frames (int count) {
+		for (int i = 0; i < count; i++) {
+			state.update(1 / 60f);
+			state.apply(skeleton);
+			skeleton.updateWorldTransform();
+		}
+	}
+
+	private void fail (String message) {
+		throw new RuntimeException(message);
+	}
+
+	public static void main (String[] args) throws Exception {
+		new AnimationStateAllocationTest();
+	}
+}
@@ -0,0 +1,137 @@
+/******************************************************************************
+ * Spine Runtimes Software License
+ * Version 2.1
+ * 
+ * Copyright (c) 2013, Esoteric Software
+ * All rights reserved.
+ * 
+ * You are granted a perpetual, non-exclusive, non-sublicensable and
+ * non-transferable license to install, execute and perform the Spine Runtimes
+ * Software (the "Software") solely for internal use. Without the written
+ * permission of Esoteric Software (typically granted by licensing Spine), you
+ * may not (a) modify, translate, adapt or otherwise create derivative works,
+ * improvements of the Software or develop new applications using the Software
+ * or (b) remove, delete, alter or obscure any trademarks or any copyright,
+ * trademark, patent or other intellectual property or proprietary rights
+ * notices on or in the Software, including any copy thereof. Redistributions
+ * in binary or source form must include this license and terms.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY ESOTERIC SOFTWARE "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO
+ * EVENT SHALL ESOTERIC SOFTARE BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+ * OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *****************************************************************************/
+
+package com.esotericsoftware.spine;
+
+import java.io.FileInputStream;
+
+import com.esotericsoftware.spine.Atlas.AtlasPage;
+import com.esotericsoftware.spine.Atlas.TextureLoader;
+
+/** Checks that a {@link BakedAnimation} played by an {@link AnimationState} poses the skeleton like the animation it was baked
+ * from, with and without a {@link TrackMask} and when baked in world space. Run from the spine-java directory. */
+public class BakedAnimationTest {
+	private final SkeletonData skeletonData;
+
+	public BakedAnimationTest () throws Exception {
+		String path = "assets/spineboy/";
+		Atlas atlas = new Atlas(new FileInputStream(path + "spineboy.atlas"), path, new TextureLoader() {
+			public void load (AtlasPage page, String path) {
+			}
+
+			public void unload (Object texture) {
+			}
+		});
+		skeletonData = new SkeletonBinary(atlas).readSkeletonData("spineboy", new FileInputStream(path + "spineboy.skel"));
+
+		Animation walk = skeletonData.findAnimation("walk");
+		AnimationBaker baker = new AnimationBaker(skeletonData);
+		baker.setFrameRate(30);
+		BakedAnimation baked = baker.bake(walk);
+
+		testSamePose(walk, baked, null);
+		TrackMask mask = new TrackMask(skeletonData);
+		mask.setBoneTree("torso", true);
+		testSamePose(walk, baked, mask);
+
+		baker.setSpace(BakedAnimation.Space.world);
+		testSamePose(walk, baker.bake(walk), null);
+		baker.setSpace(BakedAnimation.Space.local);
+
+		testFreezePrevious(baked, baker.bake(skeletonData.findAnimation("run")));
+
+		System.out.println("All tests passed.");
+	}
+
+	/** Plays both animations through animation states and compares the bones' world positions each frame. */
+	private void testSamePose (Animation animation, BakedAnimation baked, TrackMask mask) {
+		Skeleton skeleton = new Skeleton(skeletonData), bakedSkeleton = new Skeleton(skeletonData);
+		AnimationState state = new AnimationState(new AnimationStateData(skeletonData));
+		AnimationState bakedState = new AnimationState(new AnimationStateData(skeletonData));
+		state.setAnimation(0, animation, true).setMask(mask);
+		bakedState.setAnimation(0, baked, true).setMask(mask);
+
+		float maxDistance = 0;
+		for (int i = 0; i < 200; i++) {
+			skeleton.setToSetupPose();
+			bakedSkeleton.setToSetupPose();
+			state.update(1 / 60f);
+			bakedState.update(1 / 60f);
+			state.apply(skeleton);
+			bakedState.apply(bakedSkeleton);
+			skeleton.updateWorldTransform();
+			bakedSkeleton.updateWorldTransform();
+			for (int ii = 0, n = skeleton.getBones().size(); ii < n; ii++) {
+				Bone bone = skeleton.getBones().get(ii), bakedBone = bakedSkeleton.getBones().get(ii);
+				float dx = bone.getWorldX() - bakedBone.getWorldX(), dy = bone.getWorldY() - bakedBone.getWorldY();
+				maxDistance = Math.max(maxDistance, (float)Math.sqrt(dx * dx + dy * dy));
+			}
+		}
+		// Sampling at 30 fps is not exact between samples, but bones must follow the animation.
+		if (maxDistance > 5) fail("Baked animation differs by " + maxDistance + (mask != null ? " with a mask." : "."));
+	}
+
+	/** Checks that mixing out a baked animation poses the skeleton the same with and without freezing the previous animation. */
+	private void testFreezePrevious (BakedAnimation from, BakedAnimation to) {
+		Skeleton skeleton = new Skeleton(skeletonData), frozenSkeleton = new Skeleton(skeletonData);
+		AnimationStateData stateData = new AnimationStateData(skeletonData);
+		stateData.setDefaultMix(0.5f);
+		AnimationState state = new AnimationState(stateData), frozenState = new AnimationState(stateData);
+		frozenState.setFreezePrevious(true);
+		state.setAnimation(0, from, true);
+		frozenState.setAnimation(0, from, true);
+
+		float maxDifference = 0;
+		for (int i = 0; i < 100; i++) {
+			if (i == 20) {
+				state.setAnimation(0, to, true);
+				frozenState.setAnimation(0, to, true);
+			}
+			skeleton.setToSetupPose();
+			frozenSkeleton.setToSetupPose();
+			state.update(1 / 60f);
+			frozenState.update(1 / 60f);
+			state.apply(skeleton);
+			frozenState.apply(frozenSkeleton);
+			float[] local = skeleton.getLocalTransforms(), frozenLocal = frozenSkeleton.getLocalTransforms();
+			for (int ii = 0, n = local.length; ii < n; ii++)
+				maxDifference = Math.max(maxDifference, Math.abs(local[ii] - frozenLocal[ii]));
+		}
+		if (maxDifference > 0.001f) fail("Freezing a baked animation changes the mix by " + maxDifference + ".");
+	}
+
+	private void fail (String message) {
+		throw new RuntimeException(message);
+	}
+
+	public static void main (String[] args) throws Exception {
+		new BakedAnimationTest();
+	}
+}
@@ -31,13 +31,11 @@
 package com.esotericsoftware.spine;
 
 import java.io.ByteArrayInputStream;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.io.StringReader;
 
 import playn.core.GroupLayer;
 import playn.core.Image;
 import playn.core.ImageLayer;
-import playn.core.Json;
 import playn.core.PlayN;
 import playn.core.util.Callback;
 
@@ -68,10 +66,36 @@ public class SpineLoader {
 	 *            Callback when the Atlas has finished loading (or crashed...)
 	 */
 	public static final void getAtlas(final String directory, final String basename, final GroupLayer parentLayer, final Callback<Atlas> callback) {
+		getAtlas(directory, basename, parentLayer, null, callback);
+	}
+
+	/**
+	 * Load asynchronously a Spine Atlas from a file, or get it from a cache if it was already loaded.
+	 * 
+	 * @param directory
+	 *            Directory (inside the PlayN assets folder) where the Atlas file is located
+	 * @param basename
+	 *            Base name of the Atlas (e.g. if base name is "spineboy", it will locate the atlas file as "spineboy.atlas")
+	 * @param parentLayer
+	 *            Parent layer for layers associated to this
+	 * @param cache
+	 *            Cache the Atlas is shared through (may be null). The Atlas must be given back with {@link SkeletonDataCache#release(Atlas)}
+	 * @param callback
+	 *            Callback when the Atlas has finished loading (or crashed...)
+	 */
+	public static final void getAtlas(final String directory, final String basename, final GroupLayer parentLayer, final SkeletonDataCache cache,
+			final Callback<Atlas> callback) {
 		try {
 
 			// Let's begin by fetching the content of the Atlas file.
 			final String atlasFile = FilenameUtils.concat(directory, basename + ".atlas");
+			if (cache != null) {
+				Atlas atlas = cache.acquireAtlas(atlasFile);
+				if (atlas != null) {
+					callback.onSuccess(atlas);
+					return;
+				}
+			}
 			PlayN.assets().getBytes(atlasFile, new Callback<byte[]>() {
 
 				@Override
@@ -83,7 +107,12 @@ public class SpineLoader {
 				public void onSuccess(byte[] result) {
 
 					// Now we can load the Atlas object.
-					final Atlas atlas = new Atlas(new ByteArrayInputStream(result), directory, new SpineTextureLoader(parentLayer));
+					Atlas atlas = new Atlas(new ByteArrayInputStream(result), directory, new SpineTextureLoader(parentLayer));
+					if (cache != null) {
+						Atlas cached = cache.addAtlas(atlasFile, atlas);
+						if (cached != atlas) atlas.dispose();
+						atlas = cached;
+					}
 					callback.onSuccess(atlas);
 				}
 			});
@@ -132,13 +161,48 @@ public class SpineLoader {
 	 */
 	public static final void getSkeleton(final String directory, final String basename, final float scale, final boolean binary, final Atlas atlas,
 			final Callback<Skeleton> callback) {
+		getSkeleton(directory, basename, scale, binary, atlas, null, callback);
+	}
+
+	/**
+	 * Load asynchronously a Spine Skeleton from a file, sharing its data through a cache so that the file is only parsed once.
+	 * 
+	 * @param directory
+	 *            Directory (inside the PlayN assets folder) where the Skeleton files are located
+	 * @param basename
+	 *            Base name of the Skeleton (e.g. if base name is "spineboy", it will locate the atlas file as "spineboy.atlas" and the skeleton file
+	 *            as "spineboy.json" or "spineboy.skel", depending it is binary or not)
+	 * @param scale
+	 *            If you want to scale the Skeleton
+	 * @param binary
+	 *            Indicate if the Skeleton must be loaded as a binary *.skel file (TRUE) or as a JSON *.json file (FALSE)
+	 * @param atlas
+	 *            Atlas
+	 * @param cache
+	 *            Cache the Skeleton data is shared through (may be null). The data must be given back with
+	 *            {@link SkeletonDataCache#release(SkeletonData)} once the Skeleton is no longer used
+	 * @param callback
+	 *            Callback when the skeleton has finished loading (or crashed...)
+	 */
+	public static final void getSkeleton(final String directory, final String basename, final float scale, final boolean binary, final Atlas atlas,
+			final SkeletonDataCache cache, final Callback<Skeleton> callback) {
 		try {
 
+			// Skip loading if the cache already has the skeleton data.
+			final String skeletonFile = FilenameUtils.concat(directory, basename + (binary ? ".skel" : ".json"));
+			if (cache != null) {
+				SkeletonData skeletonData = cache.acquire(skeletonFile, scale, atlas);
+				if (skeletonData != null) {
+					callback.onSuccess(new Skeleton(skeletonData));
+					return;
+				}
+			}
+
 			// Loading the skeleton Data using the correct method.
 			if (binary) {
-				getSkeletonUsingBinary(directory, basename, scale, atlas, callback);
+				getSkeletonUsingBinary(skeletonFile, basename, scale, atlas, cache, callback);
 			} else {
-				getSkeletonUsingJson(directory, basename, scale, atlas, callback);
+				getSkeletonUsingJson(skeletonFile, basename, scale, atlas, cache, callback);
 			}
 
 		} catch (Throwable cause) {
@@ -146,11 +210,10 @@ public class SpineLoader {
 		}
 	}
 
-	private static final void getSkeletonUsingBinary(final String directory, final String basename, final float scale, final Atlas atlas,
-			final Callback<Skeleton> callback) {
+	private static final void getSkeletonUsingBinary(final String skeletonFile, final String basename, final float scale, final Atlas atlas,
+			final SkeletonDataCache cache, final Callback<Skeleton> callback) {
 
 		// Let's begin by fetching the content of the Skeleton file.
-		final String skeletonFile = FilenameUtils.concat(directory, basename + ".skel");
 		PlayN.assets().getBytes(skeletonFile, new Callback<byte[]>() {
 
 			@Override
@@ -165,7 +228,8 @@ public class SpineLoader {
 				// Load the Skeleton data using binary.
 				final SkeletonBinary binary = new SkeletonBinary(new AtlasAttachmentLoader(atlas));
 				binary.setScale(scale);
-				final SkeletonData skeletonData = binary.readSkeletonData(basename, new ByteArrayInputStream(result));
+				SkeletonData skeletonData = binary.readSkeletonData(basename, new ByteArrayInputStream(result));
+				if (cache != null) skeletonData = cache.add(skeletonFile, scale, atlas, skeletonData);
 
 				// Return the Skeleton to the callback.
 				callback.onSuccess(new Skeleton(skeletonData));
@@ -173,11 +237,10 @@ public class SpineLoader {
 		});
 	}
 
-	private static final void getSkeletonUsingJson(final String directory, final String basename, final float scale, final Atlas atlas,
-			final Callback<Skeleton> callback) {
+	private static final void getSkeletonUsingJson(final String skeletonFile, final String basename, final float scale, final Atlas atlas,
+			final SkeletonDataCache cache, final Callback<Skeleton> callback) {
 
 		// Let's begin by fetching the content of the Skeleton file.
-		final String skeletonFile = FilenameUtils.concat(directory, basename + ".json");
 		PlayN.assets().getText(skeletonFile, new Callback<String>() {
 
 			@Override
@@ -192,7 +255,8 @@ public class SpineLoader {
 				// Load the Skeleton data using JSON.
 				final SkeletonJson json = new SkeletonJson(new AtlasAttachmentLoader(atlas));
 				json.setScale(scale);
-				final SkeletonData skeletonData = json.readSkeletonData(basename, convert(PlayN.json().parse(result)));
+				SkeletonData skeletonData = json.readSkeletonData(basename, new StringReader(result));
+				if (cache != null) skeletonData = cache.add(skeletonFile, scale, atlas, skeletonData);
 
 				// Return the Skeleton to the callback.
 				callback.onSuccess(new Skeleton(skeletonData));
@@ -200,58 +264,6 @@ public class SpineLoader {
 		});
 	}
 
-	/**
-	 * Convert a PlayN Json.Object into an HashMap
-	 * 
-	 * @param o
-	 * @return
-	 */
-	private static final HashMap<String, Object> convert(Json.Object o) {
-		HashMap<String, Object> map = new HashMap<String, Object>();
-		for (String key : o.keys()) {
-			if (o.isArray(key)) {
-				map.put(key, convert(o.getArray(key)));
-			} else if (o.isObject(key)) {
-				map.put(key, convert(o.getObject(key)));
-			} else if (o.isBoolean(key)) {
-				map.put(key, o.getBoolean(key));
-			} else if (o.isNumber(key)) {
-				map.put(key, o.getNumber(key));
-			} else if (o.isString(key)) {
-				map.put(key, o.getString(key));
-			} else {
-				map.put(key, null);
-			}
-		}
-		return map;
-	}
-
-	/**
-	 * Convert a PlayN Json.Array into an ArrayList
-	 * 
-	 * @param a
-	 * @return
-	 */
-	private static final ArrayList<Object> convert(Json.Array a) {
-		ArrayList<Object> list = new ArrayList<Object>(a.length());
-		for (int i = 0; i < a.length(); i++) {
-			if (a.isArray(i)) {
-				list.add(convert(a.getArray(i)));
-			} else if (a.isObject(i)) {
-				list.add(convert(a.getObject(i)));
-			} else if (a.isBoolean(i)) {
-				list.add(a.getBoolean(i));
-			} else if (a.isNumber(i)) {
-				list.add(a.getNumber(i));
-			} else if (a.isString(i)) {
-				list.add(a.getString(i));
-			} else {
-				list.add(null);
-			}
-		}
-		return list;
-	}
-
 	/**
 	 * Internal class for loading PlayN textures from Atlas file.
 	 * 